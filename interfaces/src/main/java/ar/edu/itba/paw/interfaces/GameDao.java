@@ -1,7 +1,9 @@
 package ar.edu.itba.paw.interfaces;
 
 import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.GameCursor;
 import ar.edu.itba.paw.models.GameSort;
+import ar.edu.itba.paw.models.Page;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,7 +19,7 @@ public interface GameDao {
 
     Optional<Game> findByKey(String teamName1, LocalDateTime startTime, LocalDateTime finishTime);
 
-    List<Game> findGames(final LocalDateTime minStartTime, final LocalDateTime maxStartTime,
+    Page<Game> findGames(final LocalDateTime minStartTime, final LocalDateTime maxStartTime,
                          final LocalDateTime minFinishTime, final LocalDateTime maxFinishTime,
                          final List<String> types, final List<String> sportNames,
                          final Integer minQuantity, final Integer maxQuantity,
@@ -28,7 +30,10 @@ public interface GameDao {
                          final List<String> usernamesCreatorsInclude,
                          final List<String> usernamesCreatorsNotInclude, final GameSort sort,
                          final Boolean onlyWithResults, final String currentUsername, final boolean onlyLikedUsersPlay,
-                         final boolean onlyLikedSports);
+                         final boolean onlyLikedSports, final Integer offset, final Integer limit,
+                         final GameCursor after);
+
+    int recountPlaces();
 
     List<Game> gamesThatAUserPlayInTeam1(final long userId);
 
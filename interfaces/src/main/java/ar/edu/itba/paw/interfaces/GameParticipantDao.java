@@ -0,0 +1,16 @@
+package ar.edu.itba.paw.interfaces;
+
+import ar.edu.itba.paw.models.Game;
+
+public interface GameParticipantDao {
+
+    void addParticipant(final long userId, final Game game, final int side);
+
+    void removeParticipant(final long userId, final Game game, final int side);
+
+    void setParticipants(final Game game);
+
+    void addLikedUserGames(final String username, final String usernameOfLiked);
+
+    void removeLikedUserGames(final String username, final String usernameOfLiked);
+}
@@ -27,8 +27,9 @@ public interface GameService {
                              final List<String> usernamesPlayersNotInclude,
                              final List<String> usernamesCreatorsInclude,
                              final List<String> usernamesCreatorsNotInclude, final Integer limit,
-                             final Integer offset, final GameSort sort, final Boolean onlyWithResults,
-                             final boolean onlyWithLikedUsers, final boolean onlyWithLikedSport);
+                             final Integer offset, final String after, final GameSort sort,
+                             final Boolean onlyWithResults, final boolean onlyWithLikedUsers,
+                             final boolean onlyWithLikedSport);
 
     Game modify(final String teamName1, final String teamName2, final LocalDateTime startTime,
                 final Long minutesOfDuration, final String type, final String result,
@@ -48,6 +49,8 @@ public interface GameService {
 
     List<List<Game>> getGamesThatPlay(final long userId);
 
+    int recountPlaces();
+
     void createRequestToJoin(final String key, final String firstName, final String lastName, final String email,
                              final Locale locale);
 }
@@ -0,0 +1,13 @@
+package ar.edu.itba.paw.interfaces;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageService {
+
+    Optional<byte[]> read(final String hash);
+
+    boolean exists(final String hash);
+
+    List<String> removeUnused(final int maxImages);
+}
@@ -7,11 +7,15 @@ import java.util.List;
 
 public interface JWTDao {
 
-    boolean isInBlacklist(String jwtoken);
+    boolean isInBlacklist(String tokenHash);
 
-    JWT addBlacklist(String jwtoken, LocalDateTime expiry);
+    JWT addBlacklist(String tokenHash, LocalDateTime expiry);
 
     void delete(JWT jwt);
 
     List<JWT> getAll();
+
+    List<String> findTokenHashesExpiringAfter(LocalDateTime time);
+
+    int deleteExpiredBefore(LocalDateTime time, int maxTokens);
 }
@@ -14,4 +14,8 @@ public interface JWTService {
     void delete(JWT jwt);
 
     List<JWT> getAll();
+
+    int reloadBlacklist();
+
+    int deleteExpired(LocalDateTime time, int maxTokens);
 }
@@ -0,0 +1,20 @@
+package ar.edu.itba.paw.interfaces;
+
+import ar.edu.itba.paw.models.LeaderboardEntry;
+import ar.edu.itba.paw.models.LeaderboardType;
+import ar.edu.itba.paw.models.Page;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaderboardService {
+
+    Page<LeaderboardEntry> getLeaderboard(final String sportName, final LeaderboardType type,
+                                          final Integer offset, final Integer limit);
+
+    Optional<LeaderboardEntry> getRank(final String sportName, final String username, final LeaderboardType type);
+
+    void update(final List<LeaderboardEntry> entries);
+
+    void reload(final String sportName);
+}
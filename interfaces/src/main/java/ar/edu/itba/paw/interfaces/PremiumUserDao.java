@@ -1,11 +1,14 @@
 package ar.edu.itba.paw.interfaces;
 
+import ar.edu.itba.paw.models.AuthUser;
+import ar.edu.itba.paw.models.Page;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Role;
 import ar.edu.itba.paw.models.Sport;
 import ar.edu.itba.paw.models.UserSort;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -16,6 +19,10 @@ public interface PremiumUserDao {
 
     Optional<PremiumUser> findById(final long userId);
 
+    Optional<AuthUser> findAuthUser(final String userName);
+
+    List<PremiumUser> findByIds(final Collection<Long> userIds);
+
     Optional<PremiumUser> create(final String firstName, final String lastName,
                                  final String email, final String userName,
                                  final String cellphone, final LocalDate birthday,
@@ -27,6 +34,8 @@ public interface PremiumUserDao {
 
     Optional<byte[]> readImage(final String userName);
 
+    Optional<String> findImageHash(final String userName);
+
     Optional<PremiumUser> updateUserInfo(final String newFirstName, final String newLastName,
                                          final String newEmail, final String newUserName,
                                          final String newCellphone, final LocalDate newBirthday,
@@ -46,10 +55,11 @@ public interface PremiumUserDao {
 
     boolean removeRole(final String username, final int roleId);
 
-    List<PremiumUser> findUsers(final List<String> usernames, final List<String> sportLiked,
+    Page<PremiumUser> findUsers(final List<String> usernames, final List<String> sportLiked,
                                 final List<String> friendUsernames, final Integer minReputation,
                                 final Integer maxReputation, final Integer minWinRate,
-                                final Integer maxWinRate, final UserSort sort, final boolean exactMatchUsernames);
+                                final Integer maxWinRate, final UserSort sort, final boolean exactMatchUsernames,
+                                final Integer offset, final Integer limit);
 
     boolean addLikedUser(final String username, final String usernameOfLiked);
 
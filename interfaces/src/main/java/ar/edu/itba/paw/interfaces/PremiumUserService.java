@@ -1,11 +1,13 @@
 package ar.edu.itba.paw.interfaces;
 
+import ar.edu.itba.paw.models.AuthUser;
 import ar.edu.itba.paw.models.Page;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Sport;
 import ar.edu.itba.paw.models.UserSort;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -18,6 +20,10 @@ public interface PremiumUserService {
 
     Optional<PremiumUser> findById(final long userId);
 
+    Optional<AuthUser> findAuthUser(final String userName);
+
+    List<PremiumUser> findByIds(final Collection<Long> userIds);
+
     PremiumUser create(final String firstName, final String lastName,
 					   final String email, final String username,
                        final String cellphone, final LocalDate birthday,
@@ -27,6 +33,8 @@ public interface PremiumUserService {
 
     Optional<byte[]> readImage(final String userName);
 
+    Optional<String> findImageHash(final String userName);
+
     void remove(final String userName);
 
     PremiumUser updateUserInfo(final String username, final String newFirstName, final String newLastName,
@@ -60,4 +68,8 @@ public interface PremiumUserService {
     Page<Sport> getLikedSports(final String username, final Integer offset, final Integer limit);
 
     void forgotPassword(final String username, final String email, final Locale locale);
+
+    int rebuildStats(final String sportName);
+
+    int refreshWinRates();
 }
@@ -1,9 +1,11 @@
 package ar.edu.itba.paw.interfaces;
 
+import ar.edu.itba.paw.models.Game;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Team;
 import ar.edu.itba.paw.models.User;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
@@ -31,4 +33,8 @@ public interface TeamService {
                         final String oldTeamName);
 
     Map<User, PremiumUser> getAccountsMap(Team team);
+
+    Map<User, PremiumUser> getAccountsMap(Collection<Team> teams);
+
+    Map<User, PremiumUser> getAccountsMapOfGames(Collection<Game> games);
 }
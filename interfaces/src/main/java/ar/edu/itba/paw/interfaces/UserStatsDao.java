@@ -0,0 +1,20 @@
+package ar.edu.itba.paw.interfaces;
+
+import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.LeaderboardEntry;
+import ar.edu.itba.paw.models.UserStats;
+
+import java.util.List;
+
+public interface UserStatsDao {
+
+    List<UserStats> findByUserId(final long userId);
+
+    List<LeaderboardEntry> findLeaderboard(final String sportName);
+
+    List<LeaderboardEntry> addResult(final Game game, final int scoreTeam1, final int scoreTeam2);
+
+    int rebuild(final String sportName);
+
+    int refreshWinRates();
+}
@@ -0,0 +1,55 @@
+package ar.edu.itba.paw.models;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Only what authenticating a request needs from an account, it is read without loading the account itself.
+ */
+public class AuthUser {
+
+    private final String userName;
+    private final String password;
+    private final boolean enabled;
+    private final Set<String> roles;
+
+    public AuthUser(String userName, String password, boolean enabled, Set<String> roles) {
+        this.userName = userName;
+        this.password = password;
+        this.enabled  = enabled;
+        this.roles    = Collections.unmodifiableSet(new HashSet<>(roles));
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == null || !object.getClass().equals(getClass())) {
+            return false;
+        }
+
+        AuthUser anAuthUser = ((AuthUser) object);
+        return getUserName().equals(anAuthUser.getUserName());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userName);
+    }
+}
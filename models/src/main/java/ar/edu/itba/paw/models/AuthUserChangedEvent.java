@@ -0,0 +1,17 @@
+package ar.edu.itba.paw.models;
+
+/**
+ * Published whenever something an AuthUser is built from changes, so copies of it kept in memory are dropped.
+ */
+public class AuthUserChangedEvent {
+
+    private final String userName;
+
+    public AuthUserChangedEvent(String userName) {
+        this.userName = userName;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+}
@@ -37,9 +37,13 @@ public class Game {
     @Column(length = 100)
     private String tornamentName;
 
-    @Transient
+    //Counters kept on the row so free places can be filtered by index
+    @Column(name = "occupiedPlaces", nullable = false)
     private int quantityOccupiedPlaces;
 
+    @Column(name = "freePlaces", nullable = false)
+    private int quantityFreePlaces;
+
     /* package */public Game() {
         // For Hibernate
     }
@@ -165,6 +169,7 @@ public class Game {
     public void setQuantityOccupiedPlaces() {
         quantityOccupiedPlaces = primaryKey.getTeam1().getPlayers().size()
                 + ((team2 == null)?0:team2.getPlayers().size());
+        quantityFreePlaces = 2 * primaryKey.getTeam1().getSport().getQuantity() - quantityOccupiedPlaces;
     }
 
     public GamePK getPrimaryKey() {
@@ -175,6 +180,10 @@ public class Game {
         return quantityOccupiedPlaces;
     }
 
+    public int getQuantityFreePlaces() {
+        return quantityFreePlaces;
+    }
+
     public String getStartTimeString() {
         DateTimeFormatter formater= DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm");
         return getStartTime().format(formater);
@@ -0,0 +1,121 @@
+package ar.edu.itba.paw.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Position of a game inside a sorted listing: the values of the {@link GameSort} fields of the last
+ * returned game followed by its key. It is sent to clients as an opaque token so the next page can be
+ * read seeking from that position instead of skipping rows with an offset.
+ */
+public class GameCursor {
+
+    private static final String SEPARATOR = ".";
+    private static final String SEPARATOR_REGEX = "\\.";
+    /* Not part of the url safe base64 alphabet, so no encoded value is mistaken for it */
+    private static final String NULL_VALUE = "~";
+    private static final int KEY_SIZE = 3;
+
+    private final List<Object> sortValues;
+    private final GameKey gameKey;
+
+    private GameCursor(List<Object> sortValues, GameKey gameKey) {
+        this.sortValues = sortValues;
+        this.gameKey    = gameKey;
+    }
+
+    public static GameCursor of(final Game game, final GameSort sort) {
+        List<Object> sortValues = (sort == null) ? Collections.emptyList() : sort.getValuesOf(game);
+        return new GameCursor(sortValues, new GameKey(game.getStartTime(), game.getTeam1().getName(),
+                game.getFinishTime()));
+    }
+
+    /**
+     * Decodes a token generated by {@link #toString()} with the same sort. An empty token is the
+     * cursor before the first game. Returns empty when the token is malformed or was generated
+     * with another sort.
+     */
+    public static Optional<GameCursor> from(final String token, final GameSort sort) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        if (token.isEmpty()) {
+            return Optional.of(new GameCursor(Collections.emptyList(), null));
+        }
+        final int sortSize = (sort == null) ? 0 : sort.getSortCategories().size();
+        final String[] parts = token.split(SEPARATOR_REGEX, -1);
+        if (parts.length != sortSize + KEY_SIZE) {
+            return Optional.empty();
+        }
+        try {
+            List<Object> sortValues = new ArrayList<>();
+            for (int i = 0; i < sortSize; i++) {
+                final String value = decode(parts[i]);
+                sortValues.add((value == null) ? null : sort.parseValue(i, value));
+            }
+            final String teamName1  = decode(parts[sortSize]);
+            final String startTime  = decode(parts[sortSize + 1]);
+            final String finishTime = decode(parts[sortSize + 2]);
+            if (teamName1 == null || startTime == null || finishTime == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new GameCursor(sortValues, new GameKey(LocalDateTime.parse(startTime), teamName1,
+                    LocalDateTime.parse(finishTime))));
+        }
+        catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    public boolean isStart() {
+        return gameKey == null;
+    }
+
+    /**
+     * Values of the sort fields followed by the key fields team name, start time and finish time.
+     */
+    public List<Object> getValues() {
+        List<Object> values = new ArrayList<>(sortValues);
+        if (gameKey != null) {
+            values.add(gameKey.getTeamName1());
+            values.add(gameKey.getStartTime());
+            values.add(gameKey.getFinishTime());
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        if (gameKey == null) {
+            return "";
+        }
+        StringBuilder token = new StringBuilder();
+        for (Object value: sortValues) {
+            token.append(encode(value)).append(SEPARATOR);
+        }
+        // The whole times, the key in urls only keeps minutes
+        return token.append(encode(gameKey.getTeamName1())).append(SEPARATOR)
+                .append(encode(gameKey.getStartTime())).append(SEPARATOR)
+                .append(encode(gameKey.getFinishTime())).toString();
+    }
+
+    private static String encode(Object value) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        if (NULL_VALUE.equals(value)) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
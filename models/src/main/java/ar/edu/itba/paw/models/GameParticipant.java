@@ -0,0 +1,32 @@
+package ar.edu.itba.paw.models;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+/**
+ * Player of one of the teams of a game, kept apart from the teams so the games of a player can be
+ * looked up by index instead of going through every team of every game.
+ */
+@Entity
+@Table(name = "game_participants")
+public class GameParticipant {
+
+    public static final int TEAM_1 = 1;
+    public static final int TEAM_2 = 2;
+
+    @EmbeddedId
+    private GameParticipantPK primaryKey;
+
+    /* package */public GameParticipant() {
+        // For Hibernate
+    }
+
+    public GameParticipant(long userId, Game game, int side) {
+        this.primaryKey = new GameParticipantPK(userId, game, side);
+    }
+
+    public GameParticipantPK getPrimaryKey() {
+        return primaryKey;
+    }
+}
@@ -0,0 +1,75 @@
+package ar.edu.itba.paw.models;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Embeddable
+public class GameParticipantPK implements Serializable {
+
+    @Column(nullable = false)
+    private long userId;
+
+    @Column(length = 100, nullable = false)
+    private String teamName1;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime finishTime;
+
+    @Column(nullable = false)
+    private int side;
+
+    /* package */public GameParticipantPK() {
+        // For Hibernate
+    }
+
+    public GameParticipantPK(long userId, Game game, int side) {
+        this.userId     = userId;
+        this.teamName1  = game.getTeam1().getName();
+        this.startTime  = game.getStartTime();
+        this.finishTime = game.getFinishTime();
+        this.side       = side;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public String getTeamName1() {
+        return teamName1;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getFinishTime() {
+        return finishTime;
+    }
+
+    public int getSide() {
+        return side;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if(object == null || !object.getClass().equals(getClass())) {
+            return false;
+        }
+
+        GameParticipantPK aGameParticipantPK = ((GameParticipantPK) object);
+        return (userId == aGameParticipantPK.userId && side == aGameParticipantPK.side
+                && teamName1.equals(aGameParticipantPK.teamName1) && startTime.equals(aGameParticipantPK.startTime)
+                && finishTime.equals(aGameParticipantPK.finishTime));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, teamName1, startTime, finishTime, side);
+    }
+}
@@ -1,17 +1,53 @@
 package ar.edu.itba.paw.models;
 
+import org.checkerframework.javacutil.Pair;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 
 public class GameSort extends Sort {
 
     static private List<String> queryFields = Arrays.asList("games.primaryKey.startTime",
             "games.primaryKey.finishTime", "games.primaryKey.team1.sport.playerQuantity",
-            "games.place.country", "games.place.state", "games.place.city", "games.primaryKey.team1.sport");
+            "coalesce(games.place.country, '')", "coalesce(games.place.state, '')",
+            "coalesce(games.place.city, '')",
+            "games.primaryKey.team1.sport.sportName");
     static private List<String> validFields = Arrays.asList("startTime", "finishTime", "quantity",
             "country", "state", "city", "sport");
 
+    //Value of each query field on a loaded game, used to build cursors. Places may lack any of their fields, they
+    //are sorted as empty so cursors can seek past them
+    static private List<Function<Game, Object>> fieldValues = Arrays.asList(Game::getStartTime,
+            Game::getFinishTime, (game) -> game.getTeam1().getSport().getQuantity(),
+            (game) -> placeField(game, Place::getCountry), (game) -> placeField(game, Place::getState),
+            (game) -> placeField(game, Place::getCity),
+            (game) -> game.getTeam1().getSport().getName());
+    static private List<Function<String, Object>> fieldParsers = Arrays.asList(LocalDateTime::parse,
+            LocalDateTime::parse, Integer::valueOf, String::valueOf, String::valueOf, String::valueOf,
+            String::valueOf);
+
     public GameSort(String string) {
         super(string, validFields, queryFields);
     }
+
+    public List<Object> getValuesOf(Game game) {
+        List<Object> values = new ArrayList<>();
+        for (Pair<String, SortType> category: getSortCategories()) {
+            values.add(fieldValues.get(queryFields.indexOf(category.first)).apply(game));
+        }
+        return values;
+    }
+
+    public Object parseValue(int position, String value) {
+        String queryField = getSortCategories().get(position).first;
+        return fieldParsers.get(queryFields.indexOf(queryField)).apply(value);
+    }
+
+    private static String placeField(Game game, Function<Place, String> field) {
+        final String value = (game.getPlace() == null) ? null : field.apply(game.getPlace());
+        return (value == null) ? "" : value;
+    }
 }
@@ -0,0 +1,60 @@
+package ar.edu.itba.paw.models;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Bytes of an uploaded image, kept apart from the users, sports and teams that show it so loading those never brings
+ * the image along. Images are identified by the hex SHA-256 of their content, equal uploads are stored once.
+ */
+@Entity
+@Table(name = "images")
+public class Image {
+
+    public static final int HASH_LENGTH = Sha256.HEX_LENGTH;
+
+    @Id
+    @Column(name = "hash", length = HASH_LENGTH)
+    private String hash;
+
+    @Column(name = "content", nullable = false)
+    private byte[] content;
+
+    /* package */ Image() {
+        // For Hibernate
+    }
+
+    public Image(byte[] content) {
+        this.hash    = hashOf(content);
+        this.content = content;
+    }
+
+    public static String hashOf(byte[] content) {
+        return Sha256.hexOf(content);
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == null || !object.getClass().equals(getClass())) {
+            return false;
+        }
+        Image image = (Image) object;
+        return hash.equals(image.getHash());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hash);
+    }
+}
@@ -1,6 +1,7 @@
 package ar.edu.itba.paw.models;
 
 import javax.persistence.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -8,14 +9,16 @@ import java.util.Objects;
 @Table(name = "blacklist")
 public class JWT {
 
+    public static final int HASH_LENGTH = Sha256.HEX_LENGTH;
+
     @Id
     @Column(name = "id")
     @SequenceGenerator(name = "jwtseq", sequenceName = "jwtidseq", allocationSize = 1)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jwtseq")
     private long id;
 
-    @Column(name = "token", length = 500, nullable = false)
-    private String token;
+    @Column(name = "tokenHash", length = HASH_LENGTH, nullable = false, unique = true)
+    private String tokenHash;
 
     @Column(name = "expiry", nullable = false)
     private LocalDateTime expiry;
@@ -24,22 +27,29 @@ public class JWT {
         //For Hibernate
     }
 
-    public JWT(String tokenString, LocalDateTime expiry) {
-        this.token = tokenString;
-        this.expiry = expiry;
+    public JWT(String tokenHash, LocalDateTime expiry) {
+        this.tokenHash = tokenHash;
+        this.expiry    = expiry;
     }
 
-    public JWT(String tokenString, LocalDateTime expiry, int id) {
-        this(tokenString, expiry);
+    public JWT(String tokenHash, LocalDateTime expiry, int id) {
+        this(tokenHash, expiry);
         this.id = id;
     }
 
+    /**
+     * Tokens are only kept as the hex SHA-256 of their text, it has a fixed length and can be indexed.
+     */
+    public static String hashOf(String tokenString) {
+        return Sha256.hexOf(tokenString.getBytes(StandardCharsets.UTF_8));
+    }
+
     public long getId() {
         return id;
     }
 
-    public String getToken() {
-        return token;
+    public String getTokenHash() {
+        return tokenHash;
     }
 
     public LocalDateTime getExpiry() {
@@ -0,0 +1,91 @@
+package ar.edu.itba.paw.models;
+
+import java.util.Objects;
+
+/**
+ * Snapshot of the stats of a user in a sport as it is shown in the leaderboard of that sport, it is immutable so it
+ * can be shared between the requests reading the leaderboard while a result replaces it.
+ */
+public class LeaderboardEntry {
+
+    public static final int NOT_RANKED = 0;
+
+    private final String username;
+    private final String sportName;
+    private final int played;
+    private final int wins;
+    private final int draws;
+    private final int losses;
+    private final double winRate;
+    private final int rank;
+
+    private LeaderboardEntry(String username, String sportName, int played, int wins, int draws, int losses,
+                             double winRate, int rank) {
+        this.username  = username;
+        this.sportName = sportName;
+        this.played    = played;
+        this.wins      = wins;
+        this.draws     = draws;
+        this.losses    = losses;
+        this.winRate   = winRate;
+        this.rank      = rank;
+    }
+
+    public LeaderboardEntry(String username, UserStats stats) {
+        this(username, stats.getSportName(), stats.getPlayed(), stats.getWins(), stats.getDraws(),
+                stats.getLosses(), stats.getWinRate(), NOT_RANKED);
+    }
+
+    public LeaderboardEntry withRank(int rank) {
+        return new LeaderboardEntry(username, sportName, played, wins, draws, losses, winRate, rank);
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getSportName() {
+        return sportName;
+    }
+
+    public int getPlayed() {
+        return played;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public double getWinRate() {
+        return winRate;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if(object == null || !object.getClass().equals(getClass())) {
+            return false;
+        }
+
+        LeaderboardEntry aLeaderboardEntry = ((LeaderboardEntry) object);
+        return (username.equals(aLeaderboardEntry.username) && sportName.equals(aLeaderboardEntry.sportName)
+                && played == aLeaderboardEntry.played && wins == aLeaderboardEntry.wins
+                && draws == aLeaderboardEntry.draws && losses == aLeaderboardEntry.losses);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username, sportName, played, wins, draws, losses);
+    }
+}
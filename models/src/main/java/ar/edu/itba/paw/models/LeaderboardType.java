@@ -0,0 +1,40 @@
+package ar.edu.itba.paw.models;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+public enum LeaderboardType {
+
+    WIN_RATE("winRate", Comparator.comparingDouble(LeaderboardEntry::getWinRate).reversed()
+            .thenComparing(Comparator.comparingInt(LeaderboardEntry::getWins).reversed())
+            .thenComparing(LeaderboardEntry::getUsername)),
+    WINS("wins", Comparator.comparingInt(LeaderboardEntry::getWins).reversed()
+            .thenComparing(Comparator.comparingDouble(LeaderboardEntry::getWinRate).reversed())
+            .thenComparing(LeaderboardEntry::getUsername));
+
+    private String string;
+
+    private Comparator<LeaderboardEntry> comparator;
+
+    LeaderboardType(String string, Comparator<LeaderboardEntry> comparator) {
+        this.string     = string;
+        this.comparator = comparator;
+    }
+
+    public static Optional<LeaderboardType> from(String string) {
+        for (LeaderboardType type : values()) {
+            if (type.string.equals(string)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Comparator<LeaderboardEntry> getComparator() {
+        return comparator;
+    }
+
+    public String toString() {
+        return string;
+    }
+}
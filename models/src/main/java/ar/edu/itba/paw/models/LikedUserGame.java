@@ -0,0 +1,25 @@
+package ar.edu.itba.paw.models;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+/**
+ * Game where a user liked by userName plays. Rows are written when players join or leave games and when
+ * users are liked or unliked, so the games of liked users are read without walking the liked users graph.
+ */
+@Entity
+@Table(name = "liked_users_games")
+public class LikedUserGame {
+
+    @EmbeddedId
+    private LikedUserGamePK primaryKey;
+
+    /* package */public LikedUserGame() {
+        // For Hibernate
+    }
+
+    public LikedUserGamePK getPrimaryKey() {
+        return primaryKey;
+    }
+}
@@ -0,0 +1,67 @@
+package ar.edu.itba.paw.models;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Embeddable
+public class LikedUserGamePK implements Serializable {
+
+    @Column(length = 100, nullable = false)
+    private String userName;
+
+    @Column(nullable = false)
+    private long likedUserId;
+
+    @Column(length = 100, nullable = false)
+    private String teamName1;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime finishTime;
+
+    /* package */public LikedUserGamePK() {
+        // For Hibernate
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public long getLikedUserId() {
+        return likedUserId;
+    }
+
+    public String getTeamName1() {
+        return teamName1;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getFinishTime() {
+        return finishTime;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if(object == null || !object.getClass().equals(getClass())) {
+            return false;
+        }
+
+        LikedUserGamePK aLikedUserGamePK = ((LikedUserGamePK) object);
+        return (userName.equals(aLikedUserGamePK.userName) && likedUserId == aLikedUserGamePK.likedUserId
+                && teamName1.equals(aLikedUserGamePK.teamName1) && startTime.equals(aLikedUserGamePK.startTime)
+                && finishTime.equals(aLikedUserGamePK.finishTime));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userName, likedUserId, teamName1, startTime, finishTime);
+    }
+}
@@ -0,0 +1,25 @@
+package ar.edu.itba.paw.models;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Account of the user of a single request, it is only loaded the first time some code asks for it.
+ */
+public class LoggedUser {
+
+    private PremiumUser premiumUser;
+    private boolean loaded;
+
+    public LoggedUser() {
+        this.loaded = false;
+    }
+
+    public synchronized Optional<PremiumUser> getPremiumUser(Supplier<Optional<PremiumUser>> loader) {
+        if (!loaded) {
+            premiumUser = loader.get().orElse(null);
+            loaded      = true;
+        }
+        return Optional.ofNullable(premiumUser);
+    }
+}
@@ -10,16 +10,18 @@ public class Page<T> {
     private static final int MAX_LIMIT      = 100;
     private static final int DEFAULT_LIMIT  = 10;
     private static final int DEFAULT_OFFSET = 0;
+    private static final int UNKNOWN_TOTAL  = -1;
 
     final private List<T> data;
     final private int offset;
     final private int limit;
     final private int total;
+    final private String after;         //cursor of this page, null when it is paged by offset
+    final private String nextAfter;     //cursor of the next page, null when it is the last one
 
     public Page(List<T> allTheData, Integer offset, Integer limit) {
-        offset = (offset == null || offset < 0) ? DEFAULT_OFFSET : offset;  //Default value
-        limit  = (limit == null  || limit < 0) ? DEFAULT_LIMIT : limit;     //Default value
-        limit  = (limit > MAX_LIMIT) ? MAX_LIMIT : limit;                   //Max value
+        offset = validOffset(offset);
+        limit  = validLimit(limit);
         offset = (offset < allTheData.size()) ? offset : allTheData.size();                  //value if it is bigger than list
         int end = (offset + limit < allTheData.size()) ? offset + limit : allTheData.size(); //value if it is bigger than list
 
@@ -27,20 +29,34 @@ public class Page<T> {
         this.limit  = limit;
         this.total = allTheData.size();
         this.data = allTheData.subList(offset, end);
+        this.after = null;
+        this.nextAfter = null;
     }
 
-    private Page(Integer offset, Integer limit, Integer total) {
+    private Page(List<T> pageData, int offset, int limit, int total, String after, String nextAfter) {
         this.offset = offset;
         this.limit  = limit;
         this.total = total;
-        this.data = null;
+        this.data = pageData;
+        this.after = after;
+        this.nextAfter = nextAfter;
     }
 
-    private Page(List<T> pageDate, Integer offset, Integer limit, Integer total) {
-        this.offset = offset;
-        this.limit    = limit;
-        this.total = total;
-        this.data = pageDate;
+    public Page(List<T> pageData, Integer offset, Integer limit, Integer total) {
+        this(pageData, validOffset(offset), validLimit(limit), total, null, null);
+    }
+
+    public Page(List<T> pageData, Integer limit, String after, String nextAfter) {
+        this(pageData, DEFAULT_OFFSET, validLimit(limit), UNKNOWN_TOTAL, after, nextAfter);
+    }
+
+    public static int validOffset(Integer offset) {
+        return (offset == null || offset < 0) ? DEFAULT_OFFSET : offset;    //Default value
+    }
+
+    public static int validLimit(Integer limit) {
+        limit = (limit == null  || limit < 0) ? DEFAULT_LIMIT : limit;      //Default value
+        return (limit > MAX_LIMIT) ? MAX_LIMIT : limit;                     //Max value
     }
 
     public List<T> getData() {
@@ -48,15 +64,19 @@ public class Page<T> {
     }
 
     public Optional<Page<T>> getNextPage() {
+        if(after != null) {
+            return Optional.ofNullable(nextAfter)
+                    .map((next) -> new Page<T>(null, DEFAULT_OFFSET, limit, UNKNOWN_TOTAL, next, null));
+        }
         if(offset + limit < total) {
-            return Optional.of(new Page<T>(offset + limit, limit, total));
+            return Optional.of(new Page<T>(null, offset + limit, limit, total, null, null));
         }
         return Optional.empty();
     }
 
     public Optional<Page<T>> getPrevPage() {
-        if(offset - limit >= 0) {
-            return Optional.of(new Page<T>(offset - limit, limit, total));
+        if(after == null && offset - limit >= 0) {
+            return Optional.of(new Page<T>(null, offset - limit, limit, total, null, null));
         }
         return Optional.empty();
     }
@@ -70,8 +90,16 @@ public class Page<T> {
         return limit;
     }
 
+    public int getTotal() {
+        return total;
+    }
+
+    public Optional<String> getAfter() {
+        return Optional.ofNullable(after);
+    }
+
     public <R> Page<R> map(Function<T,R> mapper) {
         List<R> newPageData = data.stream().map(mapper).collect(Collectors.toList());
-        return new Page<>(newPageData, offset, limit, total);
+        return new Page<>(newPageData, offset, limit, total, after, nextAfter);
     }
 }
@@ -1,5 +1,7 @@
 package ar.edu.itba.paw.models;
 
+import org.hibernate.annotations.BatchSize;
+
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -34,8 +36,8 @@ public class PremiumUser {
     @Column(length = 100, nullable = false)
     private String code;
 
-    @Column
-    private byte[] image;
+    @Column(name = "imageHash", length = Image.HASH_LENGTH)
+    private String imageHash;
 
     @Column
     private boolean enabled;
@@ -59,20 +61,18 @@ public class PremiumUser {
     inverseJoinColumns = {@JoinColumn(name = "sportName", referencedColumnName = "sportName")})
     private List<Sport> likes;
 
+    @BatchSize(size = Team.BATCH_SIZE)
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "userRoles" ,
     joinColumns = {@JoinColumn(name = "username", referencedColumnName = "userName")},
             inverseJoinColumns = {@JoinColumn(name = "role")})
     private Set<Role> roles;
 
-    @Transient
+    @Column(name = "winRate", nullable = false)
     private double winRate;
 
     @Transient
-    private List<Game> gamesInTeam1;
-
-    @Transient
-    private List<Game> gamesInTeam2;
+    private List<UserStats> stats;
 
     public PremiumUser() {
         //for hibernate
@@ -81,7 +81,7 @@ public class PremiumUser {
     public PremiumUser(String firstName, String lastName, String email,
                        String userName, String cellphone, LocalDate birthday,
                        Place home, Integer reputation, String password, String code,
-                       byte image[]) {
+                       String imageHash) {
         this.user           = new User(firstName, lastName, email);
         this.userName       = userName;
         this.cellphone      = cellphone;
@@ -96,7 +96,7 @@ public class PremiumUser {
         this.likes          = new ArrayList<>();
         this.roles          = new HashSet<>();
         enabled             = false;
-        this.image          = image;
+        this.imageHash      = imageHash;
     }
 
     public PremiumUser(String firstName, String lastName, String email, String userName) {
@@ -239,36 +239,28 @@ public class PremiumUser {
         this.enabled = enabled;
     }
 
-    public byte[] getImage() {
-        return image;
+    public String getImageHash() {
+        return imageHash;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
     public double getWinRate() {
         return winRate;
     }
 
-    public List<Game> getGamesInTeam1() {
-        return gamesInTeam1;
-    }
-
-    public List<Game> getGamesInTeam2() {
-        return gamesInTeam2;
+    public List<UserStats> getStats() {
+        return stats;
     }
 
     public void setWinRate(double winRate) {
         this.winRate = winRate;
     }
 
-    public void setGamesInTeam1(List<Game> gamesInTeam1) {
-        this.gamesInTeam1 = gamesInTeam1;
-    }
-
-    public void setGamesInTeam2(List<Game> gamesInTeam2) {
-        this.gamesInTeam2 = gamesInTeam2;
+    public void setStats(List<UserStats> stats) {
+        this.stats = stats;
     }
 
     public int getAge() {
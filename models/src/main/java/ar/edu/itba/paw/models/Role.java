@@ -1,5 +1,9 @@
 package ar.edu.itba.paw.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -7,9 +11,14 @@ import javax.persistence.Table;
 import java.lang.annotation.Target;
 import java.util.Objects;
 
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.CACHE_REGION)
 @Entity
 @Table(name = "roles")
 public class Role {
+
+    public static final String CACHE_REGION = "roles";
+
     @Column(name = "rolename", length = 100)
     private String name;
 
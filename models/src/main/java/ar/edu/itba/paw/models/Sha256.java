@@ -0,0 +1,30 @@
+package ar.edu.itba.paw.models;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/* package */ final class Sha256 {
+
+    private static final String ALGORITHM  = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    /* package */ static final int HEX_LENGTH = 64;
+
+    private Sha256() {
+    }
+
+    /* package */ static String hexOf(byte[] bytes) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance(ALGORITHM).digest(bytes);
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform must support " + ALGORITHM, e);
+        }
+        final char[] hash = new char[HEX_LENGTH];
+        for (int i = 0; i < digest.length; i++) {
+            hash[2 * i]     = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+            hash[2 * i + 1] = HEX_DIGITS[digest[i] & 0xF];
+        }
+        return new String(hash);
+    }
+}
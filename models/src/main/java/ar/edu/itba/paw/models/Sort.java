@@ -47,13 +47,17 @@ public class Sort {
     }
 
     public String toQuery() {
-        if(getSortCategories().size() == 0) {
+        return toQuery(getSortCategories());
+    }
+
+    public static String toQuery(List<Pair<String, SortType>> sortCategories) {
+        if(sortCategories.size() == 0) {
             return "";
         }
 
         boolean isFirst = true;
         StringBuilder stringBuilder = new StringBuilder(" ORDER BY");
-        for (Pair<String, SortType> sortValue: getSortCategories()) {
+        for (Pair<String, SortType> sortValue: sortCategories) {
             if(isFirst) {
                 isFirst = false;
             }
@@ -1,15 +1,24 @@
 package ar.edu.itba.paw.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
 import java.util.Objects;
 
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Sport.CACHE_REGION)
 @Entity
 @Table(name = "sports")
 public class Sport {
 
+    public static final String CACHE_REGION       = "sports";
+    public static final String QUERY_CACHE_REGION = "sportsQuery";
+
     @Id
     @Column(length = 100)
     private String sportName;
@@ -20,18 +29,18 @@ public class Sport {
     @Column(length = 100)
     private String displayName;
 
-    @Column
-    private byte[] imageSport;
+    @Column(name = "imageHash", length = Image.HASH_LENGTH)
+    private String imageHash;
 
     /* package */public Sport() {
         // For Hibernate
     }
 
-    public Sport(String name, int quantity, String displayName, byte[] image) {
+    public Sport(String name, int quantity, String displayName, String imageHash) {
         this.sportName      = name;
         this.playerQuantity = quantity;
         this.displayName    = displayName;
-        this.imageSport     = image;
+        this.imageHash      = imageHash;
     }
 
     public void setName(String name) {
@@ -58,12 +67,12 @@ public class Sport {
         this.displayName = displayName;
     }
 
-    public byte[] getImage() {
-        return imageSport;
+    public String getImageHash() {
+        return imageHash;
     }
 
-    public void setImage(byte[] image) {
-        this.imageSport = image;
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
     @Override
@@ -1,12 +1,25 @@
 package ar.edu.itba.paw.models;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.*;
 
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Team.CACHE_REGION)
 @Entity
 @Table(name = "teams")
 public class Team {
 
+    public static final String CACHE_REGION = "teams";
+
+    /* Both teams of the biggest page of games */
+    public static final int BATCH_SIZE = 200;
+
+    /* Teams loaded together (e.g. a page of games) bring their players in one select */
+    @BatchSize(size = BATCH_SIZE)
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "isPartOf",
@@ -33,20 +46,20 @@ public class Team {
     @JoinColumn(name = "sportName")
     private Sport sport;
 
-    @Column
-    private byte[] image;
+    @Column(name = "imageHash", length = Image.HASH_LENGTH)
+    private String imageHash;
 
     /* package */public Team() {
         // For Hibernate
     }
 
-    public Team(PremiumUser leader, String acronym, String teamName, boolean isTemp, Sport sport, byte[] image) {
+    public Team(PremiumUser leader, String acronym, String teamName, boolean isTemp, Sport sport, String imageHash) {
         this.leader          = leader;
         this.acronym         = acronym;
         this.teamName        = teamName;
         this.isTemp          = (isTemp)?1:0;
         this.sport           = sport;
-        this.image           = image;
+        this.imageHash       = imageHash;
         this.players         = new LinkedHashSet<>();
     }
 
@@ -104,6 +117,10 @@ public class Team {
         this.sport = sport;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
     public void setPlayers(Set<User> players) {
         this.players = players;
     }
@@ -5,8 +5,8 @@ import java.util.List;
 
 public class UserSort extends Sort {
 
-    static private List<String> queryFields = Arrays.asList("u.reputation", "u.username");//TODO: add winrate
-    static private List<String> validFields = Arrays.asList("reputation", "username");
+    static private List<String> queryFields = Arrays.asList("u.reputation", "u.userName", "u.winRate");
+    static private List<String> validFields = Arrays.asList("reputation", "username", "winRate");
 
     public UserSort(String string) {
         super(string, validFields, queryFields);
@@ -0,0 +1,105 @@
+package ar.edu.itba.paw.models;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of the competitive games a user played in a sport, updated each time one of those games gets its result
+ * so the win rate of a user does not need to go through all of the games of that user.
+ */
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    @EmbeddedId
+    private UserStatsPK primaryKey;
+
+    @Column(nullable = false)
+    private int played;
+
+    @Column(nullable = false)
+    private int wins;
+
+    @Column(nullable = false)
+    private int draws;
+
+    @Column(nullable = false)
+    private int losses;
+
+    @Column(nullable = false)
+    private double winRate;
+
+    /* package */public UserStats() {
+        // For Hibernate
+    }
+
+    public UserStats(long userId, String sportName) {
+        this.primaryKey = new UserStatsPK(userId, sportName);
+    }
+
+    public void addResult(int ownScore, int rivalScore) {
+        played++;
+        if (ownScore > rivalScore) {
+            wins++;
+        }
+        else if (ownScore < rivalScore) {
+            losses++;
+        }
+        else {
+            draws++;
+        }
+        winRate = winRateOf(Collections.singletonList(this));
+    }
+
+    public static double winRateOf(List<UserStats> stats) {
+        double wins     = 0;
+        double decided  = 0;
+
+        for (UserStats sportStats : stats) {
+            wins    += sportStats.getWins();
+            decided += sportStats.getWins() + sportStats.getLosses();
+        }
+
+        if (decided != 0) {
+            return (wins / decided) * 100;
+        }
+
+        return 0;
+    }
+
+    public UserStatsPK getPrimaryKey() {
+        return primaryKey;
+    }
+
+    public long getUserId() {
+        return primaryKey.getUserId();
+    }
+
+    public String getSportName() {
+        return primaryKey.getSportName();
+    }
+
+    public int getPlayed() {
+        return played;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public double getWinRate() {
+        return winRate;
+    }
+}
@@ -0,0 +1,48 @@
+package ar.edu.itba.paw.models;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class UserStatsPK implements Serializable {
+
+    @Column(nullable = false)
+    private long userId;
+
+    @Column(length = 100, nullable = false)
+    private String sportName;
+
+    /* package */public UserStatsPK() {
+        // For Hibernate
+    }
+
+    public UserStatsPK(long userId, String sportName) {
+        this.userId    = userId;
+        this.sportName = sportName;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public String getSportName() {
+        return sportName;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if(object == null || !object.getClass().equals(getClass())) {
+            return false;
+        }
+
+        UserStatsPK aUserStatsPK = ((UserStatsPK) object);
+        return (userId == aUserStatsPK.userId && sportName.equals(aUserStatsPK.sportName));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, sportName);
+    }
+}
@@ -1,5 +1,11 @@
 package ar.edu.itba.paw.persistence;
 
+import ar.edu.itba.paw.models.SortType;
+import org.checkerframework.javacutil.Pair;
+import org.hibernate.SQLQuery;
+
+import javax.persistence.Query;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -17,16 +23,19 @@ public class DaoHelper {
     static private String LOWER          = "lower";
     static private String NOT            = " NOT";
     static private String LIKE           = " LIKE ";
+    static private String EQUAL          = " = ";
     static private String IN             = " IN ";
-    static private String NOT_IN         = " NOT IN ";
-    static private String NESTED_QUERY_1 =
-            "(SELECT pu.userName " +
-            "FROM Game g, Team t JOIN t.players p, PremiumUser pu " +
-            "WHERE games = g AND g.primaryKey.team1.teamName = t.teamName AND pu.user.userId = p.userId)";
-    static private String NESTED_QUERY_2 =
-            "(SELECT pu.userName " +
-            "FROM Game g, Team t JOIN t.players p, PremiumUser pu " +
-            "WHERE games = g AND g.team2.teamName = t.teamName AND pu.user.userId = p.userId)";
+    static private String LESS           = " < ";
+    static private String GREATER        = " > ";
+    static private String LESS_OR_EQUAL  = " <= ";
+    static private String GREATER_OR_EQUAL = " >= ";
+    static private String NOT_EXISTS     = "NOT ";
+    static private String PARTICIPANTS_QUERY =
+            "EXISTS (SELECT gp.primaryKey.userId FROM GameParticipant gp, PremiumUser pu " +
+            "WHERE gp.primaryKey.teamName1 = games.primaryKey.team1.teamName " +
+            "AND gp.primaryKey.startTime = games.primaryKey.startTime " +
+            "AND gp.primaryKey.finishTime = games.primaryKey.finishTime " +
+            "AND gp.primaryKey.userId = pu.user.userId AND pu.userName IN (:";
     static private String FINISH_CONDITION_1 = "(games.result IS NOT NULL)";
     static private String FINISH_CONDITION_2 = "(games.result IS NULL)";
 
@@ -51,91 +60,84 @@ public class DaoHelper {
                     .append(objectRepresentation);
         }
     }
-    public void addFilter(String objectRepresentation, String operator, String valueName, List<String> values) {
-        if (values != null && !values.isEmpty()) {
-            start = start.append(AND).append(OPEN_PARENTHESE);
-            int i = 0;
-            for (String value: values) {
-                if(i != 0) {
-                    start = start.append(ESPACE).append(OR).append(ESPACE);
-                }
-                start = start.append(OPEN_PARENTHESE);
-                addFilter(objectRepresentation, operator, valueName + i, value, false);
-                i++;
-                start = start.append(CLOSE_PARENTHESE);
+    /**
+     * Keeps the rows whose field is (or is not) one of the given values. The whole list is bound to one parameter
+     * so the query text does not depend on how many values were asked for.
+     */
+    public void addInFilter(String objectRepresentation, boolean isDifferent, String valueName, List<String> listOfValues) {
+        final List<String> filterValues = nonEmptyValues(listOfValues);
+        if (!filterValues.isEmpty()) {
+            start = start.append(AND).append(objectRepresentation);
+            if (isDifferent) {
+                start = start.append(NOT);
             }
-            start = start.append(CLOSE_PARENTHESE);
+            start = start.append(IN).append(OPEN_PARENTHESE).append(DOUBLE_DOT).append(valueName)
+                    .append(CLOSE_PARENTHESE);
+            valueNames.add(valueName);
+            values.add(padValues(filterValues));
         }
     }
 
     private void addFilter(boolean isCaseSensitive, boolean isDifferent,
                            String objectRepresentation, int index, String valueName, String value) {
-        if (value != null && !value.isEmpty()) {
-            valueNames.add(valueName + index);
-            if (isCaseSensitive) {
-                values.add(value);
-            }
-            else {
-                values.add('%' + escapeCharacter(value) + '%');
-            }
-            if (!isCaseSensitive) {
-                start = start.append(LOWER).append(OPEN_PARENTHESE);
-            }
-            start = start.append(objectRepresentation);
-            if (!isCaseSensitive) {
-                start = start.append(CLOSE_PARENTHESE);
-            }
-            if (isDifferent) {
-                start = start.append(NOT);
-            }
-            start = start.append(LIKE);
-            if (!isCaseSensitive) {
-                start = start.append(LOWER).append(OPEN_PARENTHESE);
-            }
-            start = start.append(DOUBLE_DOT).append(valueName).append(index);
-            if (!isCaseSensitive) {
-                start = start.append(CLOSE_PARENTHESE);
-            }
+        valueNames.add(valueName + index);
+        if (isCaseSensitive) {
+            values.add(value);
         }
-    }
-
-    private void addFilter(boolean isInclude, String valueName, int index, String username) {
-        if (username != null && !username.isEmpty()) {
-            start = start.append(DOUBLE_DOT).append(valueName).append(index).append((isInclude) ? IN : NOT_IN)
-                    .append(NESTED_QUERY_1).append((isInclude) ? OR : AND).append(ESPACE).append(DOUBLE_DOT)
-                    .append(valueName).append(index + 1).append((isInclude) ? IN : NOT_IN).append(NESTED_QUERY_2);
-            valueNames.add(valueName + index);
-            values.add(username);
-            valueNames.add(valueName + (index + 1));
-            values.add(username);
+        else {
+            values.add('%' + escapeCharacter(value) + '%');
+        }
+        if (!isCaseSensitive) {
+            start = start.append(LOWER).append(OPEN_PARENTHESE);
+        }
+        start = start.append(objectRepresentation);
+        if (!isCaseSensitive) {
+            start = start.append(CLOSE_PARENTHESE);
+        }
+        if (isDifferent) {
+            start = start.append(NOT);
+        }
+        start = start.append(LIKE);
+        if (!isCaseSensitive) {
+            start = start.append(LOWER).append(OPEN_PARENTHESE);
+        }
+        start = start.append(DOUBLE_DOT).append(valueName).append(index);
+        if (!isCaseSensitive) {
+            start = start.append(CLOSE_PARENTHESE);
         }
     }
 
     public void addListFilters(boolean isInclude, String valueName, List<String> players) {
-        if(players != null && players.size() != 0) {
-            start = start.append(AND).append(OPEN_PARENTHESE);
-
-            int i = 0;
-            for (String player: players) {
-                if (i != 0) {
-                    start = start.append((isInclude) ? OR : AND);
-                }
-
-                addFilter(isInclude, valueName, i, player);
-                i = i + 2;
+        final List<String> filterValues = nonEmptyValues(players);
+        if(filterValues.size() != 0) {
+            start = start.append(AND);
+            if (!isInclude) {
+                start = start.append(NOT_EXISTS);
             }
-
-            start = start.append(CLOSE_PARENTHESE);
+            start = start.append(PARTICIPANTS_QUERY).append(valueName).append(CLOSE_PARENTHESE)
+                    .append(CLOSE_PARENTHESE);
+            valueNames.add(valueName);
+            values.add(padValues(filterValues));
         }
     }
 
+    /**
+     * Case sensitive filters are plain IN lists. The others need a LIKE per value, so the number of LIKEs is
+     * rounded up to a power of two repeating the last value, that way a handful of query shapes cover every search
+     * and Hibernate can reuse their compiled plans. Negated lists keep their LIKEs joined with OR.
+     */
     public void addListFilters(boolean isCaseSensitive, boolean isDifferent,
                                String objectRepresentation, String valueName, List<String> listOfValues) {
-        if(listOfValues != null && listOfValues.size() != 0) {
+        if (isCaseSensitive && !isDifferent) {
+            addInFilter(objectRepresentation, isDifferent, valueName, listOfValues);
+            return;
+        }
+        final List<String> filterValues = nonEmptyValues(listOfValues);
+        if(filterValues.size() != 0) {
             start = start.append(AND).append(OPEN_PARENTHESE);
 
             int i = 0;
-            for(String o:listOfValues) {
+            for(String o: padValues(filterValues)) {
                 if(i != 0) {
                     start = start.append(OR);
                 }
@@ -148,6 +150,46 @@ public class DaoHelper {
         }
     }
 
+    private static List<String> nonEmptyValues(List<String> values) {
+        final List<String> nonEmptyValues = new ArrayList<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isEmpty()) {
+                    nonEmptyValues.add(value);
+                }
+            }
+        }
+        return nonEmptyValues;
+    }
+
+    /**
+     * Hibernate does not know what a native update changes, so after running one it empties the whole second level
+     * cache. Naming the tables it writes keeps the cached entities of every other table.
+     */
+    /* package */ static Query writingTables(Query nativeQuery, String... tables) {
+        final SQLQuery sqlQuery = nativeQuery.unwrap(SQLQuery.class);
+        for (String table : tables) {
+            sqlQuery.addSynchronizedQuerySpace(table);
+        }
+        return nativeQuery;
+    }
+
+    /* package */ static <T> List<T> padValues(List<T> values) {
+        if (values.isEmpty()) {
+            return values;
+        }
+        int shapeSize = 1;
+        while (shapeSize < values.size()) {
+            shapeSize <<= 1;
+        }
+        final List<T> paddedValues = new ArrayList<>(values);
+        final T last = values.get(values.size() - 1);
+        while (paddedValues.size() < shapeSize) {
+            paddedValues.add(last);
+        }
+        return paddedValues;
+    }
+
     public String getQuery() {
         return start.toString();
     }
@@ -186,7 +228,48 @@ public class DaoHelper {
         return escapedValue.toString();
     }
 
+    /**
+     * Keeps only the rows placed after the given values on the given order, the values must follow the order
+     * fields. The first field is also bounded on its own so the database can seek on its index.
+     */
+    public void addSeekFilter(List<Pair<String, SortType>> order, List<Object> seekValues, String valueName) {
+        if (order.isEmpty() || order.size() != seekValues.size()) {
+            return;
+        }
+        for (int i = 0; i < seekValues.size(); i++) {
+            valueNames.add(valueName + i);
+            values.add(seekValues.get(i));
+        }
+        start = start.append(AND).append(DOUBLE_DOT).append(valueName).append(0)
+                .append((order.get(0).second == SortType.ASCENDANT) ? LESS_OR_EQUAL : GREATER_OR_EQUAL)
+                .append(order.get(0).first);
+        start = start.append(AND).append(OPEN_PARENTHESE);
+        for (int i = 0; i < order.size(); i++) {
+            if (i != 0) {
+                start = start.append(OR);
+            }
+            start = start.append(OPEN_PARENTHESE);
+            for (int j = 0; j < i; j++) {
+                start = start.append(DOUBLE_DOT).append(valueName).append(j).append(EQUAL)
+                        .append(order.get(j).first).append(AND);
+            }
+            start = start.append(DOUBLE_DOT).append(valueName).append(i)
+                    .append((order.get(i).second == SortType.ASCENDANT) ? LESS : GREATER)
+                    .append(order.get(i).first).append(CLOSE_PARENTHESE);
+        }
+        start = start.append(CLOSE_PARENTHESE);
+    }
+
     public void addFilterCustom(String filter) {
         start = start.append(filter);
     }
+
+    public void addFilterCustom(String filter, String valueName, List<String> listOfValues) {
+        final List<String> filterValues = nonEmptyValues(listOfValues);
+        if (!filterValues.isEmpty()) {
+            valueNames.add(valueName);
+            values.add(padValues(filterValues));
+            start = start.append(AND).append(filter);
+        }
+    }
 }
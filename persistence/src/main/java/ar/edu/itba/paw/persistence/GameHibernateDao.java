@@ -2,8 +2,10 @@ package ar.edu.itba.paw.persistence;
 
 import ar.edu.itba.paw.exceptions.notfound.TeamNotFoundException;
 import ar.edu.itba.paw.interfaces.GameDao;
+import ar.edu.itba.paw.interfaces.GameParticipantDao;
 import ar.edu.itba.paw.interfaces.TeamDao;
 import ar.edu.itba.paw.models.*;
+import org.checkerframework.javacutil.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,22 +15,27 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class GameHibernateDao implements GameDao {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GameHibernateDao.class);
     private static final String LIKED_USER_PLAY_GAME_QUERY =
-            " AND (EXISTS" +
-            "(SELECT f" +
-            " FROM Game g, Team t JOIN t.players p, PremiumUser u2 JOIN u2.friends f" +
-            " WHERE games = g AND g.primaryKey.team1.teamName = t.teamName AND u2.userName = :username AND f.user.userId = p.userId) " +
-            "OR EXISTS" +
-            "(SELECT p" +
-            " FROM Game g, Team t JOIN t.players p, PremiumUser u2 JOIN u2.friends f" +
-            " WHERE games = g AND g.team2.teamName = t.teamName AND u2.userName = :username AND f.user.userId = p.userId))";
+            " AND EXISTS" +
+            "(SELECT lg.primaryKey.likedUserId" +
+            " FROM LikedUserGame lg" +
+            " WHERE lg.primaryKey.userName = :username AND lg.primaryKey.teamName1 = games.primaryKey.team1.teamName" +
+            " AND lg.primaryKey.startTime = games.primaryKey.startTime" +
+            " AND lg.primaryKey.finishTime = games.primaryKey.finishTime)";
     public static final String LIKED_SPORT_OF_GAME_QUERY = " AND (EXISTS" +
             "(SELECT s" +
             " FROM Game g, Team t, PremiumUser u2 JOIN u2.likes s" +
@@ -44,10 +51,25 @@ public class GameHibernateDao implements GameDao {
     @Autowired
     private TeamDao teamDao;
 
+    @Autowired
+    private GameParticipantDao gameParticipantDao;
+
     private static final String QUERY_START =
-            "SELECT games " +
             "FROM Game as games, Team t " +
             "WHERE teamName1 = t.teamName";
+    private static final String QUERY_SELECT_KEYS      = "SELECT games.primaryKey.team1.teamName, " +
+            "games.team2.teamName, games.primaryKey.startTime, games.primaryKey.finishTime ";
+    private static final String TEAMS_OF_PAGE_QUERY    = "SELECT t FROM Team as t JOIN FETCH t.sport " +
+            "LEFT JOIN FETCH t.leader l LEFT JOIN FETCH l.user WHERE t.teamName IN (:teamNames)";
+    private static final String GAMES_OF_PAGE_QUERY    = "FROM Game as games WHERE ";
+    private static final String GAME_OF_PAGE_CONDITION = "(games.primaryKey.team1.teamName = :teamName%1$d " +
+            "AND games.primaryKey.startTime = :startTime%1$d AND games.primaryKey.finishTime = :finishTime%1$d)";
+    private static final String QUERY_SELECT_COUNT     = "SELECT count(*) ";
+    private static final List<Pair<String, SortType>> QUERY_KEY_ORDER = Arrays.asList(
+            Pair.of("t.teamName", SortType.ASCENDANT),
+            Pair.of("games.primaryKey.startTime", SortType.ASCENDANT),
+            Pair.of("games.primaryKey.finishTime", SortType.ASCENDANT));
+    private static final String AFTER                  = "after";
     private static final String GREATER_OR_EQUAL_TO    = ">=";
     private static final String LESS_OR_EQUAL_TO       = "<=";
     private static final String START_TIME_MAX         = "startTimeMax";
@@ -70,10 +92,18 @@ public class GameHibernateDao implements GameDao {
     private static final String QUERY_QUANTITY         = "games.primaryKey.team1.sport.playerQuantity";
     private static final String MIN_QUANTITY           = "minQuantity";
     private static final String MAX_QUANTITY           = "maxQuantity";
-    private static final String QUERY_FREE_QUANTITY    = "(2 * games.primaryKey.team1.sport.playerQuantity - " +
-                                "((CASE WHEN teamName2 IS NULL THEN 0 ELSE (SELECT teams.players.size FROM Team as " +
-                                "teams WHERE teams.teamName = teamName2) END) + " +
-                                "games.primaryKey.team1.players.size))";
+    private static final String QUERY_FREE_QUANTITY    = "games.quantityFreePlaces";
+    private static final String OCCUPIED_PLACES_COUNT  = "(SELECT count(*) FROM isPartOf p WHERE p.teamName = " +
+                                "games.teamName1 OR p.teamName = games.teamName2)";
+    private static final String FREE_PLACES_COUNT      = "(2 * (SELECT s.playerQuantity FROM teams t JOIN sports s " +
+                                "ON t.sportName = s.sportName WHERE t.teamName = games.teamName1) - " +
+                                OCCUPIED_PLACES_COUNT + ")";
+    private static final String RECOUNT_PLACES_QUERY   = "UPDATE games SET occupiedPlaces = " + OCCUPIED_PLACES_COUNT +
+                                ", freePlaces = " + FREE_PLACES_COUNT + " WHERE occupiedPlaces <> " +
+                                OCCUPIED_PLACES_COUNT + " OR freePlaces <> " + FREE_PLACES_COUNT;
+    private static final String PARTICIPANT_OF_GAME    = "gp.primaryKey.teamName1 = games.primaryKey.team1.teamName " +
+                                "AND gp.primaryKey.startTime = games.primaryKey.startTime " +
+                                "AND gp.primaryKey.finishTime = games.primaryKey.finishTime";
     private static final String MIN_FREE_PLACES        = "minFreePlaces";
     private static final String MAX_FREE_PLACES        = "maxFreePlaces";
 
@@ -97,7 +127,9 @@ public class GameHibernateDao implements GameDao {
         }
         Game game = new Game(team1, team2, new Place(country, state, city, street), startTime, finishTime,
                 type, result, description, title, tornamentName);
+        game.setQuantityOccupiedPlaces();
         em.persist(game);
+        gameParticipantDao.setParticipants(game);
         LOGGER.trace("Successfully create game: {} vs {} |starting at {} |finishing at {}",
                 teamName1, teamName2, startTime.toString(), finishTime.toString());
         return Optional.of(game);
@@ -115,7 +147,7 @@ public class GameHibernateDao implements GameDao {
     }
 
     @Override
-    public List<Game> findGames(final LocalDateTime minStartTime, final LocalDateTime maxStartTime,
+    public Page<Game> findGames(final LocalDateTime minStartTime, final LocalDateTime maxStartTime,
                                 final LocalDateTime minFinishTime, final LocalDateTime maxFinishTime,
                                 final List<String> types, final List<String> sportNames,
                                 final Integer minQuantity, final Integer maxQuantity,
@@ -126,7 +158,8 @@ public class GameHibernateDao implements GameDao {
                                 final List<String> usernamesCreatorsInclude,
                                 final List<String> usernamesCreatorsNotInclude, final GameSort sort,
                                 final Boolean onlyWithResults, final String currentUsername, final boolean onlyLikedUsersPlay,
-                                final boolean onlyLikedSports) {
+                                final boolean onlyLikedSports, final Integer offset, final Integer limit,
+                                final GameCursor after) {
         DaoHelper daoHelper = new DaoHelper(QUERY_START);
         daoHelper.addFilter(QUERY_START_TIME_NAME, LESS_OR_EQUAL_TO, START_TIME_MIN, minStartTime);
         daoHelper.addFilter(QUERY_START_TIME_NAME, GREATER_OR_EQUAL_TO, START_TIME_MAX, maxStartTime);
@@ -150,7 +183,6 @@ public class GameHibernateDao implements GameDao {
 
         daoHelper.addListFilters(true, false, QUERY_USER_NAME, USERNAME_CI, usernamesCreatorsInclude);
         daoHelper.addListFilters(true, true, QUERY_USER_NAME, USERNAME_CNI, usernamesCreatorsNotInclude);
-        String aux = "";
         if (currentUsername != null) {
             if (onlyLikedUsersPlay) {
                 daoHelper.addFilterCustom(LIKED_USER_PLAY_GAME_QUERY);
@@ -162,48 +194,155 @@ public class GameHibernateDao implements GameDao {
         }
         daoHelper.addFilterOnlyFinished(onlyWithResults);
 
-        final TypedQuery<Game> query = em.createQuery(daoHelper.getQuery() + aux +
-                (sort != null ? sort.toQuery() : ""), Game.class);
+        final String username = (onlyLikedSports || onlyLikedUsersPlay) ? currentUsername : null;
+        final List<Pair<String, SortType>> order = getOrder(sort);
+        if (after != null) {
+            return findGamesAfter(daoHelper, username, order, sort, after, limit);
+        }
+
+        final TypedQuery<Long> countQuery = em.createQuery(QUERY_SELECT_COUNT + daoHelper.getQuery(), Long.class);
+        setParameters(countQuery, daoHelper, username);
+        final int total = countQuery.getSingleResult().intValue();
+
+        final int pageOffset = Page.validOffset(offset);
+        final int pageLimit  = Page.validLimit(limit);
+        List<Game> games = new LinkedList<>();
+        if (pageOffset < total) {
+            final TypedQuery<Object[]> query = em.createQuery(QUERY_SELECT_KEYS + daoHelper.getQuery() +
+                    Sort.toQuery(order), Object[].class);
+            setParameters(query, daoHelper, username);
+            query.setFirstResult(pageOffset);
+            query.setMaxResults(pageLimit);
+            games = findGamesOfPage(query.getResultList());
+        }
+
+        return new Page<>(games, pageOffset, pageLimit, total);
+    }
+
+    private Page<Game> findGamesAfter(final DaoHelper daoHelper, final String username,
+                                      final List<Pair<String, SortType>> order, final GameSort sort,
+                                      final GameCursor after, final Integer limit) {
+        if (!after.isStart()) {
+            daoHelper.addSeekFilter(order, after.getValues(), AFTER);
+        }
+        final int pageLimit = Page.validLimit(limit);
+        final TypedQuery<Object[]> query = em.createQuery(QUERY_SELECT_KEYS + daoHelper.getQuery() +
+                Sort.toQuery(order), Object[].class);
+        setParameters(query, daoHelper, username);
+        // One more row than asked tells whether there is a next page without counting
+        query.setMaxResults(pageLimit + 1);
+        final List<Object[]> keys = query.getResultList();
+        final boolean hasNext = keys.size() > pageLimit;
+        final List<Game> games = findGamesOfPage(hasNext ? keys.subList(0, pageLimit) : keys);
+
+        String nextAfter = null;
+        if (hasNext && !games.isEmpty()) {
+            nextAfter = GameCursor.of(games.get(games.size() - 1), sort).toString();
+        }
+        return new Page<>(games, pageLimit, after.toString(), nextAfter);
+    }
+
+    /**
+     * Loads the games of a page from their keys (team names, start and finish time, in page order). The teams of
+     * the page are loaded first with their sport and leader, and their players and roles are loaded in batches, so
+     * the page takes the same few queries whatever its size. The first team is part of the game key and Hibernate
+     * would load it with its own select for each game if it were not already loaded.
+     */
+    private List<Game> findGamesOfPage(final List<Object[]> keys) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final Set<String> teamNames = new HashSet<>();
+        for (Object[] key : keys) {
+            teamNames.add((String) key[0]);
+            if (key[1] != null) {
+                teamNames.add((String) key[1]);
+            }
+        }
+        em.createQuery(TEAMS_OF_PAGE_QUERY, Team.class)
+                .setParameter("teamNames", DaoHelper.padValues(new ArrayList<>(teamNames)))
+                .getResultList();
+
+        // One condition per key, as many as a power of two so pages of any size share a few query shapes
+        final List<Object[]> pageKeys = DaoHelper.padValues(keys);
+        final StringBuilder gamesQuery = new StringBuilder(GAMES_OF_PAGE_QUERY);
+        for (int i = 0; i < pageKeys.size(); i++) {
+            if (i != 0) {
+                gamesQuery.append(" OR ");
+            }
+            gamesQuery.append(String.format(GAME_OF_PAGE_CONDITION, i));
+        }
+        final TypedQuery<Game> query = em.createQuery(gamesQuery.toString(), Game.class);
+        for (int i = 0; i < pageKeys.size(); i++) {
+            query.setParameter("teamName" + i, pageKeys.get(i)[0])
+                    .setParameter("startTime" + i, pageKeys.get(i)[2])
+                    .setParameter("finishTime" + i, pageKeys.get(i)[3]);
+        }
+        final Map<List<Object>, Game> gamesByKey = new HashMap<>();
+        query.getResultList().forEach(game -> gamesByKey.put(keyOf(game.getTeam1().getName(),
+                game.getStartTime(), game.getFinishTime()), game));
+
+        final List<Game> games = new ArrayList<>(keys.size());
+        for (Object[] key : keys) {
+            final Game game = gamesByKey.get(keyOf(key[0], key[2], key[3]));
+            // Removed after its key was read
+            if (game != null) {
+                games.add(game);
+            }
+        }
+        return games;
+    }
+
+    private static List<Object> keyOf(final Object teamName1, final Object startTime, final Object finishTime) {
+        return Arrays.asList(teamName1, startTime, finishTime);
+    }
+
+    private void setParameters(final TypedQuery<?> query, final DaoHelper daoHelper, final String username) {
         List<String> valueName = daoHelper.getValueNames();
         List<Object> values    = daoHelper.getValues();
 
-        if (currentUsername != null && (onlyLikedSports || onlyLikedUsersPlay)) {
-            query.setParameter("username" , currentUsername);
+        if (username != null) {
+            query.setParameter("username" , username);
         }
         for(int i = 0; i < valueName.size(); i++) {
             query.setParameter(valueName.get(i), values.get(i));
         }
+    }
 
-        return query.getResultList();
+    private List<Pair<String, SortType>> getOrder(final GameSort sort) {
+        // Always end with the game key so pages are stable between requests
+        final List<Pair<String, SortType>> order = new ArrayList<>();
+        if (sort != null) {
+            order.addAll(sort.getSortCategories());
+        }
+        order.addAll(QUERY_KEY_ORDER);
+        return order;
+    }
+
+    @Override
+    public int recountPlaces() {
+        return DaoHelper.writingTables(em.createNativeQuery(RECOUNT_PLACES_QUERY), "games").executeUpdate();
     }
 
     @Override
     public List<Game> gamesThatAUserPlayInTeam1(final long userId) {
-        String queryString =
-                "SELECT games " +
-                "FROM Game as games " +
-                "WHERE :userId IN " +
-                            "(SELECT p.userId " +
-                            "FROM Game g, Team t JOIN t.players p " +
-                            "WHERE games = g AND g.primaryKey.team1.teamName = t.teamName " +
-                                "AND g.result IS NOT NULL)";
-        final TypedQuery<Game> query = em.createQuery(queryString, Game.class);
-        query.setParameter("userId", userId);
-        return query.getResultList();
+        return gamesThatAUserPlay(userId, GameParticipant.TEAM_1);
     }
 
     @Override
     public List<Game> gamesThatAUserPlayInTeam2(final long userId) {
+        return gamesThatAUserPlay(userId, GameParticipant.TEAM_2);
+    }
+
+    private List<Game> gamesThatAUserPlay(final long userId, final int side) {
         String queryString =
                 "SELECT games " +
-                "FROM Game as games " +
-                "WHERE :userId IN " +
-                            "(SELECT p.userId " +
-                            "FROM Game g, Team t JOIN t.players p " +
-                            "WHERE games = g AND g.team2.teamName = t.teamName " +
-                                "AND g.result IS NOT NULL)";
+                "FROM Game as games, GameParticipant gp " +
+                "WHERE gp.primaryKey.userId = :userId AND gp.primaryKey.side = :side " +
+                    "AND " + PARTICIPANT_OF_GAME + " AND games.result IS NOT NULL";
         final TypedQuery<Game> query = em.createQuery(queryString, Game.class);
         query.setParameter("userId", userId);
+        query.setParameter("side", side);
         return query.getResultList();
     }
 
@@ -261,7 +400,13 @@ public class GameHibernateDao implements GameDao {
             game.setTitle(title);
         }
 
+        game.setQuantityOccupiedPlaces();
         em.merge(game);
+        if (game.getTeam1().getName().equals(teamName1Old) && game.getStartTime().equals(startTimeOld)
+                && game.getFinishTime().equals(finishTimeOld)) {
+            // Only the team 2 can change without changing the game key
+            gameParticipantDao.setParticipants(game);
+        }
         LOGGER.trace("Successfully modify game: {} |starting at {} |finishing at {}", teamName1Old,
                 startTimeOld.toString(), finishTimeOld.toString());
         return Optional.of(game);
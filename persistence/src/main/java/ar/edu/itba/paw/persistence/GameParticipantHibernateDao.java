@@ -0,0 +1,135 @@
+package ar.edu.itba.paw.persistence;
+
+import ar.edu.itba.paw.interfaces.GameParticipantDao;
+import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.GameParticipant;
+import ar.edu.itba.paw.models.GameParticipantPK;
+import ar.edu.itba.paw.models.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.sql.Timestamp;
+
+@Repository
+public class GameParticipantHibernateDao implements GameParticipantDao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameParticipantHibernateDao.class);
+
+    private static final String LIKED_USERS_GAMES_TABLE = "liked_users_games";
+    private static final String LIKED_USERS_GAMES_INSERT =
+            "INSERT INTO liked_users_games (userName, likedUserId, teamName1, startTime, finishTime) ";
+    private static final String NOT_ALREADY_IN_FEED =
+            "NOT EXISTS (SELECT * FROM liked_users_games l WHERE l.userName = f.userName " +
+            "AND l.likedUserId = a.userId AND l.teamName1 = gp.teamName1 AND l.startTime = gp.startTime " +
+            "AND l.finishTime = gp.finishTime)";
+    private static final String GAME_KEY =
+            "gp.teamName1 = :teamName1 AND gp.startTime = :startTime AND gp.finishTime = :finishTime";
+    private static final String PLAYER_TO_LIKERS_FEED = LIKED_USERS_GAMES_INSERT +
+            "SELECT DISTINCT f.userName, a.userId, gp.teamName1, gp.startTime, gp.finishTime " +
+            "FROM game_participants gp JOIN accounts a ON a.userId = gp.userId " +
+            "JOIN friendOf f ON f.friendsUserName = a.userName " +
+            "WHERE gp.userId = :userId AND " + GAME_KEY + " AND " + NOT_ALREADY_IN_FEED;
+    private static final String GAME_TO_LIKERS_FEED = LIKED_USERS_GAMES_INSERT +
+            "SELECT DISTINCT f.userName, a.userId, gp.teamName1, gp.startTime, gp.finishTime " +
+            "FROM game_participants gp JOIN accounts a ON a.userId = gp.userId " +
+            "JOIN friendOf f ON f.friendsUserName = a.userName " +
+            "WHERE " + GAME_KEY + " AND " + NOT_ALREADY_IN_FEED;
+    private static final String LIKED_USER_TO_FEED = LIKED_USERS_GAMES_INSERT +
+            "SELECT DISTINCT f.userName, a.userId, gp.teamName1, gp.startTime, gp.finishTime " +
+            "FROM game_participants gp JOIN accounts a ON a.userId = gp.userId " +
+            "JOIN friendOf f ON f.friendsUserName = a.userName " +
+            "WHERE f.userName = :username AND a.userName = :usernameOfLiked AND " + NOT_ALREADY_IN_FEED;
+    private static final String REMOVE_PLAYER_FROM_FEED =
+            "DELETE FROM liked_users_games WHERE likedUserId = :userId AND teamName1 = :teamName1 " +
+            "AND startTime = :startTime AND finishTime = :finishTime AND NOT EXISTS (SELECT * " +
+            "FROM game_participants gp WHERE gp.userId = :userId AND " + GAME_KEY + ")";
+    private static final String REMOVE_GAME_FROM_FEED =
+            "DELETE FROM liked_users_games WHERE teamName1 = :teamName1 AND startTime = :startTime " +
+            "AND finishTime = :finishTime";
+    private static final String REMOVE_LIKED_USER_FROM_FEED =
+            "DELETE FROM liked_users_games WHERE userName = :username AND likedUserId IN " +
+            "(SELECT a.userId FROM accounts a WHERE a.userName = :usernameOfLiked)";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public void addParticipant(final long userId, final Game game, final int side) {
+        if (em.find(GameParticipant.class, new GameParticipantPK(userId, game, side)) == null) {
+            em.persist(new GameParticipant(userId, game, side));
+            em.flush();
+            setNativeGameKey(feedQuery(PLAYER_TO_LIKERS_FEED), game)
+                    .setParameter("userId", userId).executeUpdate();
+        }
+    }
+
+    @Override
+    public void removeParticipant(final long userId, final Game game, final int side) {
+        GameParticipant participant = em.find(GameParticipant.class, new GameParticipantPK(userId, game, side));
+        if (participant != null) {
+            em.remove(participant);
+            em.flush();
+            setNativeGameKey(feedQuery(REMOVE_PLAYER_FROM_FEED), game)
+                    .setParameter("userId", userId).executeUpdate();
+        }
+    }
+
+    @Override
+    public void setParticipants(final Game game) {
+        setGameKey(em.createQuery("DELETE FROM GameParticipant gp WHERE gp.primaryKey.teamName1 = :teamName1 " +
+                "AND gp.primaryKey.startTime = :startTime AND gp.primaryKey.finishTime = :finishTime"), game)
+                .executeUpdate();
+        for (User player: game.getTeam1().getPlayers()) {
+            em.persist(new GameParticipant(player.getUserId(), game, GameParticipant.TEAM_1));
+        }
+        if (game.getTeam2() != null) {
+            for (User player: game.getTeam2().getPlayers()) {
+                em.persist(new GameParticipant(player.getUserId(), game, GameParticipant.TEAM_2));
+            }
+        }
+        em.flush();
+        setNativeGameKey(feedQuery(REMOVE_GAME_FROM_FEED), game).executeUpdate();
+        setNativeGameKey(feedQuery(GAME_TO_LIKERS_FEED), game).executeUpdate();
+    }
+
+    @Override
+    public void addLikedUserGames(final String username, final String usernameOfLiked) {
+        em.flush();
+        int added = feedQuery(LIKED_USER_TO_FEED)
+                .setParameter("username", username)
+                .setParameter("usernameOfLiked", usernameOfLiked)
+                .executeUpdate();
+        LOGGER.trace("Added {} games of '{}' to the liked users games of '{}'", added, usernameOfLiked, username);
+    }
+
+    @Override
+    public void removeLikedUserGames(final String username, final String usernameOfLiked) {
+        em.flush();
+        int removed = feedQuery(REMOVE_LIKED_USER_FROM_FEED)
+                .setParameter("username", username)
+                .setParameter("usernameOfLiked", usernameOfLiked)
+                .executeUpdate();
+        LOGGER.trace("Removed {} games of '{}' from the liked users games of '{}'", removed, usernameOfLiked,
+                username);
+    }
+
+    private Query feedQuery(final String feedUpdate) {
+        return DaoHelper.writingTables(em.createNativeQuery(feedUpdate), LIKED_USERS_GAMES_TABLE);
+    }
+
+    private Query setGameKey(final Query query, final Game game) {
+        return query.setParameter("teamName1", game.getTeam1().getName())
+                .setParameter("startTime", game.getStartTime())
+                .setParameter("finishTime", game.getFinishTime());
+    }
+
+    private Query setNativeGameKey(final Query query, final Game game) {
+        return query.setParameter("teamName1", game.getTeam1().getName())
+                .setParameter("startTime", Timestamp.valueOf(game.getStartTime()))
+                .setParameter("finishTime", Timestamp.valueOf(game.getFinishTime()));
+    }
+}
@@ -0,0 +1,103 @@
+package ar.edu.itba.paw.persistence;
+
+import ar.edu.itba.paw.interfaces.ImageDao;
+import ar.edu.itba.paw.models.Image;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class ImageHibernateDao implements ImageDao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageHibernateDao.class);
+
+    private static final String INSERT_IMAGE      = "INSERT INTO images (hash, content) VALUES (?, ?)";
+    private static final String UNIQUE_VIOLATION  = "23505";
+    private static final String IMAGE_COUNT_QUERY = "SELECT count(i) FROM Image as i WHERE i.hash = :hash";
+    private static final String CONTENT_QUERY     = "SELECT i.content FROM Image as i WHERE i.hash = :hash";
+    private static final String UNUSED            =
+            "NOT EXISTS (SELECT u FROM PremiumUser as u WHERE u.imageHash = i.hash) " +
+            "AND NOT EXISTS (SELECT s FROM Sport as s WHERE s.imageHash = i.hash) " +
+            "AND NOT EXISTS (SELECT t FROM Team as t WHERE t.imageHash = i.hash)";
+    private static final String UNUSED_QUERY      = "SELECT i.hash FROM Image as i WHERE " + UNUSED;
+    private static final String REMOVE_UNUSED     = "DELETE FROM Image as i WHERE i.hash = :hash AND " + UNUSED;
+    private static final String HASH              = "hash";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /* Stores the image unless there is one with the same content */
+    @Override
+    public String create(final byte[] content) {
+        final String hash = Image.hashOf(content);
+        if (!exists(hash) && insert(hash, content)) {
+            LOGGER.trace("Stored image {}", hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Inserts the image on a savepoint, another upload of the same image may commit between the check and the
+     * insert. Its unique violation only rolls back the savepoint, the image is already stored. The row is written
+     * right away and never managed, bulk removals would leave a stale copy behind.
+     */
+    /* package */ boolean insert(final String hash, final byte[] content) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            final Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_IMAGE)) {
+                statement.setString(1, hash);
+                statement.setBytes(2, content);
+                statement.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                connection.rollback(savepoint);
+                LOGGER.trace("Image {} was stored by another upload", hash);
+                return false;
+            }
+        });
+    }
+
+    @Override
+    public Optional<byte[]> read(final String hash) {
+        return em.createQuery(CONTENT_QUERY, byte[].class)
+                .setParameter(HASH, hash)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean exists(final String hash) {
+        return em.createQuery(IMAGE_COUNT_QUERY, Long.class)
+                .setParameter(HASH, hash)
+                .getSingleResult() > 0;
+    }
+
+    @Override
+    public List<String> removeUnused(final int maxImages) {
+        em.flush();
+        final List<String> removed = new ArrayList<>();
+        for (String hash : em.createQuery(UNUSED_QUERY, String.class).setMaxResults(maxImages).getResultList()) {
+            // Checked again, the image may have been taken since it was found
+            if (em.createQuery(REMOVE_UNUSED).setParameter(HASH, hash).executeUpdate() > 0) {
+                LOGGER.trace("Removed image {}, nothing shows it anymore", hash);
+                removed.add(hash);
+            }
+        }
+        return removed;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -15,17 +16,20 @@ import java.util.Optional;
 @Repository
 public class JWTHibernateDao implements JWTDao {
 
+    private static final String DELETE_EXPIRED = "DELETE FROM blacklist WHERE id IN " +
+            "(SELECT id FROM blacklist WHERE expiry < :time ORDER BY expiry LIMIT :maxTokens)";
+
     @PersistenceContext
     private EntityManager em;
 
     @Override
-    public boolean isInBlacklist(String jwtoken) {
-        return findByToken(jwtoken).isPresent();
+    public boolean isInBlacklist(String tokenHash) {
+        return findByTokenHash(tokenHash).isPresent();
     }
 
     @Override
-    public JWT addBlacklist(String jwtoken, LocalDateTime expiry) {
-        final JWT jwt = new JWT(jwtoken, expiry);
+    public JWT addBlacklist(String tokenHash, LocalDateTime expiry) {
+        final JWT jwt = new JWT(tokenHash, expiry);
         em.persist(jwt);
         return jwt;
     }
@@ -44,9 +48,26 @@ public class JWTHibernateDao implements JWTDao {
         return query.getResultList();
     }
 
-    private Optional<JWT> findByToken(String jwtoken) {
-        final TypedQuery<JWT> query = em.createQuery("FROM JWT WHERE token = :token", JWT.class);
-        query.setParameter("token", jwtoken);
+    @Override
+    public List<String> findTokenHashesExpiringAfter(LocalDateTime time) {
+        final TypedQuery<String> query = em.createQuery("SELECT tokenHash FROM JWT WHERE expiry > :time",
+                String.class);
+        query.setParameter("time", time);
+        return query.getResultList();
+    }
+
+    @Override
+    public int deleteExpiredBefore(LocalDateTime time, int maxTokens) {
+        em.flush();
+        return DaoHelper.writingTables(em.createNativeQuery(DELETE_EXPIRED), "blacklist")
+                .setParameter("time", Timestamp.valueOf(time))
+                .setParameter("maxTokens", maxTokens)
+                .executeUpdate();
+    }
+
+    private Optional<JWT> findByTokenHash(String tokenHash) {
+        final TypedQuery<JWT> query = em.createQuery("FROM JWT WHERE tokenHash = :tokenHash", JWT.class);
+        query.setParameter("tokenHash", tokenHash);
         final List<JWT> list = query.getResultList();
         return list.stream().findFirst();
     }
@@ -1,16 +1,23 @@
 package ar.edu.itba.paw.persistence;
 
 import ar.edu.itba.paw.exceptions.notfound.UserNotFoundException;
+import ar.edu.itba.paw.interfaces.GameParticipantDao;
+import ar.edu.itba.paw.interfaces.ImageDao;
 import ar.edu.itba.paw.interfaces.PremiumUserDao;
 import ar.edu.itba.paw.interfaces.RoleDao;
 import ar.edu.itba.paw.interfaces.UserDao;
+import ar.edu.itba.paw.models.AuthUser;
+import ar.edu.itba.paw.models.AuthUserChangedEvent;
+import ar.edu.itba.paw.models.Page;
 import ar.edu.itba.paw.models.Place;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Role;
 import ar.edu.itba.paw.models.Sport;
+import ar.edu.itba.paw.models.Team;
 import ar.edu.itba.paw.models.User;
 import ar.edu.itba.paw.models.UserSort;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +26,10 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -35,21 +46,38 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
     @Autowired
     RoleDao roleDao;
 
-    private static final String QUERY_PART_1          = "Select u From PremiumUser as u";
-    private static final String QUERY_PART_2          = ", PremiumUser as u2";
-    private static final String QUERY_PART_3          = ", Sport s";
-    private static final String QUERY_PART_4          = " WHERE u.userName = u.userName";
+    @Autowired
+    private ImageDao imageDao;
+
+    @Autowired
+    GameParticipantDao gameParticipantDao;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final String QUERY_START           = "FROM PremiumUser as u WHERE u.userName = u.userName";
+    private static final String QUERY_SELECT          = "SELECT u ";
+    private static final String QUERY_SELECT_COUNT    = "SELECT count(u) ";
+    private static final String QUERY_KEY_ORDER       = "u.userName";
     private static final String QUERY_REPUTATION_NAME = "u.reputation";
     private static final String LESS_THAN             = "<";
     private static final String GREATER_THAN          = ">";
     private static final String MIN_REPUTATION        = "minReputation";
     private static final String MAX_REPUTATION        = "maxReputation";
-    private static final String EQUALS                = "=";
+    private static final String QUERY_WIN_RATE_NAME   = "u.winRate";
+    private static final String MIN_WIN_RATE          = "minWinRate";
+    private static final String MAX_WIN_RATE          = "maxWinRate";
     private static final String QUERY_USERNAME_NAME   = "u.userName";
-    private static final String QUERY_LIKES_NAME      = "elements(u.likes)";
-    private static final String QUERY_FRIENDS_NAME    = "elements(u.friends)";
-    private static final String LIKES_OPERATOR        = "= s.sportName AND s IN";
-    private static final String FRIENDS_OPERATOR      = "= u2.userName AND u2 IN";
+    private static final String LIKES_QUERY           = "EXISTS (SELECT s FROM PremiumUser as pu JOIN pu.likes s " +
+                                                        "WHERE pu.userName = u.userName AND s.sportName IN (:sport))";
+    private static final String FRIENDS_QUERY         = "EXISTS (SELECT f FROM PremiumUser as pu JOIN pu.friends f " +
+                                                        "WHERE pu.userName = u.userName " +
+                                                        "AND f.userName IN (:usernameFriends))";
+    private static final String AUTH_USER_QUERY       = "SELECT u.userName, u.password, u.enabled, r.name " +
+                                                        "FROM PremiumUser as u LEFT JOIN u.roles r " +
+                                                        "WHERE u.userName = :username";
+    private static final String IMAGE_HASH_QUERY      = "SELECT u.imageHash FROM PremiumUser as u " +
+                                                        "WHERE u.userName = :username";
     private static final String USERNAME              = "username";
     private static final String SPORT                 = "sport";
     private static final String USERNAME_FRIENDS      = "usernameFriends";
@@ -89,7 +117,7 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
         final Role role = roleDao.findRoleById(userRoleId).get();//should never be empty
         final PremiumUser newUser = new PremiumUser(basicUser.get().getFirstName(), basicUser.get().getLastName(),
                 basicUser.get().getEmail(), userName, cellphone, birthday, new Place(country,
-                state, city, street), reputation, password, code, file);
+                state, city, street), reputation, password, code, (file != null) ? imageDao.create(file) : null);
         newUser.addRole(role);
         em.persist(newUser);
         return Optional.of(newUser);
@@ -98,17 +126,30 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
     @Override
     public boolean remove(final String userName) {
         final Optional<PremiumUser> userOptional = findByUserName(userName);
-        userOptional.ifPresent(user -> em.remove(user));
+        userOptional.ifPresent(user -> {
+            em.remove(user);
+            // The database deletes the teams the user leads, the cached copies have to go too
+            em.getEntityManagerFactory().getCache().evict(Team.class);
+            authUserChanged(userName);
+        });
         return userOptional.isPresent();
     }
 
     @Override
     public Optional<byte[]> readImage(final String userName) {
-        return Optional.ofNullable(
-                findByUserName(userName)
-                        .orElseThrow(() -> UserNotFoundException.ofUsername(userName))
-                        .getImage()
-        );
+        return findImageHash(userName).flatMap(imageDao::read);
+    }
+
+    /* Only the hash, without loading the user */
+    @Override
+    public Optional<String> findImageHash(final String userName) {
+        final List<String> imageHashes = em.createQuery(IMAGE_HASH_QUERY, String.class)
+                .setParameter(USERNAME, userName)
+                .getResultList();
+        if (imageHashes.isEmpty()) {
+            throw UserNotFoundException.ofUsername(userName);
+        }
+        return Optional.ofNullable(imageHashes.get(0));
     }
 
     @Override
@@ -162,9 +203,12 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
                 user.setPassword(newPassword);
             }
             if (file != null) {
-                user.setImage(file);
+                user.setImageHash(imageDao.create(file));
             }
             em.merge(user);
+            if (newEmail != null || newUserName != null || newPassword != null) {
+                authUserChanged(oldUserName);
+            }
             return Optional.of(user);
         }
         else {
@@ -202,6 +246,36 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
         }
     }
 
+    @Override
+    public Optional<AuthUser> findAuthUser(final String userName) {
+        final List<Object[]> rows = em.createQuery(AUTH_USER_QUERY, Object[].class)
+                .setParameter(USERNAME, userName)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        final Set<String> roles = new HashSet<>();
+        for (Object[] row : rows) {
+            if (row[3] != null) {
+                roles.add((String) row[3]);
+            }
+        }
+        final Object[] account = rows.get(0);
+        return Optional.of(new AuthUser((String) account[0], (String) account[1], (Boolean) account[2], roles));
+    }
+
+    @Override
+    public List<PremiumUser> findByIds(final Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Roles are loaded afterwards in batches, fetching them here would need a DISTINCT over every account row
+        return em.createQuery("SELECT u FROM PremiumUser as u JOIN FETCH u.user " +
+                "WHERE u.user.userId IN (:userIds)", PremiumUser.class)
+                .setParameter("userIds", DaoHelper.padValues(new ArrayList<>(userIds)))
+                .getResultList();
+    }
+
     @Override
     public boolean enableUser(final String username, final String code) {
         Optional<PremiumUser> currentUser = findByUserName(username);
@@ -210,6 +284,7 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
             final PremiumUser user = currentUser.get();
             user.setEnabled(true);
             em.merge(user);
+            authUserChanged(username);
             return true;
         }
         else {
@@ -229,6 +304,7 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
         PremiumUser user = premiumUser.get();
         user.getRoles().add(role.get());
         em.merge(user);
+        authUserChanged(username);
         return true;
     }
 
@@ -257,6 +333,7 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
         if(user.getRoles().contains(role)) {
             user.getRoles().remove(role);
             em.merge(user);
+            authUserChanged(username);
             return true;
         }
         else {
@@ -265,42 +342,55 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
     }
 
     @Override
-    public List<PremiumUser> findUsers(final List<String> usernames, final List<String> sportLiked,
+    public Page<PremiumUser> findUsers(final List<String> usernames, final List<String> sportLiked,
                                        final List<String> friendUsernames, final Integer minReputation,
                                        final Integer maxReputation, final Integer minWinRate,
-                                       final Integer maxWinRate, final UserSort sort, final boolean exactMatchUsernames) {
-        StringBuilder queryStart = new StringBuilder(QUERY_PART_1);
-        if (friendUsernames != null && !friendUsernames.isEmpty()) {
-            queryStart = queryStart.append(QUERY_PART_2);
-        }
-        if (sportLiked != null && !sportLiked.isEmpty()) {
-            queryStart = queryStart.append(QUERY_PART_3);
-        }
-        queryStart = queryStart.append(QUERY_PART_4);
-
-        DaoHelper daoHelper = new DaoHelper(queryStart.toString());
+                                       final Integer maxWinRate, final UserSort sort, final boolean exactMatchUsernames,
+                                       final Integer offset, final Integer limit) {
+        DaoHelper daoHelper = new DaoHelper(QUERY_START);
         daoHelper.addFilter(QUERY_REPUTATION_NAME, LESS_THAN, MIN_REPUTATION, minReputation);
         daoHelper.addFilter(QUERY_REPUTATION_NAME, GREATER_THAN, MAX_REPUTATION, maxReputation);
-        //TODO: winrate filter and Sort, need base migration
+        daoHelper.addFilter(QUERY_WIN_RATE_NAME, LESS_THAN, MIN_WIN_RATE,
+                (minWinRate == null) ? null : minWinRate.doubleValue());
+        daoHelper.addFilter(QUERY_WIN_RATE_NAME, GREATER_THAN, MAX_WIN_RATE,
+                (maxWinRate == null) ? null : maxWinRate.doubleValue());
         if (exactMatchUsernames) {
-            daoHelper.addFilter(QUERY_USERNAME_NAME, EQUALS, USERNAME, usernames);
+            daoHelper.addInFilter(QUERY_USERNAME_NAME, false, USERNAME, usernames);
         }
         else {
             daoHelper.addListFilters(false, false, QUERY_USERNAME_NAME, USERNAME, usernames);
         }
-        daoHelper.addFilter(QUERY_LIKES_NAME, LIKES_OPERATOR, SPORT, sportLiked);
-        daoHelper.addFilter(QUERY_FRIENDS_NAME, FRIENDS_OPERATOR, USERNAME_FRIENDS, friendUsernames);
+        // Semi-joins keep one row per user, so there is no need of DISTINCT over the whole account row
+        daoHelper.addFilterCustom(LIKES_QUERY, SPORT, sportLiked);
+        daoHelper.addFilterCustom(FRIENDS_QUERY, USERNAME_FRIENDS, friendUsernames);
+
+        final TypedQuery<Long> countQuery = em.createQuery(QUERY_SELECT_COUNT + daoHelper.getQuery(), Long.class);
+        setParameters(countQuery, daoHelper);
+        final int total = countQuery.getSingleResult().intValue();
 
-        final TypedQuery<PremiumUser> query = em.createQuery(daoHelper.getQuery() +
-                (sort != null ? sort.toQuery() : ""), PremiumUser.class);
+        final int pageOffset = Page.validOffset(offset);
+        final int pageLimit  = Page.validLimit(limit);
+        List<PremiumUser> users = new LinkedList<>();
+        if (pageOffset < total) {
+            final String sortQuery = (sort != null) ? sort.toQuery() : "";
+            final TypedQuery<PremiumUser> query = em.createQuery(QUERY_SELECT + daoHelper.getQuery() +
+                    (sortQuery.isEmpty() ? " ORDER BY " : sortQuery + ", ") + QUERY_KEY_ORDER, PremiumUser.class);
+            setParameters(query, daoHelper);
+            query.setFirstResult(pageOffset);
+            query.setMaxResults(pageLimit);
+            users = query.getResultList();
+        }
+
+        return new Page<>(users, pageOffset, pageLimit, total);
+    }
+
+    private void setParameters(final TypedQuery<?> query, final DaoHelper daoHelper) {
         List<String> valueName = daoHelper.getValueNames();
         List<Object> values    = daoHelper.getValues();
 
         for(int i = 0; i < valueName.size(); i++) {
             query.setParameter(valueName.get(i), values.get(i));
         }
-
-        return query.getResultList();
     }
 
     @Override
@@ -319,6 +409,7 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
         else {
             user.getFriends().add(premiumUserOfLiked.get());
             em.merge(user);
+            gameParticipantDao.addLikedUserGames(username, usernameOfLiked);
             return true;
         }
     }
@@ -336,6 +427,7 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
         if(user.getFriends().contains(premiumUserOfLiked.get())) {
             user.getFriends().remove(premiumUserOfLiked.get());
             em.merge(user);
+            gameParticipantDao.removeLikedUserGames(username, usernameOfLiked);
         }
         return true;
     }
@@ -395,7 +487,12 @@ public class PremiumUserHibernateDao implements PremiumUserDao {
         if(currentUser.isPresent() && currentUser.get().getCode().equals(code)) {
             currentUser.get().setPassword(newPassword);
             em.merge(currentUser.get());
+            authUserChanged(username);
         }
         return currentUser;
     }
+
+    private void authUserChanged(final String userName) {
+        eventPublisher.publishEvent(new AuthUserChangedEvent(userName));
+    }
 }
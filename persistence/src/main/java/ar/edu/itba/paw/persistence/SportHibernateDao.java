@@ -1,9 +1,13 @@
 package ar.edu.itba.paw.persistence;
 
 import ar.edu.itba.paw.exceptions.notfound.SportNotFoundException;
+import ar.edu.itba.paw.interfaces.ImageDao;
 import ar.edu.itba.paw.interfaces.SportDao;
 import ar.edu.itba.paw.models.Sport;
 import ar.edu.itba.paw.models.SportSort;
+import ar.edu.itba.paw.models.Team;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -18,10 +22,12 @@ public class SportHibernateDao implements SportDao {
     @PersistenceContext
     private EntityManager em;
 
+    @Autowired
+    private ImageDao imageDao;
+
     private static final String QUERY_START           = "SELECT s FROM Sport as s WHERE s.sportName = s.sportName";
     private static final String QUERY_SPORT_NAME      = "s.sportName";
     private static final String QUERY_PLAYER_QUANTITY = "s.playerQuantity";
-    private static final String EQUALS                = "=";
     private static final String LESS_THAN             = "<";
     private static final String GREATER_THAN          = ">";
     private static final String SPORT_NAME            = "sportName";
@@ -35,7 +41,8 @@ public class SportHibernateDao implements SportDao {
             return Optional.empty();
         }
 
-        final Sport newSport = new Sport(sportName, playerQuantity, displayName, file);
+        final Sport newSport = new Sport(sportName, playerQuantity, displayName,
+                (file != null) ? imageDao.create(file) : null);
         em.persist(newSport);
         return Optional.of(newSport);
     }
@@ -58,7 +65,7 @@ public class SportHibernateDao implements SportDao {
         }
 
         if(file != null) {
-            sport.setImage(file);
+            sport.setImageHash(imageDao.create(file));
         }
 
         em.merge(sport);
@@ -72,6 +79,8 @@ public class SportHibernateDao implements SportDao {
 
         if(sport.isPresent()) {
             em.remove(sport.get());
+            // The database deletes the teams of the sport, the cached copies have to go too
+            em.getEntityManagerFactory().getCache().evict(Team.class);
             ans = true;
         }
 
@@ -82,7 +91,7 @@ public class SportHibernateDao implements SportDao {
     public List<Sport> findSports(final List<String> sportNames, final Integer minQuantity,
                                   final Integer maxQuantity, final SportSort sort) {
         DaoHelper daoHelper = new DaoHelper(QUERY_START);
-        daoHelper.addFilter(QUERY_SPORT_NAME, EQUALS, SPORT_NAME, sportNames);
+        daoHelper.addInFilter(QUERY_SPORT_NAME, false, SPORT_NAME, sportNames);
         daoHelper.addFilter(QUERY_PLAYER_QUANTITY, LESS_THAN, MIN_QUANTITY, minQuantity);
         daoHelper.addFilter(QUERY_PLAYER_QUANTITY, GREATER_THAN, MAX_QUANTITY, maxQuantity);
         final TypedQuery<Sport> query = em.createQuery(daoHelper.getQuery() +
@@ -93,6 +102,9 @@ public class SportHibernateDao implements SportDao {
         for(int i = 0; i < valueName.size(); i++) {
             query.setParameter(valueName.get(i), values.get(i));
         }
+        // Sports barely change, any write to the table drops the cached results
+        query.setHint(QueryHints.CACHEABLE, true);
+        query.setHint(QueryHints.CACHE_REGION, Sport.QUERY_CACHE_REGION);
         return query.getResultList();
     }
 
@@ -101,7 +113,8 @@ public class SportHibernateDao implements SportDao {
         return Optional.ofNullable(
                 findByName(sportName)
                         .orElseThrow(() -> SportNotFoundException.ofId(sportName))
-                        .getImage());
+                        .getImageHash())
+                .flatMap(imageDao::read);
     }
 
     @Override
@@ -5,10 +5,14 @@ import ar.edu.itba.paw.exceptions.invalidstate.TeamInvalidStateException;
 import ar.edu.itba.paw.exceptions.notfound.SportNotFoundException;
 import ar.edu.itba.paw.exceptions.notfound.TeamNotFoundException;
 import ar.edu.itba.paw.exceptions.notfound.UserNotFoundException;
+import ar.edu.itba.paw.interfaces.GameParticipantDao;
+import ar.edu.itba.paw.interfaces.ImageDao;
 import ar.edu.itba.paw.interfaces.PremiumUserDao;
 import ar.edu.itba.paw.interfaces.SportDao;
 import ar.edu.itba.paw.interfaces.TeamDao;
 import ar.edu.itba.paw.interfaces.UserDao;
+import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.GameParticipant;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Sport;
 import ar.edu.itba.paw.models.Team;
@@ -22,6 +26,7 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -35,12 +40,18 @@ public class TeamHibernateDao implements TeamDao {
     @Autowired
     private UserDao userDao;
 
+    @Autowired
+    private GameParticipantDao gameParticipantDao;
+
     @Autowired
     private PremiumUserDao premiumUserDao;
 
     @Autowired
     private SportDao sportDao;
 
+    @Autowired
+    private ImageDao imageDao;
+
     @Override
     public Optional<Team> create(final String leaderName, final long leaderId,
                                  final String acronym, final String teamName,
@@ -58,7 +69,8 @@ public class TeamHibernateDao implements TeamDao {
                 .orElseThrow(() -> SportNotFoundException.ofId(sportName));
         LOGGER.trace("Find sport: {}", sportName);
 
-        Team team = new Team(leader, acronym, teamName, isTemp, sport, file);
+        Team team = new Team(leader, acronym, teamName, isTemp, sport,
+                (file != null) ? imageDao.create(file) : null);
         em.persist(team);
         return Optional.of(team);
     }
@@ -117,6 +129,9 @@ public class TeamHibernateDao implements TeamDao {
 
         team.addPlayer(user);
         em.merge(team);
+        for (Game game: updateGamesPlaces(team)) {
+            gameParticipantDao.addParticipant(userId, game, getSide(game, team));
+        }
         return Optional.of(team);
     }
 
@@ -131,7 +146,23 @@ public class TeamHibernateDao implements TeamDao {
         }
 
         em.merge(team);
+        for (Game game: updateGamesPlaces(team)) {
+            gameParticipantDao.removeParticipant(userId, game, getSide(game, team));
+        }
         LOGGER.trace("Successfully add player: {} from team: {}", userId, teamName);
         return Optional.of(team);
     }
+
+    private List<Game> updateGamesPlaces(final Team team) {
+        final List<Game> games = em.createQuery("FROM Game as games " +
+                "WHERE games.primaryKey.team1 = :team OR games.team2 = :team", Game.class)
+                .setParameter("team", team)
+                .getResultList();
+        games.forEach(Game::setQuantityOccupiedPlaces);
+        return games;
+    }
+
+    private int getSide(final Game game, final Team team) {
+        return game.getTeam1().equals(team) ? GameParticipant.TEAM_1 : GameParticipant.TEAM_2;
+    }
 }
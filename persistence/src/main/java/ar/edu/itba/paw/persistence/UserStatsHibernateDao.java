@@ -0,0 +1,169 @@
+package ar.edu.itba.paw.persistence;
+
+import ar.edu.itba.paw.interfaces.UserStatsDao;
+import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.LeaderboardEntry;
+import ar.edu.itba.paw.models.PremiumUser;
+import ar.edu.itba.paw.models.Sport;
+import ar.edu.itba.paw.models.UserStats;
+import ar.edu.itba.paw.models.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Repository
+public class UserStatsHibernateDao implements UserStatsDao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserStatsHibernateDao.class);
+
+    private static final String SCORE_TEAM_1 =
+            "CAST(SUBSTRING(g.result FROM 1 FOR POSITION('-' IN g.result) - 1) AS INTEGER)";
+    private static final String SCORE_TEAM_2 =
+            "CAST(SUBSTRING(g.result FROM POSITION('-' IN g.result) + 1) AS INTEGER)";
+    private static final String WINS   = "SUM(CASE WHEN r.ownScore > r.rivalScore THEN 1 ELSE 0 END)";
+    private static final String LOSSES = "SUM(CASE WHEN r.ownScore < r.rivalScore THEN 1 ELSE 0 END)";
+    private static final String USER_STATS_TABLE   = "user_stats";
+    private static final String DELETE_SPORT_STATS = "DELETE FROM user_stats WHERE sportName = :sportName";
+    private static final String INSERT_SPORT_STATS =
+            "INSERT INTO user_stats (userId, sportName, played, wins, draws, losses, winRate) " +
+            "SELECT r.userId, r.sportName, COUNT(*), " + WINS + ", " +
+            "SUM(CASE WHEN r.ownScore = r.rivalScore THEN 1 ELSE 0 END), " + LOSSES + ", " +
+            "CASE WHEN " + WINS + " + " + LOSSES + " = 0 THEN 0 " +
+            "ELSE CAST(" + WINS + " AS DOUBLE PRECISION) / (" + WINS + " + " + LOSSES + ") * 100 END " +
+            "FROM (SELECT gp.userId AS userId, t.sportName AS sportName, " +
+            "CASE WHEN gp.side = 1 THEN " + SCORE_TEAM_1 + " ELSE " + SCORE_TEAM_2 + " END AS ownScore, " +
+            "CASE WHEN gp.side = 1 THEN " + SCORE_TEAM_2 + " ELSE " + SCORE_TEAM_1 + " END AS rivalScore " +
+            "FROM game_participants gp JOIN games g ON g.teamName1 = gp.teamName1 " +
+            "AND g.startTime = gp.startTime AND g.finishTime = gp.finishTime " +
+            "JOIN teams t ON t.teamName = g.teamName1 " +
+            "WHERE t.sportName = :sportName AND g.result IS NOT NULL AND g.type LIKE '%-Competitive') r " +
+            "GROUP BY r.userId, r.sportName";
+    // Same arithmetic as UserStats.winRateOf, the one addResult stores
+    private static final String REFRESH_WIN_RATES =
+            "UPDATE accounts SET winRate = COALESCE((SELECT CASE WHEN SUM(us.wins + us.losses) = 0 THEN 0 " +
+            "ELSE CAST(SUM(us.wins) AS DOUBLE PRECISION) / SUM(us.wins + us.losses) * 100 END " +
+            "FROM user_stats us WHERE us.userId = accounts.userId), 0)";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<UserStats> findByUserId(final long userId) {
+        return em.createQuery("FROM UserStats AS us WHERE us.primaryKey.userId = :userId", UserStats.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    @Override
+    public List<LeaderboardEntry> findLeaderboard(final String sportName) {
+        return em.createQuery("SELECT new ar.edu.itba.paw.models.LeaderboardEntry(pu.userName, us) " +
+                "FROM UserStats AS us, PremiumUser AS pu WHERE pu.user.userId = us.primaryKey.userId " +
+                "AND us.primaryKey.sportName = :sportName", LeaderboardEntry.class)
+                .setParameter("sportName", sportName)
+                .getResultList();
+    }
+
+    @Override
+    public List<LeaderboardEntry> addResult(final Game game, final int scoreTeam1, final int scoreTeam2) {
+        final String sportName = game.getTeam1().getSport().getName();
+        lockSport(sportName, LockModeType.PESSIMISTIC_READ);
+        final Set<Long> userIds = new HashSet<>();
+        game.getTeam1().getPlayers().forEach(player -> userIds.add(player.getUserId()));
+        if (game.getTeam2() != null) {
+            game.getTeam2().getPlayers().forEach(player -> userIds.add(player.getUserId()));
+        }
+        // Every stats row and account of the players on one query each, however many they are
+        final Map<Long, List<UserStats>> statsOfUsers = findByUserIds(userIds).stream()
+                .collect(Collectors.groupingBy(UserStats::getUserId));
+        final Map<Long, List<PremiumUser>> accountsOfUsers = findAccounts(userIds).stream()
+                .collect(Collectors.groupingBy(account -> account.getUser().getUserId()));
+        final List<LeaderboardEntry> entries = new ArrayList<>();
+        addResult(entries, game.getTeam1().getPlayers(), sportName, scoreTeam1, scoreTeam2, statsOfUsers,
+                accountsOfUsers);
+        if (game.getTeam2() != null) {
+            addResult(entries, game.getTeam2().getPlayers(), sportName, scoreTeam2, scoreTeam1, statsOfUsers,
+                    accountsOfUsers);
+        }
+        return entries;
+    }
+
+    private void addResult(final List<LeaderboardEntry> entries, final Collection<User> players,
+                           final String sportName, final int ownScore, final int rivalScore,
+                           final Map<Long, List<UserStats>> statsOfUsers,
+                           final Map<Long, List<PremiumUser>> accountsOfUsers) {
+        for (User player : players) {
+            final List<UserStats> userStats = statsOfUsers.computeIfAbsent(player.getUserId(),
+                    userId -> new ArrayList<>());
+            UserStats stats = userStats.stream()
+                    .filter(sportStats -> sportStats.getSportName().equals(sportName))
+                    .findFirst()
+                    .orElse(null);
+            if (stats == null) {
+                stats = new UserStats(player.getUserId(), sportName);
+                em.persist(stats);
+                userStats.add(stats);
+            }
+            stats.addResult(ownScore, rivalScore);
+            final double winRate = UserStats.winRateOf(userStats);
+            for (PremiumUser account : accountsOfUsers.getOrDefault(player.getUserId(), new ArrayList<>())) {
+                account.setWinRate(winRate);
+                entries.add(new LeaderboardEntry(account.getUserName(), stats));
+            }
+        }
+    }
+
+    private List<UserStats> findByUserIds(final Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return em.createQuery("FROM UserStats AS us WHERE us.primaryKey.userId IN (:userIds)", UserStats.class)
+                .setParameter("userIds", DaoHelper.padValues(new ArrayList<>(userIds)))
+                .getResultList();
+    }
+
+    private List<PremiumUser> findAccounts(final Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return em.createQuery("FROM PremiumUser AS pu WHERE pu.user.userId IN (:userIds)", PremiumUser.class)
+                .setParameter("userIds", DaoHelper.padValues(new ArrayList<>(userIds)))
+                .getResultList();
+    }
+
+    /**
+     * Results of a sport share its row lock and a rebuild takes it alone, that way a result is either counted by
+     * the rebuild or added once it is done, and every node can rebuild without clashing with the others.
+     */
+    private void lockSport(final String sportName, final LockModeType lockMode) {
+        em.find(Sport.class, sportName, lockMode);
+    }
+
+    @Override
+    public int rebuild(final String sportName) {
+        em.flush();
+        lockSport(sportName, LockModeType.PESSIMISTIC_WRITE);
+        DaoHelper.writingTables(em.createNativeQuery(DELETE_SPORT_STATS), USER_STATS_TABLE)
+                .setParameter("sportName", sportName).executeUpdate();
+        final int rebuilt = DaoHelper.writingTables(em.createNativeQuery(INSERT_SPORT_STATS), USER_STATS_TABLE)
+                .setParameter("sportName", sportName).executeUpdate();
+        LOGGER.trace("Rebuilt {} stats of sport '{}'", rebuilt, sportName);
+        return rebuilt;
+    }
+
+    @Override
+    public int refreshWinRates() {
+        em.flush();
+        return DaoHelper.writingTables(em.createNativeQuery(REFRESH_WIN_RATES), "accounts").executeUpdate();
+    }
+}
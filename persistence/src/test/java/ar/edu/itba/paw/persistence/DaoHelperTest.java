@@ -0,0 +1,69 @@
+package ar.edu.itba.paw.persistence;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class DaoHelperTest {
+
+    private static final String START = "SELECT games FROM Game as games WHERE 1=1";
+
+    @Test
+    public void caseSensitiveListIsAnInList() {
+        //set up
+        final DaoHelper daoHelper = new DaoHelper(START);
+
+        //exercise class
+        daoHelper.addListFilters(true, false, "games.type", "type", Arrays.asList("Individual", "Team"));
+
+        //postconditions
+        Assert.assertEquals(START + " AND games.type IN (:type)", daoHelper.getQuery());
+        Assert.assertEquals(Collections.singletonList("type"), daoHelper.getValueNames());
+        Assert.assertEquals(Collections.singletonList(Arrays.asList("Individual", "Team")),
+                daoHelper.getValues());
+    }
+
+    @Test
+    public void negatedCaseSensitiveListIsNotLikeJoinedWithOr() {
+        //set up
+        final DaoHelper daoHelper = new DaoHelper(START);
+
+        //exercise class
+        daoHelper.addListFilters(true, true, "games.userName", "user", Arrays.asList("ab", "cd"));
+
+        //postconditions
+        Assert.assertEquals(START + " AND (games.userName NOT LIKE :user0 OR games.userName NOT LIKE :user1)",
+                daoHelper.getQuery());
+        Assert.assertEquals(Arrays.asList("ab", "cd"), daoHelper.getValues());
+    }
+
+    @Test
+    public void negatedCaseInsensitiveListIsJoinedWithOr() {
+        //set up
+        final DaoHelper daoHelper = new DaoHelper(START);
+
+        //exercise class
+        daoHelper.addListFilters(false, true, "games.city", "city", Arrays.asList("Tandil", "Azul"));
+
+        //postconditions
+        Assert.assertEquals(START + " AND (lower(games.city) NOT LIKE lower(:city0) OR " +
+                "lower(games.city) NOT LIKE lower(:city1))", daoHelper.getQuery());
+        Assert.assertEquals(Arrays.asList("%Tandil%", "%Azul%"), daoHelper.getValues());
+    }
+
+    @Test
+    public void caseInsensitiveListIsPaddedToAPowerOfTwo() {
+        //set up
+        final DaoHelper daoHelper = new DaoHelper(START);
+
+        //exercise class
+        daoHelper.addListFilters(false, false, "games.city", "city", Arrays.asList("Tandil", "Azul", "Olavarria"));
+
+        //postconditions
+        Assert.assertEquals(Arrays.asList("city0", "city1", "city2", "city3"), daoHelper.getValueNames());
+        Assert.assertEquals(Arrays.asList("%Tandil%", "%Azul%", "%Olavarria%", "%Olavarria%"),
+                daoHelper.getValues());
+    }
+}
@@ -0,0 +1,109 @@
+package ar.edu.itba.paw.persistence;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Checks on postgres that the filters of findGames and findUsers are served by an index. It needs a database with
+ * the schema and every migration of the webapp, the tests database can't tell which plans postgres picks:
+ *
+ *     mvn test -pl persistence -Dtest=FilterIndexesPostgresTest -Dpostgres.url=jdbc:postgresql://localhost/skore
+ *         -Dpostgres.username=... -Dpostgres.password=...
+ *
+ * Without postgres.url the tests are skipped. Sequential scans are disabled for the transaction, so on any amount
+ * of data postgres only picks one when no index can serve the filter. Nothing is written, the transaction rolls
+ * back.
+ */
+public class FilterIndexesPostgresTest {
+
+    private static final String URL      = System.getProperty("postgres.url");
+    private static final String USERNAME = System.getProperty("postgres.username");
+    private static final String PASSWORD = System.getProperty("postgres.password");
+
+    private static Connection connection;
+
+    @BeforeClass
+    public static void connect() throws SQLException {
+        Assume.assumeNotNull(URL);
+        connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL enable_seqscan = off");
+        }
+    }
+
+    @AfterClass
+    public static void disconnect() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    @Test
+    public void startAndFinishTimeFiltersUseIndexes() throws SQLException {
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE g.startTime >= TIMESTAMP '2019-01-01 00:00:00' " +
+                "AND g.startTime <= TIMESTAMP '2019-12-31 00:00:00' ORDER BY g.startTime");
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE g.finishTime >= TIMESTAMP '2019-01-01 00:00:00' " +
+                "AND g.finishTime <= TIMESTAMP '2019-12-31 00:00:00'");
+    }
+
+    @Test
+    public void typeFilterUsesIndex() throws SQLException {
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE g.type IN ('Individual-Competitive', " +
+                "'Team-Friendly') AND g.startTime >= TIMESTAMP '2019-01-01 00:00:00'");
+    }
+
+    @Test
+    public void pendingAndOpenGamesUseIndexes() throws SQLException {
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE g.result IS NULL " +
+                "AND g.startTime >= TIMESTAMP '2019-01-01 00:00:00' ORDER BY g.startTime");
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE g.freePlaces > 0 " +
+                "AND g.startTime >= TIMESTAMP '2019-01-01 00:00:00' ORDER BY g.startTime");
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE g.freePlaces >= 2");
+    }
+
+    @Test
+    public void placeFiltersUseIndexes() throws SQLException {
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE lower(g.city) LIKE lower('Palermo')");
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE lower(g.city) LIKE lower('%Palermo%')");
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE lower(g.state) LIKE lower('%Buenos%')");
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE lower(g.country) LIKE lower('%Argentina%')");
+    }
+
+    @Test
+    public void sportAndTeamFiltersUseIndexes() throws SQLException {
+        assertNoSequentialScan("SELECT g.* FROM games g JOIN teams t ON g.teamName1 = t.teamName " +
+                "WHERE t.sportName IN ('futbol', 'tenis')");
+        assertNoSequentialScan("SELECT g.* FROM games g WHERE g.teamName2 = 'Team 1'");
+    }
+
+    @Test
+    public void userFiltersUseIndexes() throws SQLException {
+        assertNoSequentialScan("SELECT a.* FROM accounts a WHERE a.winRate >= 50 AND a.winRate <= 75");
+        assertNoSequentialScan("SELECT a.* FROM accounts a WHERE a.userName IN ('user1', 'user2')");
+        assertNoSequentialScan("SELECT a.* FROM accounts a WHERE a.imageHash = '" +
+                "0000000000000000000000000000000000000000000000000000000000000000'");
+    }
+
+    private static void assertNoSequentialScan(final String query) throws SQLException {
+        final StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet lines = statement.executeQuery("EXPLAIN " + query)) {
+            while (lines.next()) {
+                plan.append(lines.getString(1)).append('\n');
+            }
+        }
+        Assert.assertFalse(query + "\n" + plan, plan.toString().contains("Seq Scan on games"));
+        Assert.assertFalse(query + "\n" + plan, plan.toString().contains("Seq Scan on accounts"));
+    }
+}
@@ -1,11 +1,14 @@
 package ar.edu.itba.paw.persistence;
 
 import ar.edu.itba.paw.interfaces.GameDao;
+import ar.edu.itba.paw.interfaces.GameParticipantDao;
 import ar.edu.itba.paw.models.*;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
@@ -18,6 +21,8 @@ import javax.persistence.PersistenceContext;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +36,9 @@ public class GameHibernateDaoTest {
     @Autowired
     private GameDao gameDao;
 
+    @Autowired
+    private GameParticipantDao gameParticipantDao;
+
     @PersistenceContext
     private EntityManager em;
 
@@ -114,11 +122,23 @@ public class GameHibernateDaoTest {
                 }
                 em.persist(g.getTeam2());
             }
-            em.persist(g);
+            persistGame(g);
         }
         em.flush();
     }
 
+    private void persistGame(Game game) {
+        em.persist(game);
+        for (User p: game.getTeam1().getPlayers()) {
+            em.persist(new GameParticipant(p.getUserId(), game, GameParticipant.TEAM_1));
+        }
+        if(game.getTeam2() != null) {
+            for (User p : game.getTeam2().getPlayers()) {
+                em.persist(new GameParticipant(p.getUserId(), game, GameParticipant.TEAM_2));
+            }
+        }
+    }
+
     @After
     public void removeAllData() {
         em.createNativeQuery("delete from games");
@@ -128,6 +148,128 @@ public class GameHibernateDaoTest {
         em.createNativeQuery("delete from users");
     }
 
+    @Test
+    public void findGamesStatementCountDoesNotDependOnPageSizeTest() {
+        final Sport football = new Sport("futbol5", 5, "Futbol 5", null);
+        em.persist(football);
+        for (int i = 0; i < 100; i++) {
+            persistGameWithNewTeams(football, i);
+        }
+        em.flush();
+
+        final long smallPageStatements  = countFindGamesStatements(football, 10);
+        final long biggestPageStatements = countFindGamesStatements(football, 100);
+
+        Assert.assertEquals(smallPageStatements, biggestPageStatements);
+    }
+
+    private void persistGameWithNewTeams(final Sport sport, final int number) {
+        persistGameWithNewTeams(sport, number, new Place("Argentina", "Buenos Aires", "Palermo",
+                "Calle " + number), LocalDateTime.parse("2030-01-01T17:00:00").plusDays(number));
+    }
+
+    private void persistGameWithNewTeams(final Sport sport, final int number, final Place place,
+                                         final LocalDateTime startTime) {
+        final List<Team> teams = new ArrayList<>();
+        for (int side = 1; side <= 2; side++) {
+            final PremiumUser leader = new PremiumUser("Leader", "Number " + number, "leader" + number +
+                    "side" + side + "@itba.edu.ar", "leader" + number + "side" + side, null, null,
+                    null, 50, "password", "code", null);
+            em.persist(leader.getUser());
+            em.persist(leader);
+            final User player = new User("Player", "Number " + number, "player" + number + "side" + side +
+                    "@itba.edu.ar");
+            em.persist(player);
+            final Team team = new Team(leader, "T" + number, "Team " + number + " side " + side, false,
+                    sport, null);
+            team.addPlayer(leader.getUser());
+            team.addPlayer(player);
+            em.persist(team);
+            teams.add(team);
+        }
+        em.persist(new Game(teams.get(0), teams.get(1), place, startTime, startTime.plusHours(2),
+                "competitive", null, null, "Game " + number, null));
+    }
+
+    private List<Game> findAllGamesByCursor(final Sport sport, final GameSort sort) {
+        final List<Game> games = new ArrayList<>();
+        Optional<String> after = Optional.of("");
+        while (after.isPresent()) {
+            final Page<Game> page = gameDao.findGames(null, null, null, null,
+                    null, Collections.singletonList(sport.getName()), null, null, null, null,
+                    null, null, null, null, null, null, null,
+                    sort, null, null, false, false, null, 1, GameCursor.from(after.get(), sort).get());
+            games.addAll(page.getData());
+            after = page.getNextPage().flatMap(Page::getAfter);
+        }
+        return games;
+    }
+
+    @Test
+    public void findGamesTestCursorSecondsOfTheSameMinute() {
+        final Sport tennis = new Sport("tennis", 1, "Tennis", null);
+        em.persist(tennis);
+        for (int i = 1; i <= 3; i++) {
+            persistGameWithNewTeams(tennis, i, new Place("Argentina", "Buenos Aires", "Palermo", "Calle " + i),
+                    LocalDateTime.parse("2030-01-01T17:00:00").plusSeconds(10 * i));
+        }
+        em.flush();
+
+        final List<Game> games       = findAllGamesByCursor(tennis, null);
+        final List<Game> sortedGames = findAllGamesByCursor(tennis, new GameSort("startTime desc"));
+
+        Assert.assertEquals(3, games.size());
+        Assert.assertEquals(3, new HashSet<>(games).size());
+        Assert.assertEquals(3, sortedGames.size());
+        Assert.assertEquals(LocalDateTime.parse("2030-01-01T17:00:30"), sortedGames.get(0).getStartTime());
+        Assert.assertEquals(LocalDateTime.parse("2030-01-01T17:00:10"), sortedGames.get(2).getStartTime());
+    }
+
+
+    @Test
+    public void findGamesTestPageOnlyLoadsItsGames() {
+        final Sport football = new Sport("futbol5", 5, "Futbol 5", null);
+        em.persist(football);
+        persistGameWithNewTeams(football, 0);
+        persistGameWithNewTeams(football, 1);
+        // Same team as the first game and same start time as the second one, but left out by the filter
+        final LocalDateTime startTime = LocalDateTime.parse("2030-01-01T17:00:00").plusDays(1);
+        em.persist(new Game(em.find(Team.class, "Team 0 side 1"), em.find(Team.class, "Team 1 side 2"),
+                new Place("Argentina", "Buenos Aires", "Belgrano", "Calle 2"), startTime, startTime.plusHours(2),
+                "competitive", null, null, "Game 2", null));
+        em.flush();
+        em.clear();
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+
+        final List<Game> games = gameDao.findGames(null, null, null, null,
+                null, Collections.singletonList(football.getName()), null, null, null, null,
+                Collections.singletonList("Palermo"), null, null, null, null, null, null,
+                null, null, null, false, false, null, 10, null).getData();
+
+        Assert.assertEquals(2, games.size());
+        Assert.assertEquals(2, statistics.getEntityStatistics(Game.class.getName()).getLoadCount());
+    }
+
+    private long countFindGamesStatements(final Sport sport, final int limit) {
+        em.clear();
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        final List<Game> games = gameDao.findGames(null, null, null, null,
+                null, Collections.singletonList(sport.getName()), null, null, null, null,
+                null, null, null, null, null, null, null,
+                null, null, null, false, false, null, limit, null).getData();
+
+        Assert.assertEquals(limit, games.size());
+        for (Game game : games) {
+            Assert.assertEquals(2, game.getTeam1().getPlayers().size());
+            Assert.assertEquals(2, game.getTeam2().getPlayers().size());
+            game.getTeam1().getLeader().getUser().getFirstName();
+            game.getTeam2().getLeader().getRoles().size();
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
     @Test
     public void createTest() {
 
@@ -155,7 +297,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, null, null,
                 null, null, null, null,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(1,games.size());
         Assert.assertEquals(game1, games.get(0));
@@ -181,7 +323,7 @@ public class GameHibernateDaoTest {
                 10, countries, states, cities, 0,
                 10, null, null,
                 null, null, null, null,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(1,games.size());
         Assert.assertEquals(game1, games.get(0));
@@ -195,7 +337,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, null, null,
                 null, null, null, null,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(3,games.size());
         Assert.assertEquals(game2,games.get(0));
@@ -203,6 +345,91 @@ public class GameHibernateDaoTest {
         Assert.assertEquals(game3,games.get(2));
     }
 
+    @Test
+    public void findGamesTestPage() {
+
+        final Page<Game> page = gameDao.findGames(null, null,
+                null, null, null, null, null,
+                null, null, null, null, null,
+                null, null, null,
+                null, null, null, null,
+                null, false, false, 1, 1, null);
+
+        Assert.assertEquals(3, page.getTotal());
+        Assert.assertEquals(1, page.getData().size());
+        Assert.assertEquals(game1, page.getData().get(0));
+        Assert.assertTrue(page.getNextPage().isPresent());
+        Assert.assertTrue(page.getPrevPage().isPresent());
+    }
+
+    @Test
+    public void findGamesTestCursor() {
+
+        final Page<Game> firstPage = gameDao.findGames(null, null,
+                null, null, null, null, null,
+                null, null, null, null, null,
+                null, null, null,
+                null, null, null, null,
+                null, false, false, null, 2, GameCursor.from("", null).get());
+
+        Assert.assertEquals(2, firstPage.getData().size());
+        Assert.assertEquals(game2, firstPage.getData().get(0));
+        Assert.assertEquals(game1, firstPage.getData().get(1));
+        Assert.assertFalse(firstPage.getPrevPage().isPresent());
+        final String after = firstPage.getNextPage().get().getAfter().get();
+
+        final Page<Game> secondPage = gameDao.findGames(null, null,
+                null, null, null, null, null,
+                null, null, null, null, null,
+                null, null, null,
+                null, null, null, null,
+                null, false, false, null, 2, GameCursor.from(after, null).get());
+
+        Assert.assertEquals(1, secondPage.getData().size());
+        Assert.assertEquals(game3, secondPage.getData().get(0));
+        Assert.assertFalse(secondPage.getNextPage().isPresent());
+    }
+
+    @Test
+    public void findGamesTestCursorSort() {
+        final GameSort sort = new GameSort("country asc,state asc");
+        final List<Game> games = new ArrayList<>();
+        Optional<String> after = Optional.of("");
+
+        while (after.isPresent()) {
+            final Page<Game> page = gameDao.findGames(null, null,
+                    null, null, null, null, null,
+                    null, null, null, null, null,
+                    null, null, null,
+                    null, null, sort, null,
+                    null, false, false, null, 1, GameCursor.from(after.get(), sort).get());
+            games.addAll(page.getData());
+            after = page.getNextPage().flatMap(Page::getAfter);
+        }
+
+        Assert.assertEquals(3,games.size());
+        Assert.assertEquals(game1,games.get(0));
+        Assert.assertEquals(game3,games.get(1));
+        Assert.assertEquals(game2,games.get(2));
+    }
+
+    @Test
+    public void recountPlacesTest() {
+
+        final int fixedGames = gameDao.recountPlaces();
+        final List<Game> games = gameDao.findGames(null, null,
+                null, null, null, null, null,
+                null, null, null, null, 10,
+                null, null, null,
+                null, null, null, null,
+                null, false, false, null, null, null).getData();
+
+        Assert.assertEquals(3, fixedGames);
+        Assert.assertEquals(0, gameDao.recountPlaces());
+        Assert.assertEquals(1, games.size());
+        Assert.assertEquals(game3, games.get(0));
+    }
+
     @Test
     public void findGamesTestSort() {
 
@@ -211,7 +438,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, null, null,
                 null, null, new GameSort("country asc,state asc"),
-                null, null, false, false);
+                null, null, false, false, null, null, null).getData();
 
 
         Assert.assertEquals(3,games.size());
@@ -230,7 +457,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, null, usernamesNotInclude,
                 null, null, null, null,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(2,games.size());
         Assert.assertEquals(game1, games.get(0));
@@ -239,7 +466,7 @@ public class GameHibernateDaoTest {
 
     @Test
     public void findGamesTestGamesAUserIsPartOfButIsNotCreator() {
-        em.persist(gameNotInserted);
+        persistGame(gameNotInserted);
 
         List<String> usernames = new ArrayList<>();
         usernames.add(account1.getUserName());
@@ -248,7 +475,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, usernames, null,
                 null, usernames, null, null,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(1,games.size());
         Assert.assertEquals(gameNotInserted, games.get(0));
@@ -256,7 +483,7 @@ public class GameHibernateDaoTest {
 
     @Test
     public void findGamesTestGamesAUserCreate() {
-        em.persist(gameNotInserted);
+        persistGame(gameNotInserted);
 
         List<String> usernames = new ArrayList<>();
         usernames.add(account1.getUserName());
@@ -265,7 +492,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, null, null,
                 usernames, null, null, null,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(2,games.size());
         Assert.assertEquals(game2, games.get(0));
@@ -274,7 +501,7 @@ public class GameHibernateDaoTest {
 
     @Test
     public void findGamesTestIsApartOf() {
-        em.persist(gameNotInserted);
+        persistGame(gameNotInserted);
 
         List<String> usernamesInclude = new ArrayList<>();
         usernamesInclude.add(account1.getUserName());
@@ -283,7 +510,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, usernamesInclude, null,
                 null, null, null, null,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(2,games.size());
         Assert.assertEquals(game2, games.get(0));
@@ -294,14 +521,15 @@ public class GameHibernateDaoTest {
     public void findGamesTestOnlyFriends() {
         account2.getFriends().add(account1);
         em.persist(account2);
-        em.persist(gameNotInserted);
+        persistGame(gameNotInserted);
+        gameParticipantDao.addLikedUserGames(account2.getUserName(), account1.getUserName());
 
         final List<Game> games = gameDao.findGames(null, null,
                 null, null, null, null, null,
                 null, null, null, null, null,
                 null, null, null,
                 null, null, null, null,
-                account2.getUserName(), true, false);
+                account2.getUserName(), true, false, null, null, null).getData();
 
         Assert.assertEquals(2,games.size());
         Assert.assertEquals(game2, games.get(0));
@@ -312,14 +540,14 @@ public class GameHibernateDaoTest {
     public void findGamesTestOnlyLikedSport() {
         account2.getLikes().add(sport);
         em.persist(account2);
-        em.persist(gameNotInserted);
+        persistGame(gameNotInserted);
 
         final List<Game> games = gameDao.findGames(null, null,
                 null, null, null, null, null,
                 null, null, null, null, null,
                 null, null, null,
                 null, null, null, null,
-                account2.getUserName(), false, true);
+                account2.getUserName(), false, true, null, null, null).getData();
 
         Assert.assertEquals(3,games.size());
         Assert.assertEquals(game2, games.get(0));
@@ -335,7 +563,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, null, null,
                 null, null, null, true,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(1,games.size());
         Assert.assertEquals(game1, games.get(0));
@@ -348,7 +576,7 @@ public class GameHibernateDaoTest {
                 null, null, null, null, null,
                 null, null, null,
                 null, null, null, false,
-                null, false, false);
+                null, false, false, null, null, null).getData();
 
         Assert.assertEquals(2,games.size());
         Assert.assertEquals(game2, games.get(0));
@@ -0,0 +1,121 @@
+package ar.edu.itba.paw.persistence;
+
+import ar.edu.itba.paw.interfaces.GameParticipantDao;
+import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.GameParticipant;
+import ar.edu.itba.paw.models.Place;
+import ar.edu.itba.paw.models.PremiumUser;
+import ar.edu.itba.paw.models.Sport;
+import ar.edu.itba.paw.models.Team;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestConfig.class)
+@Sql("classpath:schema.sql")
+@Transactional
+public class GameParticipantHibernateDaoTest {
+
+    @Autowired
+    private GameParticipantDao gameParticipantDao;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final PremiumUser liker;
+
+    private final PremiumUser player;
+
+    private final Game game;
+
+    public GameParticipantHibernateDaoTest() {
+        Sport sport = new Sport("baloncesto", 5, "Baloncesto", null);
+        liker       = new PremiumUser("Agustin", "Dammiano", "dammiano98@itba.edu.ar",
+                        "dammiano98", "92262123", LocalDate.parse("1998-06-05"),
+                        null, 50,"321dammiano_aguistin123", "admin", null);
+        player      = new PremiumUser("Agustin", "Izaguirre", "elIza@itba.edu.ar",
+                        "Docker", "92358122", LocalDate.parse("1990-10-04"),
+                        null, 50,"321dammiano_aguistin123", "admin", null);
+        Team team   = new Team(player, "C.A.R.", "Club Atletico River", false, sport, null);
+        game        = new Game(team, null, new Place("Argentina", "Buenos Aires",
+                        "Ciudad autonoma de Buenos Aires", "Larea 1058"), LocalDateTime.parse("2018-11-11T17:00:00"),
+                        LocalDateTime.parse("2018-11-11T19:00:00"), "competitive", null,
+                        null, "La final", null);
+    }
+
+    @Before
+    public void initializeDatabase() {
+        em.persist(game.getTeam1().getSport());
+        em.persist(liker.getUser());
+        em.persist(liker);
+        em.persist(player.getUser());
+        em.persist(player);
+        em.persist(game.getTeam1());
+        em.persist(game);
+        em.flush();
+    }
+
+    @Test
+    public void testAddParticipantOfLikedUser() {
+        likePlayer();
+
+        gameParticipantDao.addParticipant(player.getUser().getUserId(), game, GameParticipant.TEAM_1);
+
+        Assert.assertEquals(1, countParticipants());
+        Assert.assertEquals(1, countLikedUsersGames());
+    }
+
+    @Test
+    public void testRemoveParticipantOfLikedUser() {
+        likePlayer();
+        gameParticipantDao.addParticipant(player.getUser().getUserId(), game, GameParticipant.TEAM_1);
+
+        gameParticipantDao.removeParticipant(player.getUser().getUserId(), game, GameParticipant.TEAM_1);
+
+        Assert.assertEquals(0, countParticipants());
+        Assert.assertEquals(0, countLikedUsersGames());
+    }
+
+    @Test
+    public void testAddAndRemoveLikedUserGames() {
+        gameParticipantDao.addParticipant(player.getUser().getUserId(), game, GameParticipant.TEAM_1);
+        Assert.assertEquals(0, countLikedUsersGames());
+
+        likePlayer();
+        gameParticipantDao.addLikedUserGames(liker.getUserName(), player.getUserName());
+        Assert.assertEquals(1, countLikedUsersGames());
+
+        gameParticipantDao.removeLikedUserGames(liker.getUserName(), player.getUserName());
+        Assert.assertEquals(0, countLikedUsersGames());
+    }
+
+    private void likePlayer() {
+        liker.getFriends().add(player);
+        em.merge(liker);
+        em.flush();
+    }
+
+    private long countParticipants() {
+        return em.createQuery("SELECT count(gp.primaryKey.userId) FROM GameParticipant gp", Long.class)
+                .getSingleResult();
+    }
+
+    private long countLikedUsersGames() {
+        return em.createQuery("SELECT count(lg.primaryKey.likedUserId) FROM LikedUserGame lg " +
+                "WHERE lg.primaryKey.userName = :username", Long.class)
+                .setParameter("username", liker.getUserName())
+                .getSingleResult();
+    }
+}
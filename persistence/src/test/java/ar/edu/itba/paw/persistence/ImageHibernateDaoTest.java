@@ -0,0 +1,121 @@
+package ar.edu.itba.paw.persistence;
+
+import ar.edu.itba.paw.models.Image;
+import ar.edu.itba.paw.models.Place;
+import ar.edu.itba.paw.models.PremiumUser;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestConfig.class)
+@Sql("classpath:schema.sql")
+@Transactional
+public class ImageHibernateDaoTest {
+
+    private static final byte[] CONTENT       = "image content".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OTHER_CONTENT = "other image content".getBytes(StandardCharsets.UTF_8);
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    private ImageHibernateDao imageDao;
+
+    @Test
+    public void testCreateAndRead() {
+        //exercise class
+        String hash = imageDao.create(CONTENT);
+        Optional<byte[]> content = imageDao.read(hash);
+
+        //postconditions
+        Assert.assertEquals(Image.hashOf(CONTENT), hash);
+        Assert.assertTrue(content.isPresent());
+        Assert.assertArrayEquals(CONTENT, content.get());
+    }
+
+    @Test
+    public void testEqualContentIsStoredOnce() {
+        //exercise class
+        String firstHash  = imageDao.create(CONTENT);
+        String secondHash = imageDao.create(CONTENT.clone());
+        String otherHash  = imageDao.create(OTHER_CONTENT);
+
+        //postconditions
+        Assert.assertEquals(firstHash, secondHash);
+        Assert.assertNotEquals(firstHash, otherHash);
+        Assert.assertEquals(2L, (long) em.createQuery("SELECT count(i) FROM Image as i", Long.class)
+                .getSingleResult());
+    }
+
+    @Test
+    public void testInsertOfAStoredImageKeepsTheTransaction() {
+        //set up
+        String hash = imageDao.create(CONTENT);
+
+        //exercise class
+        boolean inserted = imageDao.insert(hash, CONTENT);
+
+        //postconditions
+        Assert.assertFalse(inserted);
+        Assert.assertTrue(imageDao.read(hash).isPresent());
+    }
+
+    @Test
+    public void testReadNonExistantImage() {
+        Assert.assertFalse(imageDao.read(Image.hashOf(CONTENT)).isPresent());
+    }
+
+    @Test
+    public void testExists() {
+        //set up
+        String hash = imageDao.create(CONTENT);
+
+        //postconditions
+        Assert.assertTrue(imageDao.exists(hash));
+        Assert.assertFalse(imageDao.exists(Image.hashOf(OTHER_CONTENT)));
+    }
+
+    @Test
+    public void testRemoveUnusedImage() {
+        //set up
+        String hash = imageDao.create(CONTENT);
+
+        //exercise class
+        List<String> removed = imageDao.removeUnused(10);
+
+        //postconditions
+        Assert.assertEquals(Collections.singletonList(hash), removed);
+        Assert.assertFalse(imageDao.read(hash).isPresent());
+    }
+
+    @Test
+    public void testImageInUseIsNotRemoved() {
+        //set up
+        String hash = imageDao.create(CONTENT);
+        em.persist(new PremiumUser("Agustin", "Dammiano", "adammiano@itba.edu.ar", "dammiano98",
+                "22443311", LocalDate.parse("1998-06-05"), new Place("Argentina", "Buenos Aires",
+                "La Plata", "La plata 123"), 100, "agustin123", "code", hash));
+        em.flush();
+
+        //exercise class
+        List<String> removed = imageDao.removeUnused(10);
+
+        //postconditions
+        Assert.assertTrue(removed.isEmpty());
+        Assert.assertTrue(imageDao.read(hash).isPresent());
+    }
+}
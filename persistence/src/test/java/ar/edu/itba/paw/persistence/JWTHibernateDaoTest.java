@@ -61,17 +61,17 @@ public class JWTHibernateDaoTest {
     public void addToBlacklistTest() {
 
         final JWT jwtcreated = jwtHibernateDao
-                .addBlacklist(jwtNotInserted.getToken(), jwtNotInserted.getExpiry());
+                .addBlacklist(jwtNotInserted.getTokenHash(), jwtNotInserted.getExpiry());
 
         Assert.assertEquals(jwtNotInserted, jwtcreated);
-        Assert.assertEquals(jwtNotInserted.getToken(), jwtcreated.getToken());
+        Assert.assertEquals(jwtNotInserted.getTokenHash(), jwtcreated.getTokenHash());
         Assert.assertEquals(jwtNotInserted.getExpiry(), jwtcreated.getExpiry());
     }
 
     @Test
     public void isInBlackListTest() {
 
-        final boolean inBlacklist = jwtHibernateDao.isInBlacklist(jwt.getToken());
+        final boolean inBlacklist = jwtHibernateDao.isInBlacklist(jwt.getTokenHash());
 
         Assert.assertTrue(inBlacklist);
     }
@@ -79,7 +79,7 @@ public class JWTHibernateDaoTest {
     @Test
     public void isNotInBlackListTest() {
 
-        final boolean inBlacklist = jwtHibernateDao.isInBlacklist(jwtNotInserted.getToken());
+        final boolean inBlacklist = jwtHibernateDao.isInBlacklist(jwtNotInserted.getTokenHash());
 
         Assert.assertFalse(inBlacklist);
     }
@@ -94,16 +94,46 @@ public class JWTHibernateDaoTest {
             auxHave = jwtInDatabase.get(i);
             auxWant = jwts.get(i);
             Assert.assertEquals(auxWant, auxHave);
-            Assert.assertEquals(auxWant.getToken(), auxHave.getToken());
+            Assert.assertEquals(auxWant.getTokenHash(), auxHave.getTokenHash());
             Assert.assertEquals(auxWant.getExpiry(), auxHave.getExpiry());
         }
     }
 
+    @Test
+    public void findTokenHashesExpiringAfterTest() {
+
+        final List<String> tokenHashes = jwtHibernateDao
+                .findTokenHashesExpiringAfter(LocalDateTime.parse("2020-01-01T00:00:00"));
+
+        Assert.assertEquals(2, tokenHashes.size());
+        Assert.assertTrue(tokenHashes.contains(jwts.get(1).getTokenHash()));
+        Assert.assertTrue(tokenHashes.contains(jwts.get(2).getTokenHash()));
+    }
+
+    @Test
+    public void deleteExpiredBeforeTest() {
+
+        final int deletedFirstBatch = jwtHibernateDao
+                .deleteExpiredBefore(LocalDateTime.parse("2021-01-01T00:00:00"), 1);
+        final int deletedSecondBatch = jwtHibernateDao
+                .deleteExpiredBefore(LocalDateTime.parse("2021-01-01T00:00:00"), 1);
+        final int deletedThirdBatch = jwtHibernateDao
+                .deleteExpiredBefore(LocalDateTime.parse("2021-01-01T00:00:00"), 1);
+        em.clear();
+
+        Assert.assertEquals(1, deletedFirstBatch);
+        Assert.assertEquals(1, deletedSecondBatch);
+        Assert.assertEquals(0, deletedThirdBatch);
+        final List<JWT> jwtInDatabase = jwtHibernateDao.getAll();
+        Assert.assertEquals(1, jwtInDatabase.size());
+        Assert.assertEquals(jwts.get(1), jwtInDatabase.get(0));
+    }
+
     @Test
     public void isNotInBlackListAndBlackListIsEmptyTest() {
         removeAllData();
 
-        final boolean inBlacklist = jwtHibernateDao.isInBlacklist(jwtNotInserted.getToken());
+        final boolean inBlacklist = jwtHibernateDao.isInBlacklist(jwtNotInserted.getTokenHash());
 
         Assert.assertFalse(inBlacklist);
     }
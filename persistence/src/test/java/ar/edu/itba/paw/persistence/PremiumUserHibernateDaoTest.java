@@ -1,10 +1,16 @@
 package ar.edu.itba.paw.persistence;
 
+import ar.edu.itba.paw.exceptions.notfound.UserNotFoundException;
+import ar.edu.itba.paw.models.AuthUser;
+import ar.edu.itba.paw.models.Image;
+import ar.edu.itba.paw.models.Page;
 import ar.edu.itba.paw.models.Place;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Role;
 import ar.edu.itba.paw.models.Sport;
 import ar.edu.itba.paw.models.UserSort;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -21,8 +27,11 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +51,9 @@ public class PremiumUserHibernateDaoTest implements Serializable{
     @Autowired
     private PremiumUserHibernateDao premiumUserDao;
 
+    @Autowired
+    private ImageHibernateDao imageDao;
+
     private PremiumUser notInsertedUser;
 
     private PremiumUser user1;
@@ -147,6 +159,40 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         Assert.assertTrue(returnedValue.get().equals(user1));
     }
 
+    @Test
+    public void testFindAuthUser() {
+        //set up
+        Role userRole  = new Role("ROLE_USER", 0);
+        Role adminRole = new Role("ROLE_ADMIN", 1);
+        em.persist(userRole);
+        em.persist(adminRole);
+        user1.getRoles().add(userRole);
+        user1.getRoles().add(adminRole);
+        em.flush();
+
+        //exercise class
+        Optional<AuthUser> returnedValue = premiumUserDao.findAuthUser(user1.getUserName());
+
+        //postconditions
+        Assert.assertTrue(returnedValue.isPresent());
+        Assert.assertEquals(user1.getUserName(), returnedValue.get().getUserName());
+        Assert.assertEquals(user1.getPassword(), returnedValue.get().getPassword());
+        Assert.assertFalse(returnedValue.get().isEnabled());
+        Assert.assertEquals(2, returnedValue.get().getRoles().size());
+        Assert.assertTrue(returnedValue.get().getRoles().contains("ROLE_ADMIN"));
+    }
+
+    @Test
+    public void testFindAuthUserWithoutRoles() {
+        //exercise class
+        Optional<AuthUser> returnedValue = premiumUserDao.findAuthUser(user2.getUserName());
+
+        //postconditions
+        Assert.assertTrue(returnedValue.isPresent());
+        Assert.assertTrue(returnedValue.get().getRoles().isEmpty());
+        Assert.assertFalse(premiumUserDao.findAuthUser(notInsertedUser.getUserName()).isPresent());
+    }
+
     @Test
     public void testCreatePremiumUser() throws IOException {
 
@@ -200,6 +246,41 @@ public class PremiumUserHibernateDaoTest implements Serializable{
 
     }
 
+    @Test
+    public void testFindImageHash() {
+        //exercise class
+        Optional<String> imageHash = premiumUserDao.findImageHash(user1.getUserName());
+
+        //postconditions
+        Assert.assertFalse(imageHash.isPresent());
+    }
+
+    @Test(expected = UserNotFoundException.class)
+    public void testFindImageHashOfNonExistentUser() {
+        premiumUserDao.findImageHash("nonExistentUser");
+    }
+
+    @Test
+    public void testReplacedImageIsRemovedAsUnused() throws IOException {
+        //set up
+        byte[] oldImage = "old image".getBytes(StandardCharsets.UTF_8);
+        byte[] newImage = "new image".getBytes(StandardCharsets.UTF_8);
+        premiumUserDao.updateUserInfo(null, null, null, null, null, null, null, null,
+                null, null, null, null, oldImage, user1.getUserName());
+
+        //exercise class
+        premiumUserDao.updateUserInfo(null, null, null, null, null, null, null, null,
+                null, null, null, null, newImage, user1.getUserName());
+        List<String> removed = imageDao.removeUnused(10);
+        Optional<byte[]> image = premiumUserDao.readImage(user1.getUserName());
+
+        //postconditions
+        Assert.assertTrue(image.isPresent());
+        Assert.assertArrayEquals(newImage, image.get());
+        Assert.assertEquals(Collections.singletonList(Image.hashOf(oldImage)), removed);
+        Assert.assertNull(em.find(Image.class, Image.hashOf(oldImage)));
+    }
+
     @Test
     public void testupdateUserInfo() throws IOException {
         //exercise class
@@ -383,13 +464,39 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         Assert.assertTrue(returnedValue.get().equals(notInsertedUser));
     }
 
+    @Test
+    public void testFindUsersByIds() {
+        //set up
+        Role role = new Role("ROLE_USER", 0);
+        em.persist(role);
+        user1.getRoles().add(role);
+        em.flush();
+        em.clear();
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+
+        //exercise class
+        List<PremiumUser> returnedValue = premiumUserDao.findByIds(Arrays.asList(user1.getUser().getUserId(),
+                user2.getUser().getUserId(), user3.getUser().getUserId()));
+
+        //postconditions
+        // The accounts and then the roles of all of them in one batch
+        Assert.assertEquals(2, statistics.getPrepareStatementCount());
+        Assert.assertEquals(Collections.singleton(role), returnedValue.get(returnedValue.indexOf(user1)).getRoles());
+        Assert.assertEquals(3, returnedValue.size());
+        Assert.assertTrue(returnedValue.contains(user1));
+        Assert.assertTrue(returnedValue.contains(user2));
+        Assert.assertTrue(returnedValue.contains(user3));
+        Assert.assertTrue(premiumUserDao.findByIds(Collections.emptyList()).isEmpty());
+    }
+
     @Test
     public void testFindListOfUserWithoutFilter() {
 
         //exercise class
         List<PremiumUser> usersReturn = premiumUserDao.findUsers(null, null, null,
                 null, null, null, null, null,
-                false);
+                false, null, null).getData();
 
         //postconditions
         Assert.assertEquals(users.size(), usersReturn.size());
@@ -408,7 +515,7 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         //exercise class
         List<PremiumUser> usersReturn = premiumUserDao.findUsers(null, null, usernamesFriends,
                 null, null, null, null,
-                new UserSort("reputation asc"), true);
+                new UserSort("reputation asc"), true, null, null).getData();
 
         //postconditions
         Assert.assertEquals(1, usersReturn.size());
@@ -424,7 +531,7 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         //exercise class
         List<PremiumUser> usersReturn = premiumUserDao.findUsers(null, likedSports, null,
                 null, null, null, null,
-                new UserSort("reputation asc"), false);
+                new UserSort("reputation asc"), false, null, null).getData();
 
         //postconditions
         Assert.assertEquals(2, usersReturn.size());
@@ -432,6 +539,24 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         Assert.assertEquals(user4, usersReturn.get(1));
     }
 
+    @Test
+    public void testFindPageOfUserWithFilterBySeveralSports() {
+        //set up
+        List<String> likedSports = new ArrayList<>();
+        likedSports.add(user1.getLikes().get(0).getName());
+        likedSports.add(user1.getLikes().get(1).getName());
+
+        //exercise class
+        Page<PremiumUser> usersReturn = premiumUserDao.findUsers(null, likedSports, null,
+                null, null, null, null,
+                new UserSort("reputation asc"), false, 1, 1);
+
+        //postconditions
+        Assert.assertEquals(2, usersReturn.getTotal());
+        Assert.assertEquals(1, usersReturn.getData().size());
+        Assert.assertEquals(user4, usersReturn.getData().get(0));
+    }
+
     @Test
     public void testFindListOfUserWithFilterByUsernameAndSort() {
         //set up
@@ -442,7 +567,7 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         //exercise class
         List<PremiumUser> usersReturn = premiumUserDao.findUsers(usernames, null, null,
                 null, null, null, null,
-                new UserSort("reputation asc"), true);
+                new UserSort("reputation asc"), true, null, null).getData();
 
         //postconditions
         Assert.assertEquals(2, usersReturn.size());
@@ -460,7 +585,7 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         //exercise class
         List<PremiumUser> usersReturn = premiumUserDao.findUsers(usernames, null, null,
                 null, null, null, null,
-                new UserSort("reputation asc"), false);
+                new UserSort("reputation asc"), false, null, null).getData();
 
         //postconditions
         Assert.assertEquals(2, usersReturn.size());
@@ -474,7 +599,7 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         //exercise class
         List<PremiumUser> usersReturn = premiumUserDao.findUsers(null, null, null,
                 30, 200, null, null,
-                new UserSort("reputation desc"), false);
+                new UserSort("reputation desc"), false, null, null).getData();
 
         //postconditions
         Assert.assertEquals(2, usersReturn.size());
@@ -482,6 +607,26 @@ public class PremiumUserHibernateDaoTest implements Serializable{
         Assert.assertEquals(user3, usersReturn.get(1));
     }
 
+    @Test
+    public void testFindListOfUserWithFilterByWinRateAndSort() {
+        //set up
+        user1.setWinRate(50);
+        user2.setWinRate(75);
+        user3.setWinRate(100);
+        user4.setWinRate(20);
+        em.flush();
+
+        //exercise class
+        List<PremiumUser> usersReturn = premiumUserDao.findUsers(null, null, null,
+                null, null, 40, 100,
+                new UserSort("winRate desc"), false, null, null).getData();
+
+        //postconditions
+        Assert.assertEquals(2, usersReturn.size());
+        Assert.assertEquals(user2, usersReturn.get(0));
+        Assert.assertEquals(user1, usersReturn.get(1));
+    }
+
     @Test
     public void testAddLikedUser() {
 
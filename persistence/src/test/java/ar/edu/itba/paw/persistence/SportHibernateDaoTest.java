@@ -161,6 +161,22 @@ public class SportHibernateDaoTest {
         Assert.assertEquals(sport, sportsResult.get(0));
     }
 
+    @Test
+    public void testGetAllSportsBySeveralSportNames() {
+        //Set up
+        List<String> sportnames = new ArrayList<>();
+        sportnames.add(sport.getName());
+        sportnames.add(sports.get(1).getName());
+        sportnames.add(sportNotInserted.getName());
+
+        //exercise class
+        List<Sport> sportsResult = sportDao.findSports(sportnames, null, null, null);
+
+        //postconditions
+        Assert.assertEquals(2, sportsResult.size());
+        Assert.assertTrue(sportsResult.containsAll(sports));
+    }
+
     @Test
     public void testGetAllSportsByQuantity() {
 
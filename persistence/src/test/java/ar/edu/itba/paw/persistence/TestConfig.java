@@ -39,6 +39,10 @@ public class TestConfig {
         factoryBean.setJpaVendorAdapter(vendorAdapter);
         final Properties properties = new Properties();
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.HSQLDialect");
+        properties.setProperty("hibernate.batch_fetch_style", "PADDED");
+        // Every test rolls back, entities cached from its data would leak into the next one
+        properties.setProperty("hibernate.cache.use_second_level_cache", "false");
+        properties.setProperty("hibernate.generate_statistics", "true");
         factoryBean.setJpaProperties(properties);
         return factoryBean;
     }
@@ -0,0 +1,168 @@
+package ar.edu.itba.paw.persistence;
+
+import ar.edu.itba.paw.interfaces.GameParticipantDao;
+import ar.edu.itba.paw.interfaces.UserStatsDao;
+import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.LeaderboardEntry;
+import ar.edu.itba.paw.models.Place;
+import ar.edu.itba.paw.models.PremiumUser;
+import ar.edu.itba.paw.models.Sport;
+import ar.edu.itba.paw.models.Team;
+import ar.edu.itba.paw.models.UserStats;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestConfig.class)
+@Sql("classpath:schema.sql")
+@Transactional
+public class UserStatsHibernateDaoTest {
+
+    @Autowired
+    private UserStatsDao userStatsDao;
+
+    @Autowired
+    private GameParticipantDao gameParticipantDao;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final PremiumUser player1;
+
+    private final PremiumUser player2;
+
+    private final Game game;
+
+    public UserStatsHibernateDaoTest() {
+        Sport sport = new Sport("baloncesto", 1, "Baloncesto", null);
+        player1     = new PremiumUser("Agustin", "Dammiano", "dammiano98@itba.edu.ar",
+                        "dammiano98", "92262123", LocalDate.parse("1998-06-05"),
+                        null, 50,"321dammiano_aguistin123", "admin", null);
+        player2     = new PremiumUser("Agustin", "Izaguirre", "elIza@itba.edu.ar",
+                        "Docker", "92358122", LocalDate.parse("1990-10-04"),
+                        null, 50,"321dammiano_aguistin123", "admin", null);
+        Team team1  = new Team(player1, "C.A.R.", "Club Atletico River", false, sport, null);
+        Team team2  = new Team(player2, "C.A.B.J.", "Club Atletico Boca Juniors", false, sport, null);
+        game        = new Game(team1, team2, new Place("Argentina", "Buenos Aires",
+                        "Ciudad autonoma de Buenos Aires", "Larea 1058"), LocalDateTime.parse("2018-11-11T17:00:00"),
+                        LocalDateTime.parse("2018-11-11T19:00:00"), "Individual-Competitive", null,
+                        null, "La final", null);
+    }
+
+    @Before
+    public void initializeDatabase() {
+        em.persist(game.getTeam1().getSport());
+        em.persist(player1.getUser());
+        em.persist(player1);
+        em.persist(player2.getUser());
+        em.persist(player2);
+        game.getTeam1().getPlayers().add(player1.getUser());
+        game.getTeam2().getPlayers().add(player2.getUser());
+        em.persist(game.getTeam1());
+        em.persist(game.getTeam2());
+        em.persist(game);
+        em.flush();
+        gameParticipantDao.setParticipants(game);
+    }
+
+    @Test
+    public void testAddResult() {
+        game.setResult("3-1");
+
+        userStatsDao.addResult(game, 3, 1);
+        userStatsDao.addResult(game, 2, 2);
+
+        UserStats statsPlayer1 = findStats(player1);
+        UserStats statsPlayer2 = findStats(player2);
+        Assert.assertEquals(2, statsPlayer1.getPlayed());
+        Assert.assertEquals(1, statsPlayer1.getWins());
+        Assert.assertEquals(1, statsPlayer1.getDraws());
+        Assert.assertEquals(0, statsPlayer1.getLosses());
+        Assert.assertEquals(2, statsPlayer2.getPlayed());
+        Assert.assertEquals(0, statsPlayer2.getWins());
+        Assert.assertEquals(1, statsPlayer2.getDraws());
+        Assert.assertEquals(1, statsPlayer2.getLosses());
+        Assert.assertEquals(100, statsPlayer1.getWinRate(), 0.00001);
+        Assert.assertEquals(100, player1.getWinRate(), 0.00001);
+        Assert.assertEquals(0, player2.getWinRate(), 0.00001);
+    }
+
+    @Test
+    public void testAddResultQueriesOnceForAllPlayers() {
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+
+        userStatsDao.addResult(game, 3, 1);
+
+        Assert.assertEquals(2, statistics.getQueryExecutionCount());
+        Assert.assertEquals(100, player1.getWinRate(), 0.00001);
+        Assert.assertEquals(0, player2.getWinRate(), 0.00001);
+    }
+
+    @Test
+    public void testRebuild() {
+        userStatsDao.addResult(game, 0, 5);
+        game.setResult("3-1");
+        em.flush();
+
+        int rebuiltStats = userStatsDao.rebuild(game.getTeam1().getSport().getName());
+        em.clear();
+
+        UserStats statsPlayer1 = findStats(player1);
+        UserStats statsPlayer2 = findStats(player2);
+        Assert.assertEquals(2, rebuiltStats);
+        Assert.assertEquals(1, statsPlayer1.getPlayed());
+        Assert.assertEquals(1, statsPlayer1.getWins());
+        Assert.assertEquals(0, statsPlayer1.getLosses());
+        Assert.assertEquals(1, statsPlayer2.getPlayed());
+        Assert.assertEquals(0, statsPlayer2.getWins());
+        Assert.assertEquals(1, statsPlayer2.getLosses());
+        Assert.assertEquals(0, statsPlayer2.getWinRate(), 0.00001);
+    }
+
+    @Test
+    public void testRefreshWinRates() {
+        userStatsDao.addResult(game, 0, 5);
+        game.setResult("3-1");
+        userStatsDao.rebuild(game.getTeam1().getSport().getName());
+
+        int refreshedAccounts = userStatsDao.refreshWinRates();
+        em.clear();
+
+        Assert.assertEquals(2, refreshedAccounts);
+        Assert.assertEquals(100, em.find(PremiumUser.class, player1.getUserName()).getWinRate(), 0.00001);
+        Assert.assertEquals(0, em.find(PremiumUser.class, player2.getUserName()).getWinRate(), 0.00001);
+    }
+
+    @Test
+    public void testFindLeaderboard() {
+        List<LeaderboardEntry> updatedEntries = userStatsDao.addResult(game, 3, 1);
+
+        List<LeaderboardEntry> entries = userStatsDao.findLeaderboard(game.getTeam1().getSport().getName());
+
+        Assert.assertEquals(2, updatedEntries.size());
+        Assert.assertEquals(2, entries.size());
+        Assert.assertTrue(entries.containsAll(updatedEntries));
+    }
+
+    private UserStats findStats(final PremiumUser player) {
+        List<UserStats> stats = userStatsDao.findByUserId(player.getUser().getUserId());
+        Assert.assertEquals(1, stats.size());
+        return stats.get(0);
+    }
+}
@@ -6,15 +6,22 @@ CREATE SEQUENCE jwtIdSeq START WITH 1 INCREMENT BY 1 NO MINVALUE NO MAXVALUE;
 
 CREATE TABLE IF NOT EXISTS Blacklist(
   id INT PRIMARY KEY,
-  token VARCHAR(500) NOT NULL,
+  tokenHash VARCHAR(64) NOT NULL UNIQUE,
   expiry TIMESTAMP NOT NULL
 );
 
+CREATE INDEX blacklistExpiryIndex ON Blacklist(expiry);
+
+CREATE TABLE IF NOT EXISTS images(
+  hash      VARCHAR(64) PRIMARY KEY,
+  content   BLOB NOT NULL
+);
+
 CREATE TABLE IF NOT EXISTS sports(
   sportName       VARCHAR(100) PRIMARY KEY,
   playerQuantity  INTEGER,
   displayName     VARCHAR(100),
-  imageSport      BLOB
+  imageHash       VARCHAR(64) REFERENCES images(hash)
 );
 
 CREATE TABLE IF NOT EXISTS users(
@@ -34,12 +41,13 @@ CREATE TABLE IF NOT EXISTS accounts(
   city        VARCHAR(100),
   street      VARCHAR(100),
   reputation  INTEGER,
+  winRate     DOUBLE DEFAULT 0 NOT NULL,
   cellphone   VARCHAR(100),
   birthday    DATE,
   role        VARCHAR (100),
   enabled     BOOLEAN,
   code        VARCHAR(100) NOT NULL,
-  image       BLOB,
+  imageHash   VARCHAR(64) REFERENCES images(hash),
   UNIQUE(email)
 );
 
@@ -58,7 +66,7 @@ CREATE TABLE IF NOT EXISTS teams(
   leaderName  VARCHAR(100) REFERENCES accounts(userName) ON DELETE CASCADE ON UPDATE CASCADE,
   isTemp      INTEGER NOT NULL,
   sportName   VARCHAR (100) NOT NULL,
-  image       BLOB,
+  imageHash   VARCHAR(64) REFERENCES images(hash),
   FOREIGN KEY (sportName) REFERENCES sports(sportName) ON DELETE CASCADE ON UPDATE CASCADE
   --Filters--
 );
@@ -103,12 +111,47 @@ CREATE TABLE IF NOT EXISTS games (
   tornamentName VARCHAR(100),
   description   VARCHAR(140),
   title         VARCHAR(100),
+  occupiedPlaces INTEGER DEFAULT 0 NOT NULL,
+  freePlaces    INTEGER DEFAULT 0 NOT NULL,
   FOREIGN KEY (teamName1) REFERENCES teams(teamName) ON DELETE CASCADE ON UPDATE CASCADE,
   FOREIGN KEY (teamName2) REFERENCES teams(teamName) ON DELETE CASCADE ON UPDATE CASCADE,
   FOREIGN KEY (tornamentName) REFERENCES tornaments(tornamentName) ON DELETE CASCADE ON UPDATE CASCADE,
   PRIMARY KEY (teamName1, startTime, finishTime)
 );
 
+CREATE INDEX gamesStartTimeIndex ON games(startTime, finishTime);
+CREATE INDEX gamesFinishTimeIndex ON games(finishTime);
+CREATE INDEX gamesTypeStartTimeIndex ON games(type, startTime);
+CREATE INDEX gamesTeamName2Index ON games(teamName2);
+CREATE INDEX teamsSportNameIndex ON teams(sportName);
+CREATE INDEX isPartOfTeamNameIndex ON isPartOf(teamName);
+CREATE INDEX accountsImageHashIndex ON accounts(imageHash);
+CREATE INDEX sportsImageHashIndex ON sports(imageHash);
+CREATE INDEX teamsImageHashIndex ON teams(imageHash);
+
+CREATE TABLE IF NOT EXISTS game_participants (
+  userId        INTEGER NOT NULL,
+  teamName1     VARCHAR(100) NOT NULL,
+  startTime     TIMESTAMP NOT NULL,
+  finishTime    TIMESTAMP NOT NULL,
+  side          INTEGER NOT NULL,
+  FOREIGN KEY (userId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (teamName1, startTime, finishTime) REFERENCES games(teamName1, startTime, finishTime) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userId, teamName1, startTime, finishTime, side)
+);
+
+CREATE TABLE IF NOT EXISTS liked_users_games (
+  userName      VARCHAR(100) NOT NULL,
+  likedUserId   INTEGER NOT NULL,
+  teamName1     VARCHAR(100) NOT NULL,
+  startTime     TIMESTAMP NOT NULL,
+  finishTime    TIMESTAMP NOT NULL,
+  FOREIGN KEY (userName) REFERENCES accounts(userName) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (likedUserId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (teamName1, startTime, finishTime) REFERENCES games(teamName1, startTime, finishTime) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userName, teamName1, startTime, finishTime, likedUserId)
+);
+
 CREATE TABLE IF NOT EXISTS likes (
   userName  VARCHAR(100),
   sportName VARCHAR(100),
@@ -125,3 +168,15 @@ CREATE TABLE IF NOT EXISTS friendOf(
   PRIMARY KEY (userName, friendsUserName)
 );
 
+CREATE TABLE IF NOT EXISTS user_stats (
+  userId        INTEGER NOT NULL,
+  sportName     VARCHAR(100) NOT NULL,
+  played        INTEGER DEFAULT 0 NOT NULL,
+  wins          INTEGER DEFAULT 0 NOT NULL,
+  draws         INTEGER DEFAULT 0 NOT NULL,
+  losses        INTEGER DEFAULT 0 NOT NULL,
+  winRate       DOUBLE DEFAULT 0 NOT NULL,
+  FOREIGN KEY (userId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (sportName) REFERENCES sports(sportName) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userId, sportName)
+);
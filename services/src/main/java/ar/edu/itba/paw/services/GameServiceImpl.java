@@ -10,11 +10,14 @@ import ar.edu.itba.paw.exceptions.UnauthorizedException;
 import ar.edu.itba.paw.exceptions.notfound.PlayerNotFoundException;
 import ar.edu.itba.paw.interfaces.GameDao;
 import ar.edu.itba.paw.interfaces.GameService;
+import ar.edu.itba.paw.interfaces.LeaderboardService;
 import ar.edu.itba.paw.interfaces.PremiumUserService;
 import ar.edu.itba.paw.interfaces.SessionService;
 import ar.edu.itba.paw.interfaces.TeamService;
 import ar.edu.itba.paw.interfaces.UserService;
+import ar.edu.itba.paw.interfaces.UserStatsDao;
 import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.GameCursor;
 import ar.edu.itba.paw.models.GameKey;
 import ar.edu.itba.paw.models.GameSort;
 import ar.edu.itba.paw.models.Page;
@@ -48,6 +51,12 @@ public class GameServiceImpl implements GameService {
     @Autowired
     private GameDao gameDao;
 
+    @Autowired
+    private UserStatsDao userStatsDao;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @Autowired
     private TeamService teamService;
 
@@ -215,8 +224,9 @@ public class GameServiceImpl implements GameService {
                                     final List<String> usernamesPlayersNotInclude,
                                     final List<String> usernamesCreatorsInclude,
                                     final List<String> usernamesCreatorsNotInclude, final Integer limit,
-                                    final Integer offset, final GameSort sort, final Boolean onlyWithResults,
-                                    final boolean onlyWithLikedUsers, final boolean onlyWithLikedSport) {
+                                    final Integer offset, final String after, final GameSort sort,
+                                    final Boolean onlyWithResults, final boolean onlyWithLikedUsers,
+                                    final boolean onlyWithLikedSport) {
         String sessionUsername = null;
 
         if (onlyWithLikedSport || onlyWithLikedUsers) {
@@ -226,13 +236,19 @@ public class GameServiceImpl implements GameService {
             }).getUserName();
         }
 
-        List<Game> games = gameDao.findGames(minStartTime, maxStartTime, minFinishTime, maxFinishTime, types,
+        GameCursor cursor = null;
+        if (after != null) {
+            cursor = GameCursor.from(after, sort).orElseThrow(() -> {
+                LOGGER.trace("Get matches fails, invalid cursor '{}'", after);
+                return new InvalidParameterException("Invalid value for after");
+            });
+        }
+
+        return gameDao.findGames(minStartTime, maxStartTime, minFinishTime, maxFinishTime, types,
                 sportNames, minQuantity, maxQuantity, countries, states, cities, minFreePlaces, maxFreePlaces,
                 usernamesPlayersInclude, usernamesPlayersNotInclude, usernamesCreatorsInclude,
                 usernamesCreatorsNotInclude, sort, onlyWithResults, sessionUsername, onlyWithLikedUsers,
-                onlyWithLikedSport);
-
-        return new Page<>(games, offset, limit);
+                onlyWithLikedSport, offset, limit, cursor);
     }
 
     @Transactional
@@ -262,6 +278,11 @@ public class GameServiceImpl implements GameService {
         if ((teamName1 != null || teamName2 != null) && gameOld.getGroupType().equals(INDIVIDUAL.toString())) {
             throw new InvalidParameterException("Cannot modify teams in a individual match");
         }
+        if (result != null) {
+            // Results update the users stats and leaderboards, they only go through updateResultOfGame
+            LOGGER.trace("Update game failed, result of '{}' can't be modified", key);
+            throw new InvalidParameterException("Cannot modify the result of a match, it must be updated");
+        }
 
         //TODO: check a game with key is no already added
 
@@ -345,6 +366,9 @@ public class GameServiceImpl implements GameService {
             throw GameInvalidStateException.ofGameWithResult(key);
         }
         game.setResult(scoreTeam1 + "-" + scoreTeam2);
+        if (game.getType().split("-")[1].equals(COMPETITIVE.toString())) {
+            leaderboardService.update(userStatsDao.addResult(game, scoreTeam1, scoreTeam2));
+        }
 
         return game;
     }
@@ -370,6 +394,17 @@ public class GameServiceImpl implements GameService {
         return listsOfGames;
     }
 
+    @Transactional
+    @Override
+    public int recountPlaces() {
+        LOGGER.trace("Looking for matches with outdated places counters");
+        int fixedGames = gameDao.recountPlaces();
+        if (fixedGames > 0) {
+            LOGGER.warn("Places counters of {} matches were outdated and have been fixed", fixedGames);
+        }
+        return fixedGames;
+    }
+
     private Game insertUserInGame(String key, long userId) {
         if (getGameKey(key).getStartTime().isBefore(LocalDateTime.now())) {
             LOGGER.trace("Insert player in game failed, game '{}' has already started", key);
@@ -0,0 +1,35 @@
+package ar.edu.itba.paw.services;
+
+import ar.edu.itba.paw.interfaces.ImageDao;
+import ar.edu.itba.paw.interfaces.ImageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ImageServiceImpl implements ImageService {
+
+    @Autowired
+    private ImageDao imageDao;
+
+    @Transactional
+    @Override
+    public Optional<byte[]> read(final String hash) {
+        return imageDao.read(hash);
+    }
+
+    @Transactional
+    @Override
+    public boolean exists(final String hash) {
+        return imageDao.exists(hash);
+    }
+
+    @Transactional
+    @Override
+    public List<String> removeUnused(final int maxImages) {
+        return imageDao.removeUnused(maxImages);
+    }
+}
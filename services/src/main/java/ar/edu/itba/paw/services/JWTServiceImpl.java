@@ -3,32 +3,89 @@ package ar.edu.itba.paw.services;
 import ar.edu.itba.paw.interfaces.JWTDao;
 import ar.edu.itba.paw.interfaces.JWTService;
 import ar.edu.itba.paw.models.JWT;
+import com.google.common.base.Charsets;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Almost no token is blacklisted, so the blacklist is fronted by a Bloom filter of the hashes of the tokens that
+ * are not expired yet and only the tokens it might contain are looked for in the database. Until the filter is
+ * loaded every token is looked for in the database.
+ *
+ * A node only learns of the tokens blacklisted by other nodes when it reloads the filter, so with more than one
+ * node a logged out token is still accepted elsewhere until the next reload of JWTBlacklistLoader.
+ */
 @Service
 public class JWTServiceImpl implements JWTService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JWTServiceImpl.class);
+
+    private static final int MIN_EXPECTED_TOKENS     = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
     @Autowired
     JWTDao jwtDao;
 
+    private volatile BloomFilter<CharSequence> blacklistFilter;
+
+    /* Tokens blacklisted on this node, kept until they expire so a reload can not lose them */
+    private final ConcurrentMap<String, LocalDateTime> blacklistedHere = new ConcurrentHashMap<>();
+
     public JWTServiceImpl() {
 
     }
 
     @Override
     public boolean isInBlacklist(String jwtoken) {
-        return jwtDao.isInBlacklist(jwtoken);
+        final String tokenHash = JWT.hashOf(jwtoken);
+        if (blacklistedHere.containsKey(tokenHash)) {
+            return true;
+        }
+        final BloomFilter<CharSequence> filter = blacklistFilter;
+        if (filter != null && !filter.mightContain(tokenHash)) {
+            return false;
+        }
+        return jwtDao.isInBlacklist(tokenHash);
     }
 
     @Transactional
     @Override
     public JWT addBlacklist(String jwtoken, LocalDateTime expiry) {
-        return jwtDao.addBlacklist(jwtoken, expiry);
+        final String tokenHash = JWT.hashOf(jwtoken);
+        final JWT jwt = jwtDao.addBlacklist(tokenHash, expiry);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A logout that ends up rolled back must not blacklist the token
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    blacklistHere(tokenHash, expiry);
+                }
+            });
+        }
+        else {
+            blacklistHere(tokenHash, expiry);
+        }
+        return jwt;
+    }
+
+    private void blacklistHere(final String tokenHash, final LocalDateTime expiry) {
+        blacklistedHere.put(tokenHash, expiry);
+        final BloomFilter<CharSequence> filter = blacklistFilter;
+        if (filter != null) {
+            filter.put(tokenHash);
+        }
     }
 
     @Transactional
@@ -42,4 +99,26 @@ public class JWTServiceImpl implements JWTService {
     public List<JWT> getAll() {
         return jwtDao.getAll();
     }
+
+    @Transactional
+    @Override
+    public int reloadBlacklist() {
+        final LocalDateTime now = LocalDateTime.now();
+        blacklistedHere.values().removeIf(expiry -> expiry.isBefore(now));
+        final List<String> tokenHashes = jwtDao.findTokenHashesExpiringAfter(now);
+        final BloomFilter<CharSequence> filter = BloomFilter.create(Funnels.stringFunnel(Charsets.UTF_8),
+                Math.max(2 * (tokenHashes.size() + blacklistedHere.size()), MIN_EXPECTED_TOKENS),
+                FALSE_POSITIVE_RATE);
+        tokenHashes.forEach(filter::put);
+        blacklistedHere.keySet().forEach(filter::put);
+        blacklistFilter = filter;
+        LOGGER.trace("Blacklist filter loaded with {} tokens", tokenHashes.size());
+        return tokenHashes.size();
+    }
+
+    @Transactional
+    @Override
+    public int deleteExpired(LocalDateTime time, int maxTokens) {
+        return jwtDao.deleteExpiredBefore(time, maxTokens);
+    }
 }
@@ -0,0 +1,142 @@
+package ar.edu.itba.paw.services;
+
+import ar.edu.itba.paw.exceptions.notfound.SportNotFoundException;
+import ar.edu.itba.paw.interfaces.LeaderboardService;
+import ar.edu.itba.paw.interfaces.SportService;
+import ar.edu.itba.paw.interfaces.UserStatsDao;
+import ar.edu.itba.paw.models.LeaderboardEntry;
+import ar.edu.itba.paw.models.LeaderboardType;
+import ar.edu.itba.paw.models.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the leaderboards of every sport in memory of this node, they are loaded from the users stats and then kept
+ * up to date with the results committed on this node.
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    @Autowired
+    private UserStatsDao userStatsDao;
+
+    @Autowired
+    private SportService sportService;
+
+    private final ConcurrentMap<String, SportLeaderboard> leaderboards = new ConcurrentHashMap<>();
+
+    @Override
+    public Page<LeaderboardEntry> getLeaderboard(final String sportName, final LeaderboardType type,
+                                                 final Integer offset, final Integer limit) {
+        return getSportLeaderboard(sportName).getPage(type, Page.validOffset(offset), Page.validLimit(limit));
+    }
+
+    @Override
+    public Optional<LeaderboardEntry> getRank(final String sportName, final String username,
+                                              final LeaderboardType type) {
+        return getSportLeaderboard(sportName).getRank(type, username);
+    }
+
+    @Override
+    public void update(final List<LeaderboardEntry> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Results that end up rolled back must not be shown
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    putAll(entries);
+                }
+            });
+        }
+        else {
+            putAll(entries);
+        }
+    }
+
+    @Transactional
+    @Override
+    public void reload(final String sportName) {
+        final List<LeaderboardEntry> entries = userStatsDao.findLeaderboard(sportName);
+        leaderboards.computeIfAbsent(sportName, name -> new SportLeaderboard()).replaceAll(entries);
+        LOGGER.trace("Leaderboard of sport '{}' loaded with {} users", sportName, entries.size());
+    }
+
+    private void putAll(final List<LeaderboardEntry> entries) {
+        for (LeaderboardEntry entry : entries) {
+            leaderboards.computeIfAbsent(entry.getSportName(), name -> new SportLeaderboard()).put(entry);
+        }
+    }
+
+    private SportLeaderboard getSportLeaderboard(final String sportName) {
+        SportLeaderboard leaderboard = leaderboards.get(sportName);
+        if (leaderboard == null) {
+            sportService.findByName(sportName).orElseThrow(() -> {
+                LOGGER.trace("Sport '{}' does not exist", sportName);
+                return SportNotFoundException.ofId(sportName);
+            });
+            leaderboard = leaderboards.computeIfAbsent(sportName, name -> new SportLeaderboard());
+        }
+        return leaderboard;
+    }
+
+    private static class SportLeaderboard {
+
+        private final Map<String, LeaderboardEntry> entries = new HashMap<>();
+        private final Map<LeaderboardType, RankedSet<LeaderboardEntry>> rankings =
+                new EnumMap<>(LeaderboardType.class);
+
+        private SportLeaderboard() {
+            for (LeaderboardType type : LeaderboardType.values()) {
+                rankings.put(type, new RankedSet<>(type.getComparator()));
+            }
+        }
+
+        private synchronized void put(final LeaderboardEntry entry) {
+            final LeaderboardEntry oldEntry = entries.put(entry.getUsername(), entry);
+            for (RankedSet<LeaderboardEntry> ranking : rankings.values()) {
+                if (oldEntry != null) {
+                    ranking.remove(oldEntry);
+                }
+                ranking.add(entry);
+            }
+        }
+
+        private synchronized void replaceAll(final List<LeaderboardEntry> newEntries) {
+            entries.clear();
+            rankings.values().forEach(RankedSet::clear);
+            newEntries.forEach(this::put);
+        }
+
+        private synchronized Page<LeaderboardEntry> getPage(final LeaderboardType type, final int offset,
+                                                            final int limit) {
+            final RankedSet<LeaderboardEntry> ranking = rankings.get(type);
+            final List<LeaderboardEntry> pageEntries = new ArrayList<>();
+            int rank = offset + 1;
+            for (LeaderboardEntry entry : ranking.subList(offset, offset + limit)) {
+                pageEntries.add(entry.withRank(rank++));
+            }
+            return new Page<>(pageEntries, offset, limit, ranking.size());
+        }
+
+        private synchronized Optional<LeaderboardEntry> getRank(final LeaderboardType type, final String username) {
+            return Optional.ofNullable(entries.get(username))
+                    .map(entry -> entry.withRank(rankings.get(type).rank(entry) + 1));
+        }
+    }
+}
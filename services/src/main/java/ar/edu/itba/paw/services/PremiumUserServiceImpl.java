@@ -13,16 +13,17 @@ import ar.edu.itba.paw.exceptions.invalidstate.UserInvalidStateException;
 import ar.edu.itba.paw.exceptions.notfound.LikeUserNotFoundException;
 import ar.edu.itba.paw.exceptions.notfound.UserNotFoundException;
 import ar.edu.itba.paw.interfaces.EmailService;
-import ar.edu.itba.paw.interfaces.GameService;
 import ar.edu.itba.paw.interfaces.PremiumUserDao;
 import ar.edu.itba.paw.interfaces.PremiumUserService;
 import ar.edu.itba.paw.interfaces.SessionService;
 import ar.edu.itba.paw.interfaces.SportService;
-import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.interfaces.UserStatsDao;
+import ar.edu.itba.paw.models.AuthUser;
 import ar.edu.itba.paw.models.Page;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Sport;
 import ar.edu.itba.paw.models.UserSort;
+import ar.edu.itba.paw.models.UserStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.ArrayList;
 import java.util.Formatter;
 import java.util.List;
@@ -48,10 +50,10 @@ public class PremiumUserServiceImpl implements PremiumUserService {
     private PremiumUserDao premiumUserDao;
 
     @Autowired
-    private SportService sportService;
+    private UserStatsDao userStatsDao;
 
     @Autowired
-    private GameService gameService;
+    private SportService sportService;
 
     @Autowired
     public EmailService emailSender;
@@ -65,11 +67,9 @@ public class PremiumUserServiceImpl implements PremiumUserService {
     @Autowired
     private Environment environment;
 
-    private final Function<PremiumUser, PremiumUser> loadUserGames = user -> {
-        List<List<Game>> games = gameService.getGamesThatPlay(user.getUser().getUserId());
-        user.setGamesInTeam1(games.get(0));
-        user.setGamesInTeam2(games.get(1));
-        user.setWinRate(PremiumUserServiceImpl.this.calculateWinRate(user));
+    private final Function<PremiumUser, PremiumUser> loadUserStats = user -> {
+        List<UserStats> stats = userStatsDao.findByUserId(user.getUser().getUserId());
+        user.setStats(stats);
         return user;
     };
 
@@ -77,21 +77,35 @@ public class PremiumUserServiceImpl implements PremiumUserService {
     @Override
     public Optional<PremiumUser> findByUserName(final String userName) {
         LOGGER.trace("Looking for user with username: {}", userName);
-        return premiumUserDao.findByUserName(userName).map(loadUserGames);
+        return premiumUserDao.findByUserName(userName).map(loadUserStats);
     }
 
     @Transactional
     @Override
     public Optional<PremiumUser> findByEmail(final String email) {
         LOGGER.trace("Looking for user with email: {}", email);
-        return premiumUserDao.findByEmail(email).map(loadUserGames);
+        return premiumUserDao.findByEmail(email).map(loadUserStats);
     }
 
     @Transactional
     @Override
     public Optional<PremiumUser> findById(final long userId) {
         LOGGER.trace("Looking for user with id: {}", userId);
-        return premiumUserDao.findById(userId).map(loadUserGames);
+        return premiumUserDao.findById(userId).map(loadUserStats);
+    }
+
+    @Transactional
+    @Override
+    public List<PremiumUser> findByIds(final Collection<Long> userIds) {
+        LOGGER.trace("Looking for {} users by id", userIds.size());
+        return premiumUserDao.findByIds(userIds);
+    }
+
+    @Transactional
+    @Override
+    public Optional<AuthUser> findAuthUser(final String userName) {
+        LOGGER.trace("Looking for credentials of user with username: {}", userName);
+        return premiumUserDao.findAuthUser(userName);
     }
 
     @Transactional
@@ -149,6 +163,12 @@ public class PremiumUserServiceImpl implements PremiumUserService {
         return premiumUserDao.readImage(userName);
     }
 
+    @Transactional
+    @Override
+    public Optional<String> findImageHash(final String userName) {
+        return premiumUserDao.findImageHash(userName);
+    }
+
     @Transactional
     @Override
     public PremiumUser updateUserInfo(
@@ -263,9 +283,8 @@ public class PremiumUserServiceImpl implements PremiumUserService {
                                            final Integer maxReputation, final Integer minWinRate,
                                            final Integer maxWinRate, final UserSort sort, final Integer offset,
                                            final Integer limit, final boolean exactMatchUsernames) {
-        List<PremiumUser> users = premiumUserDao.findUsers(usernames, sportLiked, friendUsernames, minReputation,
-                maxReputation, minWinRate, maxWinRate, sort, exactMatchUsernames);
-        return new Page<>(users, offset, limit);
+        return premiumUserDao.findUsers(usernames, sportLiked, friendUsernames, minReputation,
+                maxReputation, minWinRate, maxWinRate, sort, exactMatchUsernames, offset, limit);
     }
 
     @Transactional
@@ -406,47 +425,18 @@ public class PremiumUserServiceImpl implements PremiumUserService {
         emailSender.sendResetPassword(premiumUser, getResetPasswordUrl(premiumUser), locale);
     }
 
-    private double calculateWinRate(final PremiumUser user) {
-        double played = 0;
-        double wins = 0;
-
-        List<Game> gamesTeam = user.getGamesInTeam1();
-
-        for (Game g : gamesTeam) {
-            if (g.getResult() != null) {
-                String[] value = g.getResult().split("-");
-                if (g.getType().split("-")[1].equals("Competitive") &&
-                        Integer.parseInt(value[0]) > Integer.parseInt(value[1])) {
-                    wins++;
-                }
-                if (g.getType().split("-")[1].equals("Competitive") &&
-                        Integer.parseInt(value[0]) != Integer.parseInt(value[1])) {
-                    played++;
-                }
-            }
-        }
-
-        gamesTeam = user.getGamesInTeam2();
-
-        for (Game g : gamesTeam) {
-            if (g.getResult() != null) {
-                String[] value = g.getResult().split("-");
-                if (g.getType().split("-")[1].equals("Competitive") &&
-                        Integer.parseInt(value[0]) < Integer.parseInt(value[1])) {
-                    wins++;
-                }
-                if (g.getType().split("-")[1].equals("Competitive") &&
-                        Integer.parseInt(value[0]) != Integer.parseInt(value[1])) {
-                    played++;
-                }
-            }
-        }
-
-        if (played != 0) {
-            return (wins / played) * 100;
-        }
+    @Transactional
+    @Override
+    public int rebuildStats(final String sportName) {
+        LOGGER.trace("Rebuilding users stats of sport '{}'", sportName);
+        return userStatsDao.rebuild(sportName);
+    }
 
-        return 0;
+    @Transactional
+    @Override
+    public int refreshWinRates() {
+        LOGGER.trace("Refreshing users win rates");
+        return userStatsDao.refreshWinRates();
     }
 
     private String getConfirmationUrl(PremiumUser user) {
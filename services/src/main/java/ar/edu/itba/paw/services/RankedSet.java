@@ -0,0 +1,170 @@
+package ar.edu.itba.paw.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sorted set that also knows the position of its elements, it is a treap where every node keeps the size of its
+ * subtree so adding, removing, ranking and reading by position are all O(log n) on average. The comparator must be
+ * a total order, elements comparing as equal are considered the same element.
+ */
+class RankedSet<T> {
+
+    private final Comparator<? super T> comparator;
+    private final Random random;
+    private Node<T> root;
+
+    private static class Node<T> {
+        private final T value;
+        private final int priority;
+        private int size;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(T value, int priority) {
+            this.value    = value;
+            this.priority = priority;
+            this.size     = 1;
+        }
+    }
+
+    RankedSet(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+        this.random     = new Random();
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    boolean add(T value) {
+        if (contains(value)) {
+            return false;
+        }
+        List<Node<T>> parts = split(root, value, false);
+        root = merge(merge(parts.get(0), new Node<>(value, random.nextInt())), parts.get(1));
+        return true;
+    }
+
+    boolean remove(T value) {
+        if (!contains(value)) {
+            return false;
+        }
+        List<Node<T>> lowerAndRest = split(root, value, false);
+        List<Node<T>> valueAndHigher = split(lowerAndRest.get(1), value, true);
+        root = merge(lowerAndRest.get(0), valueAndHigher.get(1));
+        return true;
+    }
+
+    boolean contains(T value) {
+        Node<T> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(value, node.value);
+            if (comparison == 0) {
+                return true;
+            }
+            node = (comparison < 0) ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Quantity of elements placed before the given one, it does not need to be in the set.
+     */
+    int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (comparator.compare(value, node.value) <= 0) {
+                node = node.left;
+            }
+            else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            }
+            else if (index == leftSize) {
+                return node.value;
+            }
+            else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    List<T> subList(int fromIndex, int toIndex) {
+        final List<T> values = new ArrayList<>();
+        for (int i = Math.max(fromIndex, 0); i < Math.min(toIndex, size()); i++) {
+            values.add(get(i));
+        }
+        return values;
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    private int size(Node<T> node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    private Node<T> update(Node<T> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    /* Splits in the elements placed before the value (or at it when inclusive) and the rest */
+    private List<Node<T>> split(Node<T> node, T value, boolean inclusive) {
+        final List<Node<T>> parts = new ArrayList<>(2);
+        if (node == null) {
+            parts.add(null);
+            parts.add(null);
+            return parts;
+        }
+        int comparison = comparator.compare(node.value, value);
+        if (comparison < 0 || (inclusive && comparison == 0)) {
+            List<Node<T>> rightParts = split(node.right, value, inclusive);
+            node.right = rightParts.get(0);
+            parts.add(update(node));
+            parts.add(rightParts.get(1));
+        }
+        else {
+            List<Node<T>> leftParts = split(node.left, value, inclusive);
+            node.left = leftParts.get(1);
+            parts.add(leftParts.get(0));
+            parts.add(update(node));
+        }
+        return parts;
+    }
+
+    private Node<T> merge(Node<T> lower, Node<T> higher) {
+        if (lower == null) {
+            return higher;
+        }
+        if (higher == null) {
+            return lower;
+        }
+        if (lower.priority > higher.priority) {
+            lower.right = merge(lower.right, higher);
+            return update(lower);
+        }
+        higher.left = merge(lower, higher.left);
+        return update(higher);
+    }
+}
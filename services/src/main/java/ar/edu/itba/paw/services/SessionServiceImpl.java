@@ -1,28 +1,30 @@
 package ar.edu.itba.paw.services;
 
-import ar.edu.itba.paw.interfaces.PremiumUserService;
+import ar.edu.itba.paw.interfaces.PremiumUserDao;
 import ar.edu.itba.paw.interfaces.SessionService;
+import ar.edu.itba.paw.models.LoggedUser;
 import ar.edu.itba.paw.models.PremiumUser;
-import ar.edu.itba.paw.models.Role;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
+/**
+ * Everything about the logged user is read from the authentication of the current thread. The account is kept in
+ * the LoggedUser the auth filters leave as details of the authentication, so it is loaded at most once per request.
+ */
 @Service
 public class SessionServiceImpl implements SessionService {
 
     @Autowired
-    private PremiumUserService premiumUserService;
-
-    private PremiumUser currentPremiumUser;
+    private PremiumUserDao premiumUserDao;
 
     private static String ADMIN = "ROLE_ADMIN";
-    private static int ADMIN_ID = 1;
 
     @Override
     public boolean isLogged() {
@@ -32,15 +34,15 @@ public class SessionServiceImpl implements SessionService {
 
     @Override
     public Optional<PremiumUser> getLoggedUser() {
-        String username = getUserName();
-        PremiumUser loggedUser = null;
-        if (username != null) {
-            if (currentPremiumUser == null || !currentPremiumUser.getUserName().equals(username)) {
-                currentPremiumUser = premiumUserService.findByUserName(username).orElse(null);
-            }
-            loggedUser = currentPremiumUser;
+        final String username = getUserName();
+        if (username == null) {
+            return Optional.empty();
         }
-        return Optional.ofNullable(loggedUser);
+        final Object details = getAuth().getDetails();
+        if (details instanceof LoggedUser) {
+            return ((LoggedUser) details).getPremiumUser(() -> premiumUserDao.findByUserName(username));
+        }
+        return premiumUserDao.findByUserName(username);
     }
 
     @Override
@@ -48,10 +50,12 @@ public class SessionServiceImpl implements SessionService {
         if (!isLogged()) {
             return false;
         }
-        else {
-            Role adminRole = new Role(ADMIN, ADMIN_ID);
-            return getLoggedUser().get().getRoles().contains(adminRole);
+        for (GrantedAuthority authority : getAuth().getAuthorities()) {
+            if (ADMIN.equals(authority.getAuthority())) {
+                return true;
+            }
         }
+        return false;
     }
 
     @Override
@@ -58,7 +58,7 @@ public class SportServiceImpl implements SportService {
                 null, null, sport, null, null, null, null ,
                 null, null ,null, null ,null,
                 null,null, null,null, null,
-                null, false, false).getData().isEmpty()) {
+                null, null, false, false).getData().isEmpty()) {
             LOGGER.trace("Modify sport '{}' failed, is already used in a match", sportName);
             throw SportInvalidStateException.ofSportUsed(sportName);
         }
@@ -78,7 +78,7 @@ public class SportServiceImpl implements SportService {
                 null, sport, null, null, null, null ,null,
                 null ,null, null ,null,
                 null,null, null,null, null,
-                null, false, false).getData().isEmpty()) {
+                null, null, false, false).getData().isEmpty()) {
             LOGGER.trace("Remove sport '{}' failed, is already used in a match", sportName);
             throw SportInvalidStateException.ofSportUsed(sportName);
         }
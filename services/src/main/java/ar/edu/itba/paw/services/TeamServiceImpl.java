@@ -6,6 +6,7 @@ import ar.edu.itba.paw.exceptions.notfound.TeamNotFoundException;
 import ar.edu.itba.paw.interfaces.PremiumUserService;
 import ar.edu.itba.paw.interfaces.TeamDao;
 import ar.edu.itba.paw.interfaces.TeamService;
+import ar.edu.itba.paw.models.Game;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Team;
 import ar.edu.itba.paw.models.User;
@@ -17,8 +18,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 
 @Service
@@ -126,12 +133,41 @@ public class TeamServiceImpl implements TeamService {
     @Transactional
     @Override
     public Map<User, PremiumUser> getAccountsMap(Team team) {
+        return getAccountsMap((team == null) ? Collections.emptyList() : Collections.singletonList(team));
+    }
+
+    @Transactional
+    @Override
+    public Map<User, PremiumUser> getAccountsMap(Collection<Team> teams) {
         Map<User, PremiumUser> accountsList = new HashMap<>();
-        if (team != null) {
-            for (User user : team.getPlayers()) {
-                accountsList.put(user, premiumUserService.findById(user.getUserId()).orElse(null));
+        Set<Long> userIds = new HashSet<>();
+        for (Team team : teams) {
+            if (team != null) {
+                for (User user : team.getPlayers()) {
+                    accountsList.put(user, null);
+                    userIds.add(user.getUserId());
+                }
+            }
+        }
+        if (!userIds.isEmpty()) {
+            Map<Long, PremiumUser> accountsById = new HashMap<>();
+            for (PremiumUser account : premiumUserService.findByIds(userIds)) {
+                accountsById.put(account.getUser().getUserId(), account);
             }
+            accountsList.replaceAll((user, account) -> accountsById.get(user.getUserId()));
         }
         return accountsList;
     }
+
+    /* Every player of the games is resolved at once instead of querying each team */
+    @Transactional
+    @Override
+    public Map<User, PremiumUser> getAccountsMapOfGames(Collection<Game> games) {
+        List<Team> teams = new ArrayList<>();
+        for (Game game : games) {
+            teams.add(game.getTeam1());
+            teams.add(game.getTeam2());
+        }
+        return getAccountsMap(teams);
+    }
 }
@@ -1,13 +1,16 @@
 package ar.edu.itba.paw.services;
 
+import ar.edu.itba.paw.exceptions.InvalidParameterException;
 import ar.edu.itba.paw.exceptions.UnauthorizedException;
 import ar.edu.itba.paw.exceptions.notfound.GameNotFoundException;
 import ar.edu.itba.paw.exceptions.notfound.PlayerNotFoundException;
 import ar.edu.itba.paw.interfaces.GameDao;
+import ar.edu.itba.paw.interfaces.LeaderboardService;
 import ar.edu.itba.paw.interfaces.PremiumUserService;
 import ar.edu.itba.paw.interfaces.SessionService;
 import ar.edu.itba.paw.interfaces.TeamService;
 import ar.edu.itba.paw.interfaces.UserService;
+import ar.edu.itba.paw.interfaces.UserStatsDao;
 import ar.edu.itba.paw.models.*;
 import org.junit.Assert;
 import org.junit.Before;
@@ -28,6 +31,8 @@ import java.util.Optional;
 
 import static ar.edu.itba.paw.models.GameType.FRIENDLY;
 import static ar.edu.itba.paw.models.GameType.INDIVIDUAL;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -87,6 +92,12 @@ public class GameServiceImplTest {
     @Mock
     private GameDao gameDaoMock;
 
+    @Mock
+    private UserStatsDao userStatsDaoMock;
+
+    @Mock
+    private LeaderboardService leaderboardServiceMock;
+
     @Mock
     private TeamService teamServiceMock;
 
@@ -257,6 +268,21 @@ public class GameServiceImplTest {
         Assert.assertEquals(gameReturn, game1);
     }
 
+    @Test
+    public void modifyGameResult() {
+        exceptionRule.expect(InvalidParameterException.class);
+        exceptionRule.expectMessage("Cannot modify the result of a match, it must be updated");
+        when(gameDaoMock.findByKey(game1.getTeam1().getName(), game1.getStartTime(), game1.getFinishTime()))
+                .thenReturn(Optional.of(game1));
+        when(sessionServiceMock.getLoggedUser()).thenReturn(Optional.of(leaderTeam1));
+
+        gameService.modify(null, null, game1.getStartTime(),
+                ChronoUnit.MINUTES.between(game1.getStartTime(), game1.getFinishTime()), game1.getType(),
+                "2-1", game1.getPlace().getCountry(), game1.getPlace().getState(), game1.getPlace().getCity(),
+                game1.getPlace().getStreet(), game1.getTornament(), game1.getDescription(), game1.getTitle(),
+                game1.getKey());
+    }
+
     @Test
     public void modifyGameButItDoesNotExist() {
         exceptionRule.expect(GameNotFoundException.class);
@@ -372,6 +398,7 @@ public class GameServiceImplTest {
 
         Assert.assertEquals(game2, gameReturn);
         Assert.assertEquals(game2.getResult(), "1-2");
+        verify(userStatsDaoMock, never()).addResult(game2, 1, 2);
     }
 
     @Test
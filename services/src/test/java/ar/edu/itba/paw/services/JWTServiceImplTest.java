@@ -0,0 +1,123 @@
+package ar.edu.itba.paw.services;
+
+import ar.edu.itba.paw.interfaces.JWTDao;
+import ar.edu.itba.paw.models.JWT;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JWTServiceImplTest {
+
+    private static final String TOKEN         = "header.payload.signature";
+    private static final String ANOTHER_TOKEN = "anotherHeader.anotherPayload.anotherSignature";
+    private static final LocalDateTime EXPIRY = LocalDateTime.now().plusDays(1);
+
+    @Mock
+    private JWTDao jwtDaoMock;
+
+    @InjectMocks
+    private JWTServiceImpl jwtService;
+
+    @Test
+    public void testHashHasFixedLength() {
+        Assert.assertEquals(JWT.HASH_LENGTH, JWT.hashOf(TOKEN).length());
+        Assert.assertEquals(JWT.hashOf(TOKEN), JWT.hashOf(TOKEN));
+        Assert.assertNotEquals(JWT.hashOf(TOKEN), JWT.hashOf(ANOTHER_TOKEN));
+    }
+
+    @Test
+    public void testIsInBlacklistBeforeLoadingGoesToDatabase() {
+        when(jwtDaoMock.isInBlacklist(JWT.hashOf(TOKEN))).thenReturn(true);
+
+        Assert.assertTrue(jwtService.isInBlacklist(TOKEN));
+    }
+
+    @Test
+    public void testIsNotInBlacklistDoesNotGoToDatabase() {
+        when(jwtDaoMock.findTokenHashesExpiringAfter(any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(JWT.hashOf(TOKEN)));
+        jwtService.reloadBlacklist();
+
+        Assert.assertFalse(jwtService.isInBlacklist(ANOTHER_TOKEN));
+        verify(jwtDaoMock, never()).isInBlacklist(anyString());
+    }
+
+    @Test
+    public void testFilterPositiveGoesToDatabase() {
+        when(jwtDaoMock.findTokenHashesExpiringAfter(any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(JWT.hashOf(TOKEN)));
+        when(jwtDaoMock.isInBlacklist(JWT.hashOf(TOKEN))).thenReturn(true);
+        jwtService.reloadBlacklist();
+
+        Assert.assertTrue(jwtService.isInBlacklist(TOKEN));
+        verify(jwtDaoMock).isInBlacklist(JWT.hashOf(TOKEN));
+    }
+
+    @Test
+    public void testAddedTokenIsInBlacklistWithoutGoingToDatabase() {
+        when(jwtDaoMock.findTokenHashesExpiringAfter(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+        jwtService.reloadBlacklist();
+
+        jwtService.addBlacklist(TOKEN, EXPIRY);
+
+        Assert.assertTrue(jwtService.isInBlacklist(TOKEN));
+        verify(jwtDaoMock).addBlacklist(JWT.hashOf(TOKEN), EXPIRY);
+        verify(jwtDaoMock, never()).isInBlacklist(anyString());
+    }
+
+    @Test
+    public void testAddedTokenIsKeptAfterReload() {
+        jwtService.addBlacklist(TOKEN, EXPIRY);
+        when(jwtDaoMock.findTokenHashesExpiringAfter(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+
+        jwtService.reloadBlacklist();
+
+        Assert.assertTrue(jwtService.isInBlacklist(TOKEN));
+        verify(jwtDaoMock, never()).isInBlacklist(anyString());
+    }
+
+    @Test
+    public void testRolledBackTokenIsNotBlacklisted() {
+        when(jwtDaoMock.findTokenHashesExpiringAfter(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+        jwtService.reloadBlacklist();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            jwtService.addBlacklist(TOKEN, EXPIRY);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assert.assertFalse(jwtService.isInBlacklist(TOKEN));
+    }
+
+    @Test
+    public void testCommittedTokenIsBlacklisted() {
+        when(jwtDaoMock.findTokenHashesExpiringAfter(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+        jwtService.reloadBlacklist();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            jwtService.addBlacklist(TOKEN, EXPIRY);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assert.assertTrue(jwtService.isInBlacklist(TOKEN));
+        verify(jwtDaoMock, never()).isInBlacklist(anyString());
+    }
+}
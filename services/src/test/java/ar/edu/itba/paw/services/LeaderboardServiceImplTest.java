@@ -0,0 +1,115 @@
+package ar.edu.itba.paw.services;
+
+import ar.edu.itba.paw.exceptions.notfound.SportNotFoundException;
+import ar.edu.itba.paw.interfaces.SportService;
+import ar.edu.itba.paw.interfaces.UserStatsDao;
+import ar.edu.itba.paw.models.LeaderboardEntry;
+import ar.edu.itba.paw.models.LeaderboardType;
+import ar.edu.itba.paw.models.Page;
+import ar.edu.itba.paw.models.UserStats;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LeaderboardServiceImplTest {
+    private static final String SPORT         = "futbol";
+    private static final String UNKNOWN_SPORT = "curling";
+
+    @Mock
+    private UserStatsDao userStatsDaoMock;
+
+    @Mock
+    private SportService sportServiceMock;
+
+    @InjectMocks
+    private LeaderboardServiceImpl leaderboardService;
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+
+    @Before
+    public void setUp() {
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        entries.add(entryOf("messi", 1, 3, 0));
+        entries.add(entryOf("riquelme", 2, 4, 0));
+        entries.add(entryOf("palermo", 3, 0, 1));
+        when(userStatsDaoMock.findLeaderboard(SPORT)).thenReturn(entries);
+        leaderboardService.reload(SPORT);
+    }
+
+    @Test
+    public void getLeaderboardByWinRate() {
+        Page<LeaderboardEntry> page = leaderboardService.getLeaderboard(SPORT, LeaderboardType.WIN_RATE, 0, 2);
+
+        Assert.assertEquals(3, page.getTotal());
+        Assert.assertEquals(2, page.getData().size());
+        Assert.assertEquals("palermo", page.getData().get(0).getUsername());
+        Assert.assertEquals(1, page.getData().get(0).getRank());
+        Assert.assertEquals("riquelme", page.getData().get(1).getUsername());
+        Assert.assertEquals(2, page.getData().get(1).getRank());
+    }
+
+    @Test
+    public void getLeaderboardByWins() {
+        Page<LeaderboardEntry> page = leaderboardService.getLeaderboard(SPORT, LeaderboardType.WINS, 1, 2);
+
+        Assert.assertEquals(2, page.getData().size());
+        Assert.assertEquals("riquelme", page.getData().get(0).getUsername());
+        Assert.assertEquals(2, page.getData().get(0).getRank());
+        Assert.assertEquals("messi", page.getData().get(1).getUsername());
+        Assert.assertEquals(3, page.getData().get(1).getRank());
+    }
+
+    @Test
+    public void getRankAfterUpdate() {
+        leaderboardService.update(Collections.singletonList(entryOf("messi", 10, 0, 0)));
+
+        Optional<LeaderboardEntry> entry = leaderboardService.getRank(SPORT, "messi", LeaderboardType.WINS);
+
+        Assert.assertTrue(entry.isPresent());
+        Assert.assertEquals(1, entry.get().getRank());
+        Assert.assertEquals(10, entry.get().getWins());
+        Assert.assertEquals(3, leaderboardService.getLeaderboard(SPORT, LeaderboardType.WINS, 0, 10).getTotal());
+    }
+
+    @Test
+    public void getRankOfUserNotRanked() {
+        Assert.assertFalse(leaderboardService.getRank(SPORT, "maradona", LeaderboardType.WIN_RATE).isPresent());
+    }
+
+    @Test
+    public void getLeaderboardOfSportThatDoesNotExist() {
+        exceptionRule.expect(SportNotFoundException.class);
+        when(sportServiceMock.findByName(UNKNOWN_SPORT)).thenReturn(Optional.empty());
+
+        leaderboardService.getLeaderboard(UNKNOWN_SPORT, LeaderboardType.WIN_RATE, 0, 10);
+    }
+
+    private LeaderboardEntry entryOf(String username, int wins, int losses, int draws) {
+        UserStats stats = new UserStats(0, SPORT);
+        for (int i = 0; i < wins; i++) {
+            stats.addResult(1, 0);
+        }
+        for (int i = 0; i < losses; i++) {
+            stats.addResult(0, 1);
+        }
+        for (int i = 0; i < draws; i++) {
+            stats.addResult(0, 0);
+        }
+        return new LeaderboardEntry(username, stats);
+    }
+}
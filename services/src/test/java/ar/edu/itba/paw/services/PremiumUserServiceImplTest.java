@@ -1,12 +1,11 @@
 package ar.edu.itba.paw.services;
 
 import ar.edu.itba.paw.exceptions.InvalidUserCodeException;
-import ar.edu.itba.paw.interfaces.GameService;
 import ar.edu.itba.paw.interfaces.PremiumUserDao;
-import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.interfaces.UserStatsDao;
 import ar.edu.itba.paw.models.PremiumUser;
-import ar.edu.itba.paw.models.Team;
 import ar.edu.itba.paw.models.User;
+import ar.edu.itba.paw.models.UserStats;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -17,7 +16,6 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -34,12 +32,13 @@ public class PremiumUserServiceImplTest {
     private static final String FIRSTNAME = "firstname";
     private static final String EMAIL     = "email";
     private static final long   ID        = 0;
+    private static final String SPORT     = "futbol";
 
     @Mock
     private PremiumUserDao premiumUserDaoMock;
 
     @Mock
-    private GameService gameServiceMock;
+    private UserStatsDao userStatsDaoMock;
 
     @InjectMocks
     private PremiumUserServiceImpl premiumUserService;
@@ -48,126 +47,41 @@ public class PremiumUserServiceImplTest {
     public ExpectedException exceptionRule = ExpectedException.none();
 
     @Test
-    public void findByKeyTestWinAll() {
+    public void findByKeyTestLoadsStats() {
         PremiumUser account = new PremiumUser(FIRSTNAME, LASTNAME, EMAIL, USERNAME);
         account.setUser(new User(FIRSTNAME, LASTNAME, EMAIL, ID));
-        LinkedHashSet<User> playerList = new LinkedHashSet<>();
-        playerList.add(account.getUser());
-        List<List<Game>> listOfList = new LinkedList<>();
-        List<Game> listTeam1 = new LinkedList<>();
-        List<Game> listTeam2 = new LinkedList<>();
-        Team team1 = new Team(null, null, null, false,
-                null, null);
-        team1.setPlayers(playerList);
-        Team team2 = new Team(null, null, null, false,
-                null, null);
-        team1.setPlayers(new LinkedHashSet<>());
-        listTeam1.add(new Game(team1, team2, null, null, null, "Individual-Competitive",
-                "2-1", null, null, null));
-        listTeam2.add(new Game(team2, team1, null, null, null, "Individual-Competitive",
-                "1-10", null, null, null));
-        listOfList.add(listTeam1);
-        listOfList.add(listTeam2);
+        UserStats stats = new UserStats(ID, SPORT);
+        stats.addResult(2, 1);
+        stats.addResult(0, 1);
+        List<UserStats> userStats = new LinkedList<>();
+        userStats.add(stats);
         when(premiumUserDaoMock.findByUserName(USERNAME))
                 .thenReturn(Optional.of(account));
-        when(gameServiceMock.getGamesThatPlay(ID)).thenReturn(listOfList);
+        when(userStatsDaoMock.findByUserId(ID)).thenReturn(userStats);
 
         Optional<PremiumUser> ans = premiumUserService.findByUserName(USERNAME);
 
         Assert.assertTrue(ans.isPresent());
-        Assert.assertEquals(100, ans.get().getWinRate(), 0.00001);
+        Assert.assertEquals(userStats, ans.get().getStats());
     }
 
     @Test
-    public void findByKeyTestWinAndLose() {
+    public void findByKeyTestKeepsStoredWinRate() {
         PremiumUser account = new PremiumUser(FIRSTNAME, LASTNAME, EMAIL, USERNAME);
         account.setUser(new User(FIRSTNAME, LASTNAME, EMAIL, ID));
-        LinkedHashSet<User> playerList = new LinkedHashSet<>();
-        playerList.add(account.getUser());
-        List<List<Game>> listOfList = new LinkedList<>();
-        List<Game> listTeam1 = new LinkedList<>();
-        List<Game> listTeam2 = new LinkedList<>();
-        Team team1 = new Team(null, null, null, false,
-                null, null);
-        team1.setPlayers(playerList);
-        Team team2 = new Team(null, null, null, false,
-                null, null);
-        team1.setPlayers(new LinkedHashSet<>());
-        listTeam1.add(new Game(team1, team2, null, null, null, "Individual-Competitive",
-                "2-1", null, null, null));
-        listTeam2.add(new Game(team2, team1, null, null, null, "Individual-Competitive",
-                "1-0", null, null, null));
-        listOfList.add(listTeam1);
-        listOfList.add(listTeam2);
+        account.setWinRate(75);
+        UserStats stats = new UserStats(ID, SPORT);
+        stats.addResult(2, 1);
+        stats.addResult(10, 1);
+        List<UserStats> userStats = new LinkedList<>();
+        userStats.add(stats);
         when(premiumUserDaoMock.findByUserName(USERNAME))
                 .thenReturn(Optional.of(account));
-        when(gameServiceMock.getGamesThatPlay(ID)).thenReturn(listOfList);
+        when(userStatsDaoMock.findByUserId(ID)).thenReturn(userStats);
 
         Optional<PremiumUser> ans = premiumUserService.findByUserName(USERNAME);
 
         Assert.assertTrue(ans.isPresent());
-        Assert.assertEquals(50, ans.get().getWinRate(), 0.00001);
-    }
-
-    @Test
-    public void findByKeyTestLoseAll() {
-        PremiumUser account = new PremiumUser(FIRSTNAME, LASTNAME, EMAIL, USERNAME);
-        account.setUser(new User(FIRSTNAME, LASTNAME, EMAIL, ID));
-        LinkedHashSet<User> playerList = new LinkedHashSet<>();
-        playerList.add(account.getUser());
-        List<List<Game>> listOfList = new LinkedList<>();
-        List<Game> listTeam1 = new LinkedList<>();
-        List<Game> listTeam2 = new LinkedList<>();
-        Team team1 = new Team(null, null, null, false,
-                null, null);
-        team1.setPlayers(playerList);
-        Team team2 = new Team(null, null, null, false,
-                null, null);
-        team1.setPlayers(new LinkedHashSet<>());
-        listTeam1.add(new Game(team1, team2, null, null, null, "Individual-Competitive",
-                "2-5", null, null, null));
-        listTeam2.add(new Game(team2, team1, null, null, null, "Individual-Competitive",
-                "1-0", null, null, null));
-        listOfList.add(listTeam1);
-        listOfList.add(listTeam2);
-        when(premiumUserDaoMock.findByUserName(USERNAME))
-                .thenReturn(Optional.of(account));
-        when(gameServiceMock.getGamesThatPlay(ID)).thenReturn(listOfList);
-
-        Optional<PremiumUser> ans = premiumUserDaoMock.findByUserName(USERNAME);
-
-        Assert.assertTrue(ans.isPresent());
-        Assert.assertEquals(0, ans.get().getWinRate(), 0.00001);
-    }
-
-    @Test
-    public void findByKeyTestLoseAndTie() {
-        PremiumUser account = new PremiumUser(FIRSTNAME, LASTNAME, EMAIL, USERNAME);
-        account.setUser(new User(FIRSTNAME, LASTNAME, EMAIL, ID));
-        LinkedHashSet<User> playerList = new LinkedHashSet<>();
-        playerList.add(account.getUser());
-        List<List<Game>> listOfList = new LinkedList<>();
-        List<Game> listTeam1 = new LinkedList<>();
-        List<Game> listTeam2 = new LinkedList<>();
-        Team team1 = new Team(null, null, null, false,
-                null, null);
-        team1.setPlayers(playerList);
-        Team team2 = new Team(null, null, null, false,
-                null, null);
-        team1.setPlayers(new LinkedHashSet<>());
-        listTeam1.add(new Game(team1, team2, null, null, null, "Individual-Competitive",
-                "0-2", null, null, null));
-        listTeam2.add(new Game(team2, team1, null, null, null, "Individual-Competitive",
-                "1-1", null, null, null));
-        listOfList.add(listTeam1);
-        listOfList.add(listTeam2);
-        when(premiumUserDaoMock.findByUserName(USERNAME))
-                .thenReturn(Optional.of(account));
-        when(gameServiceMock.getGamesThatPlay(ID)).thenReturn(listOfList);
-
-        Optional<PremiumUser> ans = premiumUserService.findByUserName(USERNAME);
-
-        Assert.assertTrue(ans.isPresent());
-        Assert.assertEquals(0, ans.get().getWinRate(), 0.00001);
+        Assert.assertEquals(75, ans.get().getWinRate(), 0.00001);
     }
 }
@@ -0,0 +1,42 @@
+package ar.edu.itba.paw.services;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class RankedSetTest {
+
+    @Test
+    public void keepsTheSameOrderAsASortedList() {
+        RankedSet<Integer> rankedSet = new RankedSet<>(Comparator.reverseOrder());
+        List<Integer> sortedList = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            Integer value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(sortedList.remove(value), rankedSet.remove(value));
+            }
+            else if (!sortedList.contains(value)) {
+                Assert.assertTrue(rankedSet.add(value));
+                sortedList.add(value);
+            }
+            else {
+                Assert.assertFalse(rankedSet.add(value));
+            }
+        }
+        sortedList.sort(Collections.reverseOrder());
+
+        Assert.assertEquals(sortedList.size(), rankedSet.size());
+        for (int i = 0; i < sortedList.size(); i++) {
+            Assert.assertEquals(sortedList.get(i), rankedSet.get(i));
+            Assert.assertEquals(i, rankedSet.rank(sortedList.get(i)));
+        }
+        Assert.assertEquals(sortedList.subList(10, 20), rankedSet.subList(10, 20));
+    }
+}
@@ -0,0 +1,88 @@
+package ar.edu.itba.paw.services;
+
+import ar.edu.itba.paw.interfaces.PremiumUserDao;
+import ar.edu.itba.paw.models.LoggedUser;
+import ar.edu.itba.paw.models.PremiumUser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SessionServiceImplTest {
+
+    private static final String USERNAME = "dammiano98";
+
+    @Mock
+    private PremiumUserDao premiumUserDaoMock;
+
+    @InjectMocks
+    private SessionServiceImpl sessionService;
+
+    @After
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testLoggedUserIsLoadedOncePerRequest() {
+        PremiumUser premiumUser = new PremiumUser("Agustin", "Dammiano", "adammiano@itba.edu.ar", USERNAME);
+        when(premiumUserDaoMock.findByUserName(USERNAME)).thenReturn(Optional.of(premiumUser));
+        logIn("ROLE_USER");
+
+        Optional<PremiumUser> firstLoggedUser  = sessionService.getLoggedUser();
+        Optional<PremiumUser> secondLoggedUser = sessionService.getLoggedUser();
+
+        Assert.assertEquals(premiumUser, firstLoggedUser.get());
+        Assert.assertEquals(premiumUser, secondLoggedUser.get());
+        verify(premiumUserDaoMock, times(1)).findByUserName(USERNAME);
+    }
+
+    @Test
+    public void testEveryRequestLoadsItsOwnLoggedUser() {
+        PremiumUser premiumUser = new PremiumUser("Agustin", "Dammiano", "adammiano@itba.edu.ar", USERNAME);
+        when(premiumUserDaoMock.findByUserName(USERNAME)).thenReturn(Optional.of(premiumUser));
+
+        logIn("ROLE_USER");
+        sessionService.getLoggedUser();
+        logIn("ROLE_USER");
+        sessionService.getLoggedUser();
+
+        verify(premiumUserDaoMock, times(2)).findByUserName(USERNAME);
+    }
+
+    @Test
+    public void testIsAdminDoesNotLoadLoggedUser() {
+        logIn("ROLE_ADMIN");
+
+        Assert.assertTrue(sessionService.isAdmin());
+        verify(premiumUserDaoMock, times(0)).findByUserName(USERNAME);
+    }
+
+    @Test
+    public void testNotLoggedHasNoLoggedUser() {
+        Assert.assertFalse(sessionService.isLogged());
+        Assert.assertFalse(sessionService.getLoggedUser().isPresent());
+        Assert.assertFalse(sessionService.isAdmin());
+    }
+
+    private void logIn(final String role) {
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(USERNAME, null,
+                Collections.singletonList(new SimpleGrantedAuthority(role)));
+        auth.setDetails(new LoggedUser());
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+}
@@ -2,6 +2,7 @@ package ar.edu.itba.paw.services;
 
 import ar.edu.itba.paw.interfaces.PremiumUserService;
 import ar.edu.itba.paw.interfaces.TeamDao;
+import ar.edu.itba.paw.models.Game;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.Team;
 import ar.edu.itba.paw.models.User;
@@ -13,9 +14,13 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Optional;
 
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -48,10 +53,9 @@ public class TeamServiceImplTest {
         team.addPlayer(user1);
         team.addPlayer(user2);
         PremiumUser account1 = new PremiumUser(FIRSTNAME+ID_1, LASTNAME+ID_1,
-                                EMAIL+ID_1, USERNAME+ID_1);
-        when(premiumUserServiceMock.findById(ID_0)).thenReturn(Optional.empty());
-        when(premiumUserServiceMock.findById(ID_1)).thenReturn(Optional.of(account1));
-        when(premiumUserServiceMock.findById(ID_2)).thenReturn(Optional.empty());
+                                EMAIL+ID_1, USERNAME+ID_1, ID_1);
+        when(premiumUserServiceMock.findByIds(anyCollectionOf(Long.class)))
+                .thenReturn(Collections.singletonList(account1));
 
         Map<User, PremiumUser> map = teamService.getAccountsMap(team);
 
@@ -65,6 +69,52 @@ public class TeamServiceImplTest {
         Assert.assertNull(map.get(user2));
     }
 
+    @Test
+    public void getAccountsMapOfSeveralTeamsTest() {
+        Team team1 = new Team(null, null, null, true, null, null);
+        Team team2 = new Team(null, null, null, true, null, null);
+        User user0 = new User(FIRSTNAME+ID_0, LASTNAME+ID_0, EMAIL+ID_0, ID_0);
+        User user1 = new User(FIRSTNAME+ID_1, LASTNAME+ID_1, EMAIL+ID_1, ID_1);
+        team1.addPlayer(user0);
+        team2.addPlayer(user1);
+        PremiumUser account0 = new PremiumUser(FIRSTNAME+ID_0, LASTNAME+ID_0,
+                                EMAIL+ID_0, USERNAME+ID_0, ID_0);
+        PremiumUser account1 = new PremiumUser(FIRSTNAME+ID_1, LASTNAME+ID_1,
+                                EMAIL+ID_1, USERNAME+ID_1, ID_1);
+        when(premiumUserServiceMock.findByIds(anyCollectionOf(Long.class)))
+                .thenReturn(Arrays.asList(account0, account1));
+
+        Map<User, PremiumUser> map = teamService.getAccountsMap(Arrays.asList(team1, team2, null));
+
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(account0, map.get(user0));
+        Assert.assertEquals(account1, map.get(user1));
+        verify(premiumUserServiceMock, times(1)).findByIds(anyCollectionOf(Long.class));
+    }
+
+    @Test
+    public void getAccountsMapOfGamesTest() {
+        Team team1 = new Team(null, null, null, true, null, null);
+        Team team2 = new Team(null, null, null, true, null, null);
+        User user0 = new User(FIRSTNAME+ID_0, LASTNAME+ID_0, EMAIL+ID_0, ID_0);
+        User user1 = new User(FIRSTNAME+ID_1, LASTNAME+ID_1, EMAIL+ID_1, ID_1);
+        team1.addPlayer(user0);
+        team2.addPlayer(user1);
+        Game game1 = new Game(team1, team2, null, null, null, null, null, null, null, null);
+        Game game2 = new Game(team2, null, null, null, null, null, null, null, null, null);
+        PremiumUser account1 = new PremiumUser(FIRSTNAME+ID_1, LASTNAME+ID_1,
+                                EMAIL+ID_1, USERNAME+ID_1, ID_1);
+        when(premiumUserServiceMock.findByIds(anyCollectionOf(Long.class)))
+                .thenReturn(Collections.singletonList(account1));
+
+        Map<User, PremiumUser> map = teamService.getAccountsMapOfGames(Arrays.asList(game1, game2));
+
+        Assert.assertEquals(2, map.size());
+        Assert.assertNull(map.get(user0));
+        Assert.assertEquals(account1, map.get(user1));
+        verify(premiumUserServiceMock, times(1)).findByIds(anyCollectionOf(Long.class));
+    }
+
     @Test
     public void getAccountsListWithOutPlayerTest() {
         Team team  = new Team(null, null, null, true, null, null);
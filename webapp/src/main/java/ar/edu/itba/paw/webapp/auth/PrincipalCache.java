@@ -0,0 +1,103 @@
+package ar.edu.itba.paw.webapp.auth;
+
+import ar.edu.itba.paw.models.AuthUser;
+import ar.edu.itba.paw.models.AuthUserChangedEvent;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Credentials of the users that authenticated lately, so a request does not need to query them again. Entries are
+ * dropped once the change of a user is committed, the time to live only bounds how long a missed change lasts.
+ * Credentials loaded while a change was being committed may predate it, they are returned but not cached.
+ */
+@ManagedResource(objectName = "ar.edu.itba.paw.webapp:name=PrincipalCache")
+@Component
+public class PrincipalCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrincipalCache.class);
+
+    private static final int MAX_PRINCIPALS     = 10000;
+    private static final int MINUTES_TO_EXPIRE  = 10;
+
+    private final Cache<String, AuthUser> principals = CacheBuilder.newBuilder()
+            .maximumSize(MAX_PRINCIPALS)
+            .expireAfterWrite(MINUTES_TO_EXPIRE, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    /* Changes committed so far, bumped and checked holding the lock of the cache */
+    private final AtomicLong generation = new AtomicLong();
+
+    public Optional<AuthUser> get(final String username, final Function<String, Optional<AuthUser>> loader) {
+        AuthUser authUser = principals.getIfPresent(username);
+        if (authUser == null) {
+            final long loadGeneration = generation.get();
+            // Absent users are not cached, an account created later must be found right away
+            Optional<AuthUser> loadedUser = loader.apply(username);
+            loadedUser.ifPresent(user -> put(username, user, loadGeneration));
+            return loadedUser;
+        }
+        return Optional.of(authUser);
+    }
+
+    private void put(final String username, final AuthUser authUser, final long loadGeneration) {
+        synchronized (principals) {
+            if (generation.get() == loadGeneration) {
+                principals.put(username, authUser);
+            } else {
+                LOGGER.trace("Credentials of {} may be stale, not caching them", username);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthUserChanged(final AuthUserChangedEvent event) {
+        LOGGER.trace("Dropping cached credentials of {}", event.getUserName());
+        synchronized (principals) {
+            generation.incrementAndGet();
+            principals.invalidate(event.getUserName());
+        }
+    }
+
+    @ManagedOperation
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    @ManagedAttribute
+    public long getSize() {
+        return principals.size();
+    }
+
+    @ManagedAttribute
+    public double getHitRate() {
+        return principals.stats().hitRate();
+    }
+
+    @ManagedAttribute
+    public long getHitCount() {
+        return principals.stats().hitCount();
+    }
+
+    @ManagedAttribute
+    public long getMissCount() {
+        return principals.stats().missCount();
+    }
+
+    @ManagedAttribute
+    public long getEvictionCount() {
+        return principals.stats().evictionCount();
+    }
+}
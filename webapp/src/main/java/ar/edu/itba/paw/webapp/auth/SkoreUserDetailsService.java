@@ -2,8 +2,7 @@ package ar.edu.itba.paw.webapp.auth;
 
 import ar.edu.itba.paw.exceptions.notfound.UserNotFoundException;
 import ar.edu.itba.paw.interfaces.PremiumUserService;
-import ar.edu.itba.paw.models.PremiumUser;
-import ar.edu.itba.paw.models.Role;
+import ar.edu.itba.paw.models.AuthUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,7 +16,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Set;
 
 @ComponentScan("ar.itba.edu.paw.webapp.auth")
 @Component
@@ -28,14 +26,16 @@ public class SkoreUserDetailsService implements UserDetailsService {
     @Autowired
     private PremiumUserService us;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
-        PremiumUser user = us.findByUserName(username)
+        AuthUser user = principalCache.get(username, us::findAuthUser)
                 .orElseThrow(() -> new UsernameNotFoundException("No user found with username: " + username));
         final Collection<GrantedAuthority> authorities = new ArrayList<>();
-        Set<Role> roles = user.getRoles();
-        for(Role role : roles) {
-            authorities.add(new SimpleGrantedAuthority(role.getName()));
+        for(String role : user.getRoles()) {
+            authorities.add(new SimpleGrantedAuthority(role));
         }
         LOGGER.trace("username found: {} with password: {} and authorities: {}", user.getUserName(), user.getPassword(), authorities);
         return new org.springframework.security.core.userdetails.User(username, user.getPassword(), authorities);
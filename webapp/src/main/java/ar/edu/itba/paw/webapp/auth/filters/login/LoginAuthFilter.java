@@ -3,6 +3,7 @@ package ar.edu.itba.paw.webapp.auth.filters.login;
 import ar.edu.itba.paw.exceptions.AlreadyLoggedException;
 import ar.edu.itba.paw.exceptions.InvalidLoginException;
 import ar.edu.itba.paw.interfaces.SessionService;
+import ar.edu.itba.paw.models.LoggedUser;
 import ar.edu.itba.paw.webapp.dto.LoginDto;
 import ar.edu.itba.paw.webapp.utils.JSONUtils;
 import org.apache.commons.io.IOUtils;
@@ -44,7 +45,7 @@ public class LoginAuthFilter extends UsernamePasswordAuthenticationFilter {
         UsernamePasswordAuthenticationToken token =
                 new UsernamePasswordAuthenticationToken(loginDto.getUsername(),
                         loginDto.getPassword());
-        this.setDetails(request, token);
+        token.setDetails(new LoggedUser());
         return this.getAuthenticationManager().authenticate(token);
     }
 
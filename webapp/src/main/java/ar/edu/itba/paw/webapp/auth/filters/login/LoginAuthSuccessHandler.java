@@ -1,7 +1,6 @@
 package ar.edu.itba.paw.webapp.auth.filters.login;
 
 import ar.edu.itba.paw.exceptions.notfound.UserNotFoundException;
-import ar.edu.itba.paw.interfaces.PremiumUserService;
 import ar.edu.itba.paw.interfaces.SessionService;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.webapp.auth.token.JWTUtility;
@@ -30,9 +29,6 @@ public class LoginAuthSuccessHandler implements AuthenticationSuccessHandler {
     @Autowired
     private JWTUtility jwtUtility;
 
-    @Autowired
-    private PremiumUserService premiumUserService;
-
     @Autowired
     private SessionService sessionService;
 
@@ -41,7 +37,7 @@ public class LoginAuthSuccessHandler implements AuthenticationSuccessHandler {
                                         Authentication authentication) throws IOException {
         LOGGER.info("{} has been successfully authenticate", authentication.getName());
 
-        PremiumUser premiumUser = premiumUserService.findByUserName(authentication.getName())
+        PremiumUser premiumUser = sessionService.getLoggedUser()
                 .orElseThrow(()-> UserNotFoundException.ofUsername(authentication.getName())); // Should never happen
 
         httpServletResponse.addHeader(TOKEN_HEADER, jwtUtility.createToken(premiumUser));
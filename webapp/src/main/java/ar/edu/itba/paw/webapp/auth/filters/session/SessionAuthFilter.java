@@ -3,6 +3,7 @@ package ar.edu.itba.paw.webapp.auth.filters.session;
 import ar.edu.itba.paw.exceptions.notfound.NoJWTFoundException;
 import ar.edu.itba.paw.exceptions.UnauthorizedException;
 import ar.edu.itba.paw.interfaces.JWTService;
+import ar.edu.itba.paw.models.LoggedUser;
 import ar.edu.itba.paw.webapp.auth.token.JWTUsernamePasswordAuthToken;
 import ar.edu.itba.paw.webapp.auth.token.JWTUtility;
 import io.jsonwebtoken.Claims;
@@ -75,6 +76,7 @@ public class SessionAuthFilter extends AbstractAuthenticationProcessingFilter {
         }
         else {
             LOGGER.trace("Give JWT access");
+            token.get().setDetails(new LoggedUser());
             auth = getAuthenticationManager().authenticate(token.get());
             if(adminAuthEndpointsMatcher.matches(httpServletRequest)
                     && !auth.getAuthorities().contains(new SimpleGrantedAuthority(ADMIN))) {
@@ -1,31 +1,39 @@
 package ar.edu.itba.paw.webapp.auth.token;
 
 import ar.edu.itba.paw.interfaces.JWTService;
-import ar.edu.itba.paw.models.JWT;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
+@Component
 public class JWTBlacklistCleaner {
 
     private final Logger LOGGER = LoggerFactory.getLogger(JWTBlacklistCleaner.class);
 
-    private final int ONE_DAY = 24 * 3600 * 1000;
+    private final int ONE_HOUR = 3600 * 1000;
+
+    private final int TOKENS_PER_BATCH = 1000;
 
     @Autowired
     private JWTService jwtservice;
 
-    @Scheduled(fixedDelay = 2 * ONE_DAY, initialDelay = 0) //TODO calibrate
+    // Each batch is its own transaction, so a big logout wave never holds many rows locked at once
+    @Scheduled(fixedDelay = ONE_HOUR, initialDelay = 0)
     public void clean() {
         LOGGER.info("Going to clean blacklist");
-        LocalDateTime now = LocalDateTime.now();
-        List<JWT> jwts = jwtservice.getAll();
-        jwts.stream().filter((jwt)->jwt.getExpiry() != null && jwt.getExpiry().isBefore(now))
-                .forEach((jwt)-> jwtservice.delete(jwt));
-        LOGGER.info("Blacklist is clean");
+        final long start = System.currentTimeMillis();
+        final LocalDateTime now = LocalDateTime.now();
+        int deletedTokens = 0;
+        int deletedBatch;
+        do {
+            deletedBatch = jwtservice.deleteExpired(now, TOKENS_PER_BATCH);
+            deletedTokens += deletedBatch;
+        } while (deletedBatch == TOKENS_PER_BATCH);
+        LOGGER.info("Blacklist is clean, {} expired tokens deleted in {} ms", deletedTokens,
+                System.currentTimeMillis() - start);
     }
 }
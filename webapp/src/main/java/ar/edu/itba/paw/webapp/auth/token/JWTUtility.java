@@ -1,6 +1,9 @@
 package ar.edu.itba.paw.webapp.auth.token;
 
+import ar.edu.itba.paw.models.JWT;
 import ar.edu.itba.paw.models.PremiumUser;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,21 +13,40 @@ import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JWTUtility {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JWTUtility.class);
 
+    private static final int MAX_VALIDATED_TOKENS = 10000;
+
     private final String secret;
     private final long maxValidTime;
     private final SecureRandom secureRandom;
+    private final JwtParser parser;
+
+    /* Claims of the tokens whose signature was already checked, by token hash */
+    private final Cache<String, Claims> validatedClaims;
 
     @Autowired
     public JWTUtility(Environment environment) {
-        this.secret = environment.getRequiredProperty(environment.getRequiredProperty("state") + ".token.secret");
-        this.maxValidTime = environment.getRequiredProperty(environment.getRequiredProperty("state") + ".token.time", Integer.class);
+        this(environment.getRequiredProperty(environment.getRequiredProperty("state") + ".token.secret"),
+                environment.getRequiredProperty(environment.getRequiredProperty("state") + ".token.time",
+                        Integer.class));
+    }
+
+    /* package */ JWTUtility(String secret, long maxValidTime) {
+        this.secret = secret;
+        this.maxValidTime = maxValidTime;
         this.secureRandom = new SecureRandom();
+        this.parser = Jwts.parser().setSigningKey(secret);
+        // No token outlives maxValidTime, the expiration of each entry is checked when it is read
+        this.validatedClaims = CacheBuilder.newBuilder()
+                .maximumSize(MAX_VALIDATED_TOKENS)
+                .expireAfterWrite(maxValidTime, TimeUnit.MILLISECONDS)
+                .build();
     }
 
     public String createToken(PremiumUser premiumUser) {
@@ -40,9 +62,30 @@ public class JWTUtility {
     }
 
     public Claims validateTokenString(String tokenString) {
+        if (tokenString == null) {
+            return null;
+        }
+        final String tokenHash = JWT.hashOf(tokenString);
+        Claims claims = validatedClaims.getIfPresent(tokenHash);
+        if (claims != null) {
+            if (claims.getExpiration().after(new Date())) {
+                return claims;
+            }
+            validatedClaims.invalidate(tokenHash);
+            LOGGER.warn("Error validating Jason Web Token: Invalid expiration date");
+            return null;
+        }
+        claims = parseTokenString(tokenString);
+        if (claims != null) {
+            validatedClaims.put(tokenHash, claims);
+        }
+        return claims;
+    }
+
+    /* package */ Claims parseTokenString(String tokenString) {
         Claims claims;
         try {
-            Jwt token = Jwts.parser().setSigningKey(secret).parse(tokenString);
+            Jwt token = parser.parse(tokenString);
             claims = (Claims) token.getBody();
             Header header = token.getHeader();
             Date timeNow = new Date();
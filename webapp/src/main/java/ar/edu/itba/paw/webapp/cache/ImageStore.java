@@ -0,0 +1,239 @@
+package ar.edu.itba.paw.webapp.cache;
+
+import ar.edu.itba.paw.models.Image;
+import ar.edu.itba.paw.webapp.utils.ImageUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Images on the local filesystem, each in a file named after the hex SHA-256 of its content under two levels of
+ * directories taken from the start of the hash. The images table stays the durable copy: uploads are written here
+ * and images missing on disk are written the first time they are asked for, after that serving an image does not
+ * touch the database. Files are never modified, a file that exists holds the whole image. Uploads are written only
+ * once the row is committed, and an image is served only while its row exists: the file and its variants are
+ * removed with the row or as soon as the row is found missing.
+ *
+ * Next to every image are its variants, re-encoded with the sizes of {@link ImageUtils#VARIANT_SIZES}. They are
+ * built in the background once the image is stored, the original is served until they are ready.
+ */
+@Component
+public class ImageStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageStore.class);
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{" + Image.HASH_LENGTH + "}");
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String VARIANT_SEPARATOR = "-";
+
+    private static final int MAX_KNOWN_IMAGES   = 10000;
+    private static final int MINUTES_TO_EXPIRE  = 1;
+
+    private final Path directory;
+
+    /* A single thread, resizing is all CPU and never urgent */
+    private final ExecutorService variantsExecutor;
+
+    /* Hashes whose variants are being built */
+    private final Set<String> pendingVariants = ConcurrentHashMap.newKeySet();
+
+    /* Hashes recently found in the images table, absent ones are not cached so a new upload is found right away */
+    private final Cache<String, Boolean> knownImages = CacheBuilder.newBuilder()
+            .maximumSize(MAX_KNOWN_IMAGES)
+            .expireAfterWrite(MINUTES_TO_EXPIRE, TimeUnit.MINUTES)
+            .build();
+
+    @Autowired
+    public ImageStore(Environment environment) {
+        this(Paths.get(environment.getRequiredProperty(environment.getRequiredProperty("state") +
+                ".images.directory")), Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("image-variants-%d").setDaemon(true).build()));
+    }
+
+    /* package */ ImageStore(Path directory, ExecutorService variantsExecutor) {
+        this.directory = directory;
+        this.variantsExecutor = variantsExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantsExecutor.shutdownNow();
+    }
+
+    public static boolean isHash(final String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    public String store(final byte[] content) {
+        final String hash = Image.hashOf(content);
+        final Path image = pathOf(hash);
+        if (Files.exists(image)) {
+            return hash;
+        }
+        write(image, content);
+        LOGGER.trace("Stored image {}", hash);
+        storeVariants(hash);
+        return hash;
+    }
+
+    /**
+     * Stores an image whose row was already committed. Failing to write it is not an error of the request, the
+     * image is written the first time it is asked for.
+     */
+    public void storeCommitted(final byte[] content) {
+        if (content == null) {
+            return;
+        }
+        try {
+            knownImages.put(store(content), Boolean.TRUE);
+        } catch (UncheckedIOException e) {
+            LOGGER.trace("Image will be stored when first asked for");
+        }
+    }
+
+    /* Whether the images table has the hash, removing what is on disk when it does not */
+    public boolean exists(final String hash, final Predicate<String> imageRowExists) {
+        if (!isHash(hash)) {
+            return false;
+        }
+        if (knownImages.getIfPresent(hash) != null) {
+            return true;
+        }
+        if (!imageRowExists.test(hash)) {
+            remove(hash);
+            return false;
+        }
+        knownImages.put(hash, Boolean.TRUE);
+        return true;
+    }
+
+    /* Removes the image and its variants, once its row is removed */
+    public void remove(final String hash) {
+        if (!isHash(hash)) {
+            return;
+        }
+        knownImages.invalidate(hash);
+        delete(pathOf(hash));
+        for (int size : ImageUtils.VARIANT_SIZES) {
+            delete(variantPathOf(hash, size));
+        }
+    }
+
+    public Optional<Path> find(final String hash) {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        final Path image = pathOf(hash);
+        return Files.exists(image) ? Optional.of(image) : Optional.empty();
+    }
+
+    /* Finds the image, storing what the loader returns when it is not on disk yet */
+    public Optional<Path> find(final String hash, final Supplier<Optional<byte[]>> loader) {
+        final Optional<Path> image = find(hash);
+        if (image.isPresent() || !isHash(hash)) {
+            return image;
+        }
+        return loader.get()
+                .filter(content -> hash.equals(Image.hashOf(content)))
+                .map(content -> pathOf(store(content)));
+    }
+
+    /**
+     * Finds the smallest variant that is at least size pixels, or the original when there is none or it is not
+     * built yet. The name of the file found tells the one it is.
+     */
+    public Optional<Path> find(final String hash, final Integer size, final Supplier<Optional<byte[]>> loader) {
+        final Optional<Path> image = find(hash, loader);
+        final Optional<Integer> variantSize = ImageUtils.variantSizeFor(size);
+        if (!image.isPresent() || !variantSize.isPresent()) {
+            return image;
+        }
+        final Path variant = variantPathOf(hash, variantSize.get());
+        if (Files.exists(variant)) {
+            return Optional.of(variant);
+        }
+        // Stored before variants existed, or they are still being built
+        storeVariants(hash);
+        return image;
+    }
+
+    private void storeVariants(final String hash) {
+        if (!pendingVariants.add(hash)) {
+            return;
+        }
+        variantsExecutor.execute(() -> {
+            try {
+                final byte[] content = Files.readAllBytes(pathOf(hash));
+                for (int size : ImageUtils.VARIANT_SIZES) {
+                    final Path variant = variantPathOf(hash, size);
+                    if (!Files.exists(variant)) {
+                        write(variant, ImageUtils.resize(content, size));
+                    }
+                }
+                LOGGER.trace("Stored variants of image {}", hash);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error("Can't store variants of image {}", hash, e);
+            } finally {
+                pendingVariants.remove(hash);
+            }
+        });
+    }
+
+    private void write(final Path file, final byte[] content) {
+        try {
+            Files.createDirectories(file.getParent());
+            // Written aside and moved in place, so a file under its name is always complete
+            final Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(),
+                    TEMPORARY_SUFFIX);
+            try {
+                Files.write(temporary, content);
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Can't store {} in {}", file.getFileName(), directory, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void delete(final Path file) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                LOGGER.trace("Removed {}", file.getFileName());
+            }
+        } catch (IOException e) {
+            LOGGER.error("Can't remove {} from {}", file.getFileName(), directory, e);
+        }
+    }
+
+    private Path pathOf(final String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Path variantPathOf(final String hash, final int size) {
+        return pathOf(hash).resolveSibling(hash + VARIANT_SEPARATOR + size);
+    }
+}
@@ -0,0 +1,91 @@
+package ar.edu.itba.paw.webapp.config;
+
+import ar.edu.itba.paw.models.Role;
+import ar.edu.itba.paw.models.Sport;
+import ar.edu.itba.paw.models.Team;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hits and misses of the second level cache of Hibernate, overall and for each of the cached regions.
+ */
+@ManagedResource(objectName = "ar.edu.itba.paw.webapp:name=EntityCacheStatistics")
+@Component
+public class EntityCacheStatistics {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ManagedAttribute
+    public long getHitCount() {
+        return getStatistics().getSecondLevelCacheHitCount();
+    }
+
+    @ManagedAttribute
+    public long getMissCount() {
+        return getStatistics().getSecondLevelCacheMissCount();
+    }
+
+    @ManagedAttribute
+    public long getPutCount() {
+        return getStatistics().getSecondLevelCachePutCount();
+    }
+
+    @ManagedAttribute
+    public long getQueryCacheHitCount() {
+        return getStatistics().getQueryCacheHitCount();
+    }
+
+    @ManagedAttribute
+    public long getQueryCacheMissCount() {
+        return getStatistics().getQueryCacheMissCount();
+    }
+
+    @ManagedAttribute
+    public String getSportsRegion() {
+        return describeRegion(Sport.CACHE_REGION);
+    }
+
+    @ManagedAttribute
+    public String getRolesRegion() {
+        return describeRegion(Role.CACHE_REGION);
+    }
+
+    @ManagedAttribute
+    public String getTeamsRegion() {
+        return describeRegion(Team.CACHE_REGION);
+    }
+
+    @ManagedAttribute
+    public String getSportsQueryRegion() {
+        return describeRegion(Sport.QUERY_CACHE_REGION);
+    }
+
+    @ManagedOperation
+    public String describeRegion(final String region) {
+        final SecondLevelCacheStatistics regionStatistics = getStatistics().getSecondLevelCacheStatistics(region);
+        if (regionStatistics == null) {
+            return "Unknown region " + region;
+        }
+        return String.format("hits=%d, misses=%d, puts=%d, entries=%d", regionStatistics.getHitCount(),
+                regionStatistics.getMissCount(), regionStatistics.getPutCount(),
+                regionStatistics.getElementCountInMemory());
+    }
+
+    @ManagedOperation
+    public void clear() {
+        getStatistics().clear();
+    }
+
+    private Statistics getStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -6,11 +6,13 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableMBeanExport;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.annotation.PropertySources;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.core.env.Environment;
 import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jmx.support.RegistrationPolicy;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -18,6 +20,7 @@ import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
@@ -30,20 +33,25 @@ import java.nio.charset.StandardCharsets;
 import java.util.Properties;
 
 @EnableAsync
+@EnableMBeanExport(registration = RegistrationPolicy.IGNORE_EXISTING)
+@EnableScheduling
 @EnableTransactionManagement
 @EnableWebMvc
 @ComponentScan({ "ar.edu.itba.paw.webapp.controller", "ar.edu.itba.paw.services", "ar.edu.itba.paw.persistence",
-        "ar.edu.itba.paw.webapp.config", "ar.edu.itba.paw.webapp.constants",})
+        "ar.edu.itba.paw.webapp.config", "ar.edu.itba.paw.webapp.constants", "ar.edu.itba.paw.webapp.jobs",
+        "ar.edu.itba.paw.webapp.cache",})
 @Configuration
 @PropertySources({
         @PropertySource(value = "classpath:properties/local/db.properties"),
         @PropertySource(value = "classpath:properties/local/email.properties"),
         @PropertySource(value = "classpath:properties/local/url.properties"),
         @PropertySource(value = "classpath:properties/local/token.properties"),
+        @PropertySource(value = "classpath:properties/local/images.properties"),
         @PropertySource(value = "classpath:properties/production/db.properties"),
         @PropertySource(value = "classpath:properties/production/email.properties"),
         @PropertySource(value = "classpath:properties/production/url.properties"),
         @PropertySource(value = "classpath:properties/production/token.properties"),
+        @PropertySource(value = "classpath:properties/production/images.properties"),
         @PropertySource(value = "classpath:properties/state.properties"),
         //If it is conflict in properties it keep the last one
 })
@@ -147,6 +155,19 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         final Properties properties = new Properties();
         properties.setProperty("hibernate.hbm2ddl.auto", "update");
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQL92Dialect");
+        // Search queries come in a few fixed shapes, a small plan cache is enough to keep all of them compiled
+        properties.setProperty("hibernate.query.plan_cache_max_size", "256");
+        properties.setProperty("hibernate.query.plan_parameter_metadata_max_size", "64");
+        // Batches are padded to a few fixed sizes, so a batch of any size is one select with a cached plan
+        properties.setProperty("hibernate.batch_fetch_style", "PADDED");
+        // Sports, roles and teams are read by almost every request and seldom change, see ehcache.xml for the
+        // size and time to live of each region
+        properties.setProperty("hibernate.cache.use_second_level_cache", "true");
+        properties.setProperty("hibernate.cache.use_query_cache", "true");
+        properties.setProperty("hibernate.cache.region.factory_class",
+                "org.hibernate.cache.ehcache.SingletonEhCacheRegionFactory");
+        properties.setProperty("net.sf.ehcache.configurationResourceName", "/ehcache.xml");
+        properties.setProperty("hibernate.generate_statistics", "true");
 
         factoryBean.setJpaProperties(properties);
 
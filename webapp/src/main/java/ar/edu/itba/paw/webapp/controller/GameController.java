@@ -7,8 +7,10 @@ import ar.edu.itba.paw.models.Game;
 import ar.edu.itba.paw.models.GameSort;
 import ar.edu.itba.paw.models.Page;
 import ar.edu.itba.paw.models.Place;
+import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.QueryList;
 import ar.edu.itba.paw.models.Team;
+import ar.edu.itba.paw.models.User;
 import ar.edu.itba.paw.webapp.constants.URLConstants;
 import ar.edu.itba.paw.webapp.dto.DateDto;
 import ar.edu.itba.paw.webapp.dto.GameDto;
@@ -49,6 +51,7 @@ import javax.ws.rs.core.UriInfo;
 
 import java.time.LocalDateTime;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 import static ar.edu.itba.paw.webapp.constants.HeaderConstants.CODE_HEADER;
@@ -94,10 +97,11 @@ public class GameController {
                              @QueryParam("createdBy") QueryList usernamesCreatorsInclude,
                              @QueryParam("notCreatedBy") QueryList usernamesCreatorsNotInclude,
                              @QueryParam("limit") String limit, @QueryParam("offset") String offset,
+                             @QueryParam("after") String after,
                              @QueryParam("sortBy") GameSort sort, @Context UriInfo uriInfo,
                              @QueryParam("hasResult") String hasResult, @QueryParam("onlyLikedUsers") String onlyLikedUsers,
                              @QueryParam("onlyLikedSports") String onlyLikedSports) {
-        Page<GameDto> page = gameService.findGamesPage(QueryParamsUtils.localDateTimeOrNull(minStartTime),
+        Page<Game> games = gameService.findGamesPage(QueryParamsUtils.localDateTimeOrNull(minStartTime),
                 QueryParamsUtils.localDateTimeOrNull(maxStartTime), QueryParamsUtils.localDateTimeOrNull(minFinishTime),
                 QueryParamsUtils.localDateTimeOrNull(maxFinishTime), QueryParamsUtils.getQueryListOrNull(types),
                 QueryParamsUtils.getQueryListOrNull(sports), QueryParamsUtils.positiveIntegerOrNull(minQuantity),
@@ -106,10 +110,11 @@ public class GameController {
                 QueryParamsUtils.positiveIntegerOrNull(minFreePlaces), QueryParamsUtils.positiveIntegerOrNull(maxFreePlaces),
                 QueryParamsUtils.getQueryListOrNull(usernamesPlayersInclude), QueryParamsUtils.getQueryListOrNull(usernamesPlayersNotInclude),
                 QueryParamsUtils.getQueryListOrNull(usernamesCreatorsInclude), QueryParamsUtils.getQueryListOrNull(usernamesCreatorsNotInclude),
-                QueryParamsUtils.positiveIntegerOrNull(limit), QueryParamsUtils.positiveIntegerOrNull(offset), sort,
+                QueryParamsUtils.positiveIntegerOrNull(limit), QueryParamsUtils.positiveIntegerOrNull(offset), after, sort,
                 QueryParamsUtils.booleanOrNull(hasResult), QueryParamsUtils.booleanOrElse(onlyLikedUsers, false),
-                QueryParamsUtils.booleanOrElse(onlyLikedSports, false))
-                .map((game) ->GameDto.from(game, getTeam(game.getTeam1()), getTeam(game.getTeam2())));
+                QueryParamsUtils.booleanOrElse(onlyLikedSports, false));
+        final Map<User, PremiumUser> accounts = teamService.getAccountsMapOfGames(games.getData());
+        Page<GameDto> page = games.map((game) -> GameDto.from(game, accounts));
 
         LOGGER.trace("Matches successfully gotten");
         return Response.ok().entity(GamePageDto.from(page, uriInfo)).build();
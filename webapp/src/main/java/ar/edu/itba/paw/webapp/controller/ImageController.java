@@ -0,0 +1,119 @@
+package ar.edu.itba.paw.webapp.controller;
+
+import ar.edu.itba.paw.interfaces.ImageService;
+import ar.edu.itba.paw.webapp.cache.ImageStore;
+import ar.edu.itba.paw.webapp.constants.URLConstants;
+import ar.edu.itba.paw.webapp.exceptions.ApiException;
+import ar.edu.itba.paw.webapp.utils.CacheUtils;
+import ar.edu.itba.paw.webapp.utils.ImageUtils;
+import ar.edu.itba.paw.webapp.utils.QueryParamsUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import static ar.edu.itba.paw.webapp.controller.ImageController.BASE_PATH;
+
+@Controller
+@Path(BASE_PATH)
+@Produces({MediaType.APPLICATION_JSON})
+public class ImageController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageController.class);
+
+    public static final String BASE_PATH = "images";
+    private static final int ONE_YEAR = 365 * 24 * 3600;
+
+    /* package */ static final String IMAGE_TYPE = "image/*";
+
+    @Autowired
+    @Qualifier("imageServiceImpl")
+    private ImageService imageService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    public static String getImageEndpoint(final String hash) {
+        return URLConstants.getApiBaseUrlBuilder().path(BASE_PATH).path(hash).toTemplate();
+    }
+
+    @GET
+    @Path("/{hash}")
+    public Response getImage(@PathParam("hash") String hash, @QueryParam("size") String size,
+                             @Context Request request) {
+        if (!imageStore.exists(hash, imageService::exists)) {
+            LOGGER.trace("Image {} does not exist", hash);
+            throw ApiException.of(HttpStatus.NOT_FOUND, "Image '" + hash + "' does not exist");
+        }
+        // The url names the content, a client holding this tag has the image whatever there is on disk
+        final CacheControl cache = CacheUtils.getImmutableCacheControl(ONE_YEAR);
+        final Integer requestedSize = QueryParamsUtils.positiveIntegerOrNull(size);
+        if (requestedSize == null) {
+            final Response.ResponseBuilder notModified = request.evaluatePreconditions(new EntityTag(hash));
+            if (notModified != null) {
+                LOGGER.trace("Image {} not modified", hash);
+                return notModified.cacheControl(cache).build();
+            }
+        }
+        final java.nio.file.Path image = imageStore.find(hash, requestedSize, () -> imageService.read(hash))
+                .orElseThrow(() -> {
+                    LOGGER.trace("Image {} does not exist", hash);
+                    return ApiException.of(HttpStatus.NOT_FOUND, "Image '" + hash + "' does not exist");
+                });
+        return imageResponse(request, image, requestedSize, cache);
+    }
+
+    /**
+     * Streams the file from disk without loading it, or answers 304 when the client has the same image. Files of
+     * the image store are named after their content, the name is the tag. The original found in place of a variant
+     * still being built is revalidated on every use, so the variant replaces it once it is ready.
+     */
+    /* package */ static Response imageResponse(final Request request, final java.nio.file.Path image,
+                                                final Integer requestedSize, final CacheControl cache) {
+        final boolean isVariantPending = ImageUtils.variantSizeFor(requestedSize).isPresent() &&
+                ImageStore.isHash(image.getFileName().toString());
+        final CacheControl imageCache = isVariantPending ? CacheUtils.getNoCacheControl() : cache;
+        final EntityTag eTag = new EntityTag(image.getFileName().toString());
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(eTag);
+        if (notModified != null) {
+            return notModified.cacheControl(imageCache).build();
+        }
+        final long length = image.toFile().length();
+        final StreamingOutput content = output -> transfer(image, length, output);
+        return Response.ok(content).header(HttpHeaders.CONTENT_TYPE, IMAGE_TYPE)
+                .header(HttpHeaders.CONTENT_LENGTH, length).tag(eTag).cacheControl(imageCache).build();
+    }
+
+    private static void transfer(final java.nio.file.Path image, final long length, final OutputStream output)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(image, StandardOpenOption.READ)) {
+            final WritableByteChannel target = Channels.newChannel(output);
+            long position = 0;
+            while (position < length) {
+                position += channel.transferTo(position, length - position, target);
+            }
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package ar.edu.itba.paw.webapp.controller;
 
 import ar.edu.itba.paw.exceptions.notfound.SportNotFoundException;
+import ar.edu.itba.paw.exceptions.notfound.UserNotFoundException;
+import ar.edu.itba.paw.interfaces.ImageService;
+import ar.edu.itba.paw.interfaces.LeaderboardService;
 import ar.edu.itba.paw.interfaces.SportService;
+import ar.edu.itba.paw.models.LeaderboardEntry;
+import ar.edu.itba.paw.models.LeaderboardType;
 import ar.edu.itba.paw.models.Page;
 import ar.edu.itba.paw.models.QueryList;
 import ar.edu.itba.paw.models.Sport;
 import ar.edu.itba.paw.models.SportSort;
+import ar.edu.itba.paw.webapp.cache.ImageStore;
 import ar.edu.itba.paw.webapp.constants.URLConstants;
+import ar.edu.itba.paw.webapp.dto.LeaderboardEntryDto;
+import ar.edu.itba.paw.webapp.dto.LeaderboardPageDto;
 import ar.edu.itba.paw.webapp.dto.SportDto;
 import ar.edu.itba.paw.webapp.dto.SportPageDto;
 import ar.edu.itba.paw.webapp.exceptions.ApiException;
@@ -19,7 +27,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -33,13 +40,14 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.core.UriInfo;
 
-import java.util.Date;
+import java.util.Optional;
 
 import static ar.edu.itba.paw.webapp.constants.MessageConstants.SERVER_ERROR_GENERIC_MESSAGE;
 import static ar.edu.itba.paw.webapp.controller.SportController.BASE_PATH;
@@ -58,6 +66,17 @@ public class SportController {
     @Qualifier("sportServiceImpl")
     private SportService sportService;
 
+    @Autowired
+    @Qualifier("leaderboardServiceImpl")
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    @Qualifier("imageServiceImpl")
+    private ImageService imageService;
+
+    @Autowired
+    private ImageStore imageStore;
+
     public static String getSportEndpoint(final String sportname) {
         return URLConstants.getApiBaseUrlBuilder().path(BASE_PATH).path(sportname).toTemplate();
     }
@@ -66,19 +85,29 @@ public class SportController {
         return URLConstants.getApiBaseUrlBuilder().path(BASE_PATH).path(sportname).path("image").toTemplate();
     }
 
+    /* The url of the image itself when the sport has one, it can be cached forever */
+    public static String getSportImageEndpoint(final Sport sport) {
+        return Optional.ofNullable(sport.getImageHash()).map(ImageController::getImageEndpoint)
+                .orElseGet(() -> getSportImageEndpoint(sport.getName()));
+    }
+
     @GET
     @Path("/{sportname}/image")
-    public Response getImageSport(@PathParam("sportname") String sportname) {
+    public Response getImageSport(@PathParam("sportname") String sportname, @QueryParam("size") String size,
+                                  @Context Request request) {
         LOGGER.trace("Trying to retrieve image of sport '{}'", sportname);
-        byte[] media = sportService.readImage(sportname).orElseThrow(() -> {
-            LOGGER.trace("Sport '{}' image does not exist", sportname);
-            return ApiException.of(HttpStatus.INTERNAL_SERVER_ERROR, SERVER_ERROR_GENERIC_MESSAGE);
-        });
+        final String imageHash = sportService.findByName(sportname)
+                .orElseThrow(() -> SportNotFoundException.ofId(sportname))
+                .getImageHash();
+        final Integer requestedSize = QueryParamsUtils.positiveIntegerOrNull(size);
+        java.nio.file.Path media = imageStore.find(imageHash, requestedSize,
+                () -> imageService.read(imageHash)).orElseThrow(() -> {
+                    LOGGER.trace("Sport '{}' image does not exist", sportname);
+                    return ApiException.of(HttpStatus.INTERNAL_SERVER_ERROR, SERVER_ERROR_GENERIC_MESSAGE);
+                });
         CacheControl cache = CacheUtils.getCacheControl(ONE_HOUR);
-        Date expireDate = CacheUtils.getExpire(ONE_HOUR);
         LOGGER.trace("Sport '{}' image retrieved successfully", sportname);
-        return Response.ok(media).header(HttpHeaders.CONTENT_TYPE, com.google.common.net.MediaType.ANY_IMAGE_TYPE)
-                .cacheControl(cache).expires(expireDate).build();
+        return ImageController.imageResponse(request, media, requestedSize, cache);
     }
 
     @GET
@@ -106,6 +135,38 @@ public class SportController {
         return Response.ok(SportDto.from(sport)).build();
     }
 
+    @GET
+    @Path("/{sportname}/leaderboard")
+    public Response getLeaderboard(@PathParam("sportname") String sportname,
+                                   @QueryParam("sortBy") String sortBy,
+                                   @QueryParam("limit") String limit, @QueryParam("offset") String offset,
+                                   @Context UriInfo uriInfo) {
+        Page<LeaderboardEntryDto> page = leaderboardService.getLeaderboard(sportname, getLeaderboardType(sortBy),
+                QueryParamsUtils.positiveIntegerOrNull(offset), QueryParamsUtils.positiveIntegerOrNull(limit))
+                .map(LeaderboardEntryDto::from);
+        LOGGER.trace("Leaderboard of sport '{}' successfully gotten", sportname);
+        return Response.ok(LeaderboardPageDto.from(page, uriInfo)).build();
+    }
+
+    @GET
+    @Path("/{sportname}/leaderboard/{username}")
+    public Response getLeaderboardRank(@PathParam("sportname") String sportname,
+                                       @PathParam("username") String username,
+                                       @QueryParam("sortBy") String sortBy) {
+        LeaderboardEntry entry = leaderboardService.getRank(sportname, username, getLeaderboardType(sortBy))
+                .orElseThrow(() -> {
+                    LOGGER.trace("User '{}' is not ranked in sport '{}'", username, sportname);
+                    return UserNotFoundException.ofUsername(username);
+                });
+        LOGGER.trace("Rank of user '{}' in sport '{}' successfully gotten", username, sportname);
+        return Response.ok(LeaderboardEntryDto.from(entry)).build();
+    }
+
+    private LeaderboardType getLeaderboardType(String sortBy) {
+        return (sortBy == null) ? LeaderboardType.WIN_RATE :
+                LeaderboardType.from(sortBy).orElse(LeaderboardType.WIN_RATE);
+    }
+
     @DELETE
     @Path("/{sportname}")
     public Response deleteASport(@PathParam("sportname") String sportname) {
@@ -123,6 +184,7 @@ public class SportController {
         final SportDto sportDto = JSONUtils.jsonToObject(requestBody, SportDto.class);
         byte[] imageBytes = ImageValidators.validateAndProcessImage(sportDto.getImageSport());
         Sport newSport = sportService.modifySport(sportname, sportDto.getDisplayName(), sportDto.getPlayerQuantity(), imageBytes);
+        imageStore.storeCommitted(imageBytes);
         LOGGER.trace("Sport '{}' modified successfully", sportname);
         return Response.ok(SportDto.from(newSport)).build();
     }
@@ -135,6 +197,7 @@ public class SportController {
         byte[] imageBytes = ImageValidators.validateAndProcessImage(sportDto.getImageSport());
         Sport newSport = sportService.create(sportDto.getSportName(), sportDto.getPlayerQuantity(),
                 sportDto.getDisplayName(), imageBytes);
+        imageStore.storeCommitted(imageBytes);
         LOGGER.trace("Sport '{}' created successfully", sportDto.getSportName());
         return Response.status(HttpStatus.CREATED.value()).entity(SportDto.from(newSport)).build();
     }
@@ -2,17 +2,19 @@ package ar.edu.itba.paw.webapp.controller;
 
 import ar.edu.itba.paw.exceptions.notfound.UserNotFoundException;
 import ar.edu.itba.paw.interfaces.GameService;
+import ar.edu.itba.paw.interfaces.ImageService;
 import ar.edu.itba.paw.interfaces.PremiumUserService;
 import ar.edu.itba.paw.interfaces.TeamService;
+import ar.edu.itba.paw.models.Game;
 import ar.edu.itba.paw.models.GameSort;
 import ar.edu.itba.paw.models.Page;
 import ar.edu.itba.paw.models.PremiumUser;
 import ar.edu.itba.paw.models.QueryList;
 import ar.edu.itba.paw.models.Sport;
-import ar.edu.itba.paw.models.Team;
+import ar.edu.itba.paw.models.User;
 import ar.edu.itba.paw.models.UserSort;
 import ar.edu.itba.paw.webapp.auth.token.JWTUtility;
-import ar.edu.itba.paw.webapp.constants.MessageConstants;
+import ar.edu.itba.paw.webapp.cache.ImageStore;
 import ar.edu.itba.paw.webapp.constants.URLConstants;
 import ar.edu.itba.paw.webapp.dto.AuthDto;
 import ar.edu.itba.paw.webapp.dto.GameDto;
@@ -23,17 +25,17 @@ import ar.edu.itba.paw.webapp.dto.LikeUserDto;
 import ar.edu.itba.paw.webapp.dto.LikeUserPageDto;
 import ar.edu.itba.paw.webapp.dto.PlaceDto;
 import ar.edu.itba.paw.webapp.dto.ProfileDto;
-import ar.edu.itba.paw.webapp.dto.TeamDto;
 import ar.edu.itba.paw.webapp.dto.UserDto;
 import ar.edu.itba.paw.webapp.dto.UserPageDto;
-import ar.edu.itba.paw.webapp.exceptions.ApiException;
 import ar.edu.itba.paw.webapp.utils.CacheUtils;
+import ar.edu.itba.paw.webapp.utils.ImageUtils;
 import ar.edu.itba.paw.webapp.utils.JSONUtils;
 import ar.edu.itba.paw.webapp.utils.LocaleUtils;
 import ar.edu.itba.paw.webapp.utils.QueryParamsUtils;
 import ar.edu.itba.paw.webapp.validators.ImageValidators;
 import ar.edu.itba.paw.webapp.validators.SportValidators;
 import ar.edu.itba.paw.webapp.validators.UserValidators;
+import com.google.common.collect.ImmutableMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,9 +44,10 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.RequestBody;
 
-import javax.imageio.ImageIO;
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -59,15 +62,16 @@ import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 import static ar.edu.itba.paw.webapp.constants.HeaderConstants.CODE_HEADER;
@@ -99,7 +103,18 @@ public class UserController {
     @Autowired
     private JWTUtility jwtUtility;
 
-    private static Resource defaultImage = new ClassPathResource("user-default.png");
+    @Autowired
+    @Qualifier("imageServiceImpl")
+    private ImageService imageService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    private static final Resource DEFAULT_IMAGE = new ClassPathResource("user-default.png");
+
+    /* Shown to users without an image, built once with its variants by size */
+    private byte[] defaultImage;
+    private Map<Integer, byte[]> defaultImageVariants;
 
     public static String getUserProfileEndpoint(final String username) {
         return URLConstants.getApiBaseUrlBuilder().path(BASE_PATH).path(username).path("profile").toTemplate();
@@ -121,6 +136,12 @@ public class UserController {
         return URLConstants.getApiBaseUrlBuilder().path(BASE_PATH).path(username).path("image").toTemplate();
     }
 
+    /* The url of the image itself when the user has one, it can be cached forever */
+    public static String getUserImageEndpoint(final PremiumUser premiumUser) {
+        return Optional.ofNullable(premiumUser.getImageHash()).map(ImageController::getImageEndpoint)
+                .orElseGet(() -> getUserImageEndpoint(premiumUser.getUserName()));
+    }
+
     public static String getLikedUserEndpoint(final String username, final String usernameLiked) {
         return URLConstants.getApiBaseUrlBuilder().path(BASE_PATH).path(username)
                 .path("likedUsers").path(usernameLiked).toTemplate();
@@ -134,15 +155,19 @@ public class UserController {
     @GET
     public Response getUsers(@QueryParam("minReputation") String minReputation,
                              @QueryParam("maxReputation") String maxReputation,
+                             @QueryParam("minWinRate") String minWinRate,
+                             @QueryParam("maxWinRate") String maxWinRate,
                              @QueryParam("likedUsers") QueryList likedUsernames,
                              @QueryParam("sports") QueryList sportsLiked,
                              @QueryParam("usernames") QueryList usernames,
                              @QueryParam("limit") String limit, @QueryParam("offset") String offset,
-                             @QueryParam("sortBy") UserSort sort, @Context UriInfo uriInfo) { //TODO: winrate
+                             @QueryParam("sortBy") UserSort sort, @Context UriInfo uriInfo) {
         Page<UserDto> userPage = premiumUserService.findUsersPage( QueryParamsUtils.getQueryListOrNull(usernames),
                 QueryParamsUtils.getQueryListOrNull(sportsLiked),  QueryParamsUtils.getQueryListOrNull(likedUsernames),
                 QueryParamsUtils.positiveIntegerOrNull(minReputation),
-                QueryParamsUtils.positiveIntegerOrNull(maxReputation), null, null, sort,
+                QueryParamsUtils.positiveIntegerOrNull(maxReputation),
+                QueryParamsUtils.positiveIntegerOrNull(minWinRate),
+                QueryParamsUtils.positiveIntegerOrNull(maxWinRate), sort,
                 QueryParamsUtils.positiveIntegerOrNull(offset), QueryParamsUtils.positiveIntegerOrNull(limit),
                 false).map(UserDto::from);
 
@@ -171,6 +196,7 @@ public class UserController {
                                  @QueryParam("createdBy") QueryList usernamesCreatorsInclude,
                                  @QueryParam("notCreatedBy") QueryList usernamesCreatorsNotInclude,
                                  @QueryParam("limit") String limit, @QueryParam("offset") String offset,
+                                 @QueryParam("after") String after,
                                  @QueryParam("sortBy") GameSort sort, @Context UriInfo uriInfo,
                                  @QueryParam("hasResult") String hasResult, @QueryParam("onlyLikedUsers") String onlyLikedUsers,
                                  @QueryParam("onlyLikedSports") String onlyLikedSports) {
@@ -178,7 +204,7 @@ public class UserController {
             usernamesPlayersInclude = new QueryList(new ArrayList<>());
         }
         usernamesPlayersInclude.getQueryValues().add(username);
-        Page<GameDto> page = gameService.findGamesPage(QueryParamsUtils.localDateTimeOrNull(minStartTime),
+        Page<Game> games = gameService.findGamesPage(QueryParamsUtils.localDateTimeOrNull(minStartTime),
                 QueryParamsUtils.localDateTimeOrNull(maxStartTime), QueryParamsUtils.localDateTimeOrNull(minFinishTime),
                 QueryParamsUtils.localDateTimeOrNull(maxFinishTime),  QueryParamsUtils.getQueryListOrNull(types),
                 QueryParamsUtils.getQueryListOrNull(sports), QueryParamsUtils.positiveIntegerOrNull(minQuantity),
@@ -187,10 +213,11 @@ public class UserController {
                 QueryParamsUtils.positiveIntegerOrNull(minFreePlaces), QueryParamsUtils.positiveIntegerOrNull(maxFreePlaces),
                 QueryParamsUtils.getQueryListOrNull(usernamesPlayersInclude),  QueryParamsUtils.getQueryListOrNull(usernamesPlayersNotInclude),
                 QueryParamsUtils.getQueryListOrNull(usernamesCreatorsInclude),  QueryParamsUtils.getQueryListOrNull(usernamesCreatorsNotInclude),
-                QueryParamsUtils.positiveIntegerOrNull(limit), QueryParamsUtils.positiveIntegerOrNull(offset), sort,
+                QueryParamsUtils.positiveIntegerOrNull(limit), QueryParamsUtils.positiveIntegerOrNull(offset), after, sort,
                 QueryParamsUtils.booleanOrNull(hasResult), QueryParamsUtils.booleanOrElse(onlyLikedUsers, false),
-                QueryParamsUtils.booleanOrElse(onlyLikedSports, false))
-                .map((game) ->GameDto.from(game, getTeam(game.getTeam1()), getTeam(game.getTeam2())));
+                QueryParamsUtils.booleanOrElse(onlyLikedSports, false));
+        final Map<User, PremiumUser> accounts = teamService.getAccountsMapOfGames(games.getData());
+        Page<GameDto> page = games.map((game) -> GameDto.from(game, accounts));
 
         LOGGER.trace("'{}' matches successfully gotten", username);
         return Response.ok().entity(GamePageDto.from(page, uriInfo)).build();
@@ -209,18 +236,21 @@ public class UserController {
 
     @GET
     @Path("/{username}/image")
-    public Response getUserImage(@PathParam("username") String username) {
-        Optional<byte[]> media = premiumUserService.readImage(username);
+    public Response getUserImage(@PathParam("username") String username, @QueryParam("size") String size,
+                                 @Context Request request) {
+        final String imageHash = premiumUserService.findImageHash(username).orElse(null);
+        final Integer requestedSize = QueryParamsUtils.positiveIntegerOrNull(size);
+        Optional<java.nio.file.Path> media = imageStore.find(imageHash, requestedSize,
+                () -> imageService.read(imageHash));
         CacheControl cache = CacheUtils.getCacheControl(ONE_HOUR);
         Date expireDate = CacheUtils.getExpire(ONE_HOUR);
         if (!media.isPresent()) {
             LOGGER.trace("Returning default image: {} has not set an image yet", username);
-            return Response.ok(getDefaultImage()).header(HttpHeaders.CONTENT_TYPE, "image/*")
+            return Response.ok(getDefaultImage(requestedSize)).header(HttpHeaders.CONTENT_TYPE, "image/*")
                     .cacheControl(cache).expires(expireDate).build();
         }
         LOGGER.trace("Returning image for {}", username);
-        return Response.ok(media.get()).header(HttpHeaders.CONTENT_TYPE, "image/*").cacheControl(cache)
-                .expires(expireDate).build();
+        return ImageController.imageResponse(request, media.get(), requestedSize, cache);
     }
 
     @PUT
@@ -244,6 +274,7 @@ public class UserController {
                 userDto.getHome().map(PlaceDto::getStreet).orElse(null),
                 userDto.getReputation(), userDto.getPassword(), userDto.getOldPassword(),image, locale, code
         );
+        imageStore.storeCommitted(image);
         return Response.ok(UserDto.from(updatedPremiumUser)).build();
     }
 
@@ -264,6 +295,7 @@ public class UserController {
                 userDto.getHome().map(PlaceDto::getStreet).orElse(null),
                 userDto.getReputation(), userDto.getPassword(), image, locale
         );
+        imageStore.storeCommitted(image);
         LOGGER.trace("User '{}' created successfully", userDto.getUsername());
         return Response.status(HttpStatus.CREATED.value()).entity(UserDto.from(newPremiumUser))
                 .header("Accept-Language", locale.toString()).build();
@@ -383,17 +415,20 @@ public class UserController {
         return  Response.ok().build();
     }
 
-    private byte[] getDefaultImage() {
-        ByteArrayOutputStream bos;
-        try {
-            BufferedImage bImage = ImageIO.read(defaultImage.getFile());
-            bos = new ByteArrayOutputStream();
-            ImageIO.write(bImage, "png", bos);
+    @PostConstruct
+    public void buildDefaultImages() throws IOException {
+        try (InputStream input = DEFAULT_IMAGE.getInputStream()) {
+            defaultImage = StreamUtils.copyToByteArray(input);
         }
-        catch (IOException e) {
-            throw ApiException.of(HttpStatus.INTERNAL_SERVER_ERROR, MessageConstants.SERVER_ERROR_GENERIC_MESSAGE);
+        final ImmutableMap.Builder<Integer, byte[]> variants = ImmutableMap.builder();
+        for (int variantSize : ImageUtils.VARIANT_SIZES) {
+            variants.put(variantSize, ImageUtils.resize(defaultImage, variantSize));
         }
-        return bos.toByteArray();
+        defaultImageVariants = variants.build();
+    }
+
+    private byte[] getDefaultImage(final Integer size) {
+        return ImageUtils.variantSizeFor(size).map(defaultImageVariants::get).orElse(defaultImage);
     }
 
     private LocalDate getBirthDay(UserDto userDto) {
@@ -403,10 +438,4 @@ public class UserController {
         return LocalDate.of(userDto.getBirthday().getYear(), userDto.getBirthday().getMonthNumber(),
                 userDto.getBirthday().getDayOfMonth());
     }
-
-    private TeamDto getTeam(Team team) {
-        return Optional.ofNullable(team)
-                .map(it -> TeamDto.from(teamService.getAccountsMap(it), it))
-                .orElse(null);
-    }
 }
@@ -1,6 +1,8 @@
 package ar.edu.itba.paw.webapp.dto;
 
 import ar.edu.itba.paw.models.Game;
+import ar.edu.itba.paw.models.PremiumUser;
+import ar.edu.itba.paw.models.User;
 import ar.edu.itba.paw.webapp.controller.GameController;
 import ar.edu.itba.paw.webapp.controller.SportController;
 import ar.edu.itba.paw.webapp.controller.UserController;
@@ -12,6 +14,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class GameDto {
@@ -76,6 +79,12 @@ public class GameDto {
         return new GameDto(game, team1, team2);
     }
 
+    /* Players are taken from the accounts already found, see TeamService.getAccountsMapOfGames */
+    public static GameDto from(Game game, Map<User, PremiumUser> accounts) {
+        return new GameDto(game, TeamDto.from(accounts, game.getTeam1()),
+                Optional.ofNullable(game.getTeam2()).map(team -> TeamDto.from(accounts, team)).orElse(null));
+    }
+
     private List<Link> getHateoasLinks(Game game, String creator) {
         String gameId = game.getTeam1().getName() + game.getStartTime().toString() + game.getFinishTime();
         //TODO improve id so that it is more semantic
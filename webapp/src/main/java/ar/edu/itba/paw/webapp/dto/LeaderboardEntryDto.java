@@ -0,0 +1,74 @@
+package ar.edu.itba.paw.webapp.dto;
+
+import ar.edu.itba.paw.models.LeaderboardEntry;
+import ar.edu.itba.paw.webapp.controller.UserController;
+import com.google.common.collect.ImmutableList;
+import org.springframework.hateoas.Link;
+
+import java.util.List;
+
+public class LeaderboardEntryDto {
+
+    private final int rank;
+    private final String username;
+    private final int played;
+    private final int wins;
+    private final int draws;
+    private final int losses;
+    private final double winRate;
+    private final List<Link> links;
+
+    private LeaderboardEntryDto(LeaderboardEntry entry) {
+        this.rank = entry.getRank();
+        this.username = entry.getUsername();
+        this.played = entry.getPlayed();
+        this.wins = entry.getWins();
+        this.draws = entry.getDraws();
+        this.losses = entry.getLosses();
+        this.winRate = entry.getWinRate();
+        this.links = getHateoasLinks(entry);
+    }
+
+    private List<Link> getHateoasLinks(LeaderboardEntry entry) {
+        return ImmutableList.of(
+                new Link(UserController.getUserEndpoint(entry.getUsername()), "user"),
+                new Link(UserController.getUserImageEndpoint(entry.getUsername()), "image")
+        );
+    }
+
+    public static LeaderboardEntryDto from(LeaderboardEntry entry) {
+        return new LeaderboardEntryDto(entry);
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getPlayed() {
+        return played;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public double getWinRate() {
+        return winRate;
+    }
+
+    public List<Link> getLinks() {
+        return links;
+    }
+}
@@ -0,0 +1,32 @@
+package ar.edu.itba.paw.webapp.dto;
+
+import ar.edu.itba.paw.models.Page;
+import ar.edu.itba.paw.webapp.utils.HateoasUtils;
+import org.springframework.hateoas.Link;
+
+import javax.ws.rs.core.UriInfo;
+import java.util.List;
+
+public class LeaderboardPageDto {
+
+    private final List<LeaderboardEntryDto> players;
+    private final List<Link> links;
+
+    private LeaderboardPageDto(Page<LeaderboardEntryDto> page, UriInfo uriInfo) {
+        this.players = page.getData();
+        this.links = HateoasUtils.getHateoasForPageLinks(page, HateoasUtils.getQuery(uriInfo.getQueryParameters(false)),
+                uriInfo.getPath());
+    }
+
+    public static LeaderboardPageDto from(Page<LeaderboardEntryDto> leaderboardPage, UriInfo uriInfo) {
+        return new LeaderboardPageDto(leaderboardPage, uriInfo);
+    }
+
+    public List<LeaderboardEntryDto> getPlayers() {
+        return players;
+    }
+
+    public List<Link> getLinks() {
+        return links;
+    }
+}
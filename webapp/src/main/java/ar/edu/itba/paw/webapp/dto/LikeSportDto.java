@@ -30,7 +30,7 @@ public class LikeSportDto {
         return ImmutableList.of(
                 new Link(UserController.getLikedSportEndpoint(username, likedSport.getName()), Link.REL_SELF),
                 new Link(SportController.getSportEndpoint(likedSport.getName()), "sport"),
-                new Link(SportController.getSportImageEndpoint(likedSport.getName()), "image")
+                new Link(SportController.getSportImageEndpoint(likedSport), "image")
         );
     }
 
@@ -29,7 +29,7 @@ public class LikeUserDto {
         return ImmutableList.of(
                 new Link(UserController.getLikedUserEndpoint(username, premiumUser.getUserName()), Link.REL_SELF),
                 new Link(UserController.getUserProfileEndpoint(premiumUser.getUserName()), "profile"),
-                new Link(UserController.getUserImageEndpoint(premiumUser.getUserName()), "image")
+                new Link(UserController.getUserImageEndpoint(premiumUser), "image")
         );
     }
 
@@ -38,7 +38,7 @@ public class ProfileDto {
                 new Link(UserController.getUserProfileEndpoint(premiumUser.getUserName()), Link.REL_SELF),
                 new Link(UserController.getUserGamesEndpoint(premiumUser.getUserName()), "matches"),
                 new Link(UserController.getUserSportsEndpoint(premiumUser.getUserName()), "sports"),
-                new Link(UserController.getUserImageEndpoint(premiumUser.getUserName()), "image")
+                new Link(UserController.getUserImageEndpoint(premiumUser), "image")
         );
     }
 
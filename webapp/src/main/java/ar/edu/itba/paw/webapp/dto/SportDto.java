@@ -33,7 +33,7 @@ public class SportDto {
     private List<Link> getHateoasLinks(Sport sport) {
         return ImmutableList.of(
                 new Link(SportController.getSportEndpoint(sport.getName()), Link.REL_SELF),
-                new Link(SportController.getSportImageEndpoint(sport.getName()), "image")
+                new Link(SportController.getSportImageEndpoint(sport), "image")
         );
     }
 
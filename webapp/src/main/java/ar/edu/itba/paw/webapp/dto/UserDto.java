@@ -48,7 +48,7 @@ public class UserDto {
     private List<Link> getHateoasLinks(PremiumUser premiumUser) {
         return ImmutableList.of(
                 new Link(UserController.getUserEndpoint(premiumUser.getUserName()), Link.REL_SELF),
-                new Link(UserController.getUserImageEndpoint(premiumUser.getUserName()), "image"),
+                new Link(UserController.getUserImageEndpoint(premiumUser), "image"),
                 new Link(UserController.getUserProfileEndpoint(premiumUser.getUserName()), "profile")
         );
     }
@@ -0,0 +1,28 @@
+package ar.edu.itba.paw.webapp.jobs;
+
+import ar.edu.itba.paw.interfaces.GameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GamePlacesVerifier {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(GamePlacesVerifier.class);
+
+    private final int ONE_HOUR = 3600 * 1000;
+
+    @Autowired
+    @Qualifier("gameServiceImpl")
+    private GameService gameService;
+
+    @Scheduled(fixedDelay = 6 * ONE_HOUR, initialDelay = 0)
+    public void verify() {
+        LOGGER.info("Going to verify matches places");
+        gameService.recountPlaces();
+        LOGGER.info("Matches places are verified");
+    }
+}
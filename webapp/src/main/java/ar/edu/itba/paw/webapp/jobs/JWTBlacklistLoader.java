@@ -0,0 +1,49 @@
+package ar.edu.itba.paw.webapp.jobs;
+
+import ar.edu.itba.paw.interfaces.JWTService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JWTBlacklistLoader {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(JWTBlacklistLoader.class);
+
+    /* How long a token logged out on another node is still accepted here */
+    private final int ONE_MINUTE = 60 * 1000;
+
+    /* A change of the count that is worth telling on every node */
+    private final int LARGE_CHANGE = 1000;
+
+    @Autowired
+    @Qualifier("JWTServiceImpl")
+    private JWTService jwtService;
+
+    /* Count of the last load, none until the first one */
+    private int blacklistedTokens = -1;
+
+    // Reloading also forgets expired tokens and picks up the ones blacklisted on other nodes. It runs every minute,
+    // only the first load and large changes are logged as info
+    @Scheduled(fixedDelay = ONE_MINUTE, initialDelay = 0)
+    public void load() {
+        LOGGER.debug("Going to load blacklist filter");
+        final int loadedTokens;
+        try {
+            loadedTokens = jwtService.reloadBlacklist();
+        } catch (RuntimeException e) {
+            LOGGER.error("Can't load blacklist filter, keeping the current one", e);
+            return;
+        }
+        if (blacklistedTokens < 0 || Math.abs(loadedTokens - blacklistedTokens) >= LARGE_CHANGE) {
+            LOGGER.info("Blacklist filter is loaded, {} tokens are blacklisted", loadedTokens);
+        }
+        else {
+            LOGGER.debug("Blacklist filter is loaded, {} tokens are blacklisted", loadedTokens);
+        }
+        blacklistedTokens = loadedTokens;
+    }
+}
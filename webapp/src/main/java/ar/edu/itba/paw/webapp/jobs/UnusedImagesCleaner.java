@@ -0,0 +1,45 @@
+package ar.edu.itba.paw.webapp.jobs;
+
+import ar.edu.itba.paw.interfaces.ImageService;
+import ar.edu.itba.paw.webapp.cache.ImageStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class UnusedImagesCleaner {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(UnusedImagesCleaner.class);
+
+    private final int ONE_HOUR = 3600 * 1000;
+
+    private final int IMAGES_PER_BATCH = 100;
+
+    @Autowired
+    @Qualifier("imageServiceImpl")
+    private ImageService imageService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    // Replaced images are removed here instead of by the request that replaced them, so an upload of the same
+    // image at that moment only fails this batch, which is tried again on the next run. Files are removed once
+    // their batch is committed
+    @Scheduled(fixedDelay = ONE_HOUR, initialDelay = ONE_HOUR)
+    public void clean() {
+        LOGGER.info("Going to remove unused images");
+        int removedImages = 0;
+        List<String> removedBatch;
+        do {
+            removedBatch = imageService.removeUnused(IMAGES_PER_BATCH);
+            removedBatch.forEach(imageStore::remove);
+            removedImages += removedBatch.size();
+        } while (removedBatch.size() == IMAGES_PER_BATCH);
+        LOGGER.info("Unused images are removed, {} images were removed", removedImages);
+    }
+}
@@ -0,0 +1,81 @@
+package ar.edu.itba.paw.webapp.jobs;
+
+import ar.edu.itba.paw.interfaces.LeaderboardService;
+import ar.edu.itba.paw.interfaces.PremiumUserService;
+import ar.edu.itba.paw.interfaces.SportService;
+import ar.edu.itba.paw.models.Page;
+import ar.edu.itba.paw.models.Sport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedList;
+import java.util.List;
+
+@Component
+public class UserStatsRebuilder {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(UserStatsRebuilder.class);
+
+    private final int ONE_DAY = 24 * 3600 * 1000;
+
+    @Autowired
+    @Qualifier("premiumUserServiceImpl")
+    private PremiumUserService premiumUserService;
+
+    @Autowired
+    @Qualifier("sportServiceImpl")
+    private SportService sportService;
+
+    @Autowired
+    @Qualifier("leaderboardServiceImpl")
+    private LeaderboardService leaderboardService;
+
+    /* The leaderboards live in memory, they are loaded from the stats before any request is served */
+    @EventListener
+    public void loadLeaderboards(final ContextRefreshedEvent event) {
+        // The servlet contexts refresh later and their events reach this one too
+        if (event.getApplicationContext().getParent() != null) {
+            return;
+        }
+        LOGGER.info("Going to load leaderboards");
+        final List<String> sportNames = getSportNames();
+        sportNames.forEach(leaderboardService::reload);
+        LOGGER.info("Leaderboards are loaded, {} sports were found", sportNames.size());
+    }
+
+    /* Stats are kept up to date by every result, the rebuild only fixes drift so it does not run at startup */
+    @Scheduled(fixedDelay = ONE_DAY, initialDelay = ONE_DAY)
+    public void rebuild() {
+        LOGGER.info("Going to rebuild users stats");
+        // Each sport is rebuilt on its own transaction, one after the other
+        int rebuiltStats = getSportNames().stream()
+                .mapToInt(this::rebuild)
+                .sum();
+        premiumUserService.refreshWinRates();
+        LOGGER.info("Users stats are rebuilt, {} stats were found", rebuiltStats);
+    }
+
+    private int rebuild(final String sportName) {
+        int rebuiltStats = premiumUserService.rebuildStats(sportName);
+        leaderboardService.reload(sportName);
+        return rebuiltStats;
+    }
+
+    private List<String> getSportNames() {
+        List<String> sportNames = new LinkedList<>();
+        Page<Sport> sports;
+        int offset = 0;
+        do {
+            sports = sportService.findSportsPage(null, null, null, null, null, offset);
+            sports.getData().forEach(sport -> sportNames.add(sport.getName()));
+            offset += sports.getData().size();
+        } while (!sports.getData().isEmpty() && offset < sports.getTotal());
+        return sportNames;
+    }
+}
@@ -18,6 +18,21 @@ public final class CacheUtils {
         return cache;
     }
 
+    /* For urls whose content never changes, browsers don't even revalidate them on reload */
+    public static CacheControl getImmutableCacheControl(final int time) {
+        final CacheControl cache = getCacheControl(time);
+        cache.getCacheExtension().put("immutable", null);
+        return cache;
+    }
+
+    /* Stored but revalidated on every use */
+    public static CacheControl getNoCacheControl() {
+        final CacheControl cache = new CacheControl();
+        cache.setNoTransform(false);
+        cache.setNoCache(true);
+        return cache;
+    }
+
     public static Date getExpire(final int time) {
         return DateTime.now().plusSeconds(time).toDate();
     }
@@ -31,7 +31,9 @@ public final class HateoasUtils {
     }
 
     private static String getEndpoint(Page page, String query, String base) {
-        return URLConstants.getApiBaseUrlBuilder().path(base).toTemplate() + "?offset=" + page.getOffset()
+        Optional<String> after = page.getAfter();
+        String position = after.map((cursor) -> "?after=" + cursor).orElse("?offset=" + page.getOffset());
+        return URLConstants.getApiBaseUrlBuilder().path(base).toTemplate() + position
                 + "&limit=" + page.getLimit() + ((query != null && !query.isEmpty()) ? "&" : "" ) + query;
     }
 
@@ -39,7 +41,7 @@ public final class HateoasUtils {
         StringBuilder ans = new StringBuilder();
         boolean isFirstValue, isFirstKey = true;
         for (Map.Entry<String, List<String>> entry: queryParameters.entrySet()) {
-            if (!entry.getKey().equals("limit") && !entry.getKey().equals("offset")) {
+            if (!entry.getKey().equals("limit") && !entry.getKey().equals("offset") && !entry.getKey().equals("after")) {
                 if (isFirstKey) {
                     isFirstKey = false;
                 } else {
@@ -0,0 +1,111 @@
+package ar.edu.itba.paw.webapp.utils;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+public final class ImageUtils {
+
+    /* Sides in pixels of the variants kept of every image, clients show them at 48px on 1x to 4x screens */
+    public static final List<Integer> VARIANT_SIZES = ImmutableList.of(48, 96, 192);
+
+    /* Longest side in pixels of the images accepted, decoded they take width * height * 4 bytes of heap */
+    public static final int MAX_SIDE = 4096;
+
+    private ImageUtils() {
+        /* Utility class */
+    }
+
+    /* The smallest variant at least as big as the requested size, none when the original is needed */
+    public static Optional<Integer> variantSizeFor(final Integer requestedSize) {
+        if (requestedSize == null) {
+            return Optional.empty();
+        }
+        return VARIANT_SIZES.stream().filter(size -> size >= requestedSize).findFirst();
+    }
+
+    /* Reads only the header, a small file can declare a huge image */
+    public static boolean hasAllowedDimensions(final byte[] image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            final ImageReader reader = readerOf(input);
+            try {
+                return hasAllowedDimensions(reader);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Re-encodes the image in its own format with its longest side at most size pixels. Only the pixels are
+     * written back, the metadata of the original is dropped.
+     */
+    public static byte[] resize(final byte[] image, final int size) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            final ImageReader reader = readerOf(input);
+            final String format = reader.getFormatName();
+            final BufferedImage original;
+            try {
+                if (!hasAllowedDimensions(reader)) {
+                    throw new IOException("Image is bigger than " + MAX_SIDE + " pixels");
+                }
+                original = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            if (!ImageIO.write(scale(original, size), format, output)) {
+                throw new IOException("Can't write " + format + " images");
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static ImageReader readerOf(final ImageInputStream input) throws IOException {
+        final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new IOException("Unknown image format");
+        }
+        final ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+
+    private static boolean hasAllowedDimensions(final ImageReader reader) throws IOException {
+        return reader.getWidth(0) <= MAX_SIDE && reader.getHeight(0) <= MAX_SIDE;
+    }
+
+    /* Halves the image until it reaches the target size, a single bilinear step blurs big reductions */
+    private static BufferedImage scale(final BufferedImage original, final int size) {
+        final int type = original.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB
+                : BufferedImage.TYPE_INT_RGB;
+        final double ratio = Math.min(1.0, (double) size / Math.max(original.getWidth(), original.getHeight()));
+        final int targetWidth  = Math.max(1, (int) Math.round(original.getWidth() * ratio));
+        final int targetHeight = Math.max(1, (int) Math.round(original.getHeight() * ratio));
+        BufferedImage scaled = original;
+        int width  = original.getWidth();
+        int height = original.getHeight();
+        do {
+            width  = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            final BufferedImage next = new BufferedImage(width, height, type);
+            final Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(scaled, 0, 0, width, height, null);
+            graphics.dispose();
+            scaled = next;
+        } while (width != targetWidth || height != targetHeight);
+        return scaled;
+    }
+}
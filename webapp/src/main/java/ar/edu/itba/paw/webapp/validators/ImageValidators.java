@@ -1,31 +1,20 @@
 package ar.edu.itba.paw.webapp.validators;
 
 import ar.edu.itba.paw.webapp.exceptions.ApiException;
-import org.apache.commons.io.IOUtils;
-import org.apache.tika.exception.TikaException;
-import org.apache.tika.metadata.Metadata;
-import org.apache.tika.metadata.TikaMetadataKeys;
-import org.apache.tika.parser.AutoDetectParser;
-import org.apache.tika.parser.ParseContext;
+import ar.edu.itba.paw.webapp.utils.ImageUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.xml.sax.SAXException;
-import org.xml.sax.helpers.DefaultHandler;
-
-import javax.xml.bind.DatatypeConverter;
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Base64;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class ImageValidators {
 
@@ -34,6 +23,9 @@ public class ImageValidators {
     private static final List<String> SUPPORTED_MIME_TYPES = Arrays.asList(MediaType.IMAGE_JPEG_VALUE,
             "image/jpg", MediaType.IMAGE_PNG_VALUE);
     private static final int MEGABYTE = 1024 * 1024;
+    private static final Pattern BASE64_HEADER = Pattern.compile("data:image/(\\w+);base64");
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
 
     public static byte[] validateAndProcessImage(final String imageInBase64) {
         if(imageInBase64 == null) {
@@ -41,12 +33,12 @@ public class ImageValidators {
         }
 
         fieldHasData(imageInBase64);
-        String[] splitImageBase64 = imageInBase64.split(",");
-        splitimageHasBase64Format(splitImageBase64);
+        final int dataStart = imageInBase64.indexOf(',');
+        imageHasBase64Format(imageInBase64, dataStart);
 
-        String mimeType = splitImageBase64[0].substring(5, splitImageBase64[0].indexOf(';'));
-        byte[] imageBytes = getImageBytes(splitImageBase64[1]);
-        String mimeTypeFromBytes  = getMimeTypeFromBytes(imageBytes);
+        String mimeType = imageInBase64.substring(5, imageInBase64.indexOf(';'));
+        byte[] imageBytes = getImageBytes(imageInBase64, dataStart + 1);
+        String mimeTypeFromBytes  = getMimeType(imageBytes);
 
         isMimeTypeSupported(mimeTypeFromBytes);
 
@@ -59,9 +51,26 @@ public class ImageValidators {
             LOGGER.trace("Image is bigger than {} bytes", MEGABYTE);
             throw ApiException.of(HttpStatus.BAD_REQUEST, "Image is bigger than " + MEGABYTE + " bytes");
         }
+        hasAllowedDimensions(imageBytes);
         return imageBytes;
     }
 
+    /* The signature matched, an image whose header still can't be read could never be resized */
+    private static void hasAllowedDimensions(final byte[] imageBytes) {
+        final boolean isAllowed;
+        try {
+            isAllowed = ImageUtils.hasAllowedDimensions(imageBytes);
+        } catch (IOException e) {
+            LOGGER.trace("Image can't be read", e);
+            throw ApiException.of(HttpStatus.BAD_REQUEST, "Image can't be read");
+        }
+        if (!isAllowed) {
+            LOGGER.trace("Image is bigger than {}x{} pixels", ImageUtils.MAX_SIDE, ImageUtils.MAX_SIDE);
+            throw ApiException.of(HttpStatus.BAD_REQUEST, "Image is bigger than " + ImageUtils.MAX_SIDE + "x" +
+                    ImageUtils.MAX_SIDE + " pixels");
+        }
+    }
+
     private static void fieldHasData(final String field) {
         if(field == null || field.isEmpty()) {
             LOGGER.trace("No data in field '{}'", "image");
@@ -87,46 +96,52 @@ public class ImageValidators {
         }
     }
 
-    private static void splitimageHasBase64Format(final String[] splitImage) {
-        if (splitImage.length != 2 || !splitImage[0].matches("data:image/(\\w+);base64")) {
+    private static void imageHasBase64Format(final String image, final int dataStart) {
+        if (dataStart < 0 || image.indexOf(',', dataStart + 1) >= 0
+                || !BASE64_HEADER.matcher(image).region(0, dataStart).matches()) {
             LOGGER.trace("Image is not in base64 format");
             throw ApiException.of(HttpStatus.BAD_REQUEST, "Image must be in base64 format");
         }
     }
 
-    private static byte[] getImageBytes(final String imageDataBase64) {
+    /* Decodes the data after the header straight from the string, base64 is all ASCII */
+    private static byte[] getImageBytes(final String image, final int dataStart) {
+        final ByteBuffer imageDataBase64 = StandardCharsets.US_ASCII.encode(
+                CharBuffer.wrap(image, dataStart, image.length()));
         try {
-            return DatatypeConverter.parseBase64Binary(imageDataBase64);
+            final ByteBuffer imageBytes = Base64.getMimeDecoder().decode(imageDataBase64);
+            if (imageBytes.hasArray() && imageBytes.array().length == imageBytes.remaining()) {
+                return imageBytes.array();
+            }
+            final byte[] bytes = new byte[imageBytes.remaining()];
+            imageBytes.get(bytes);
+            return bytes;
         } catch (IllegalArgumentException e) {
             LOGGER.trace("Cannot process image bytes");
             throw ApiException.of(HttpStatus.BAD_REQUEST, "Invalid image bytes");
         }
     }
 
-    private static String getMimeTypeFromBytes(byte[] imageBytes) {
-        try {
-            return getMimeType(imageBytes);
-        } catch (IOException | TikaException | SAXException e) {
-            LOGGER.error("Error processing image mime-type");
-            throw ApiException.of(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing image mime-type");
+    /* Only the supported types are recognized, by the signature at the start of their files */
+    private static String getMimeType(final byte[] imageBytes) {
+        if (startsWith(imageBytes, JPEG_SIGNATURE)) {
+            return MediaType.IMAGE_JPEG_VALUE;
         }
+        if (startsWith(imageBytes, PNG_SIGNATURE)) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        return null;
     }
 
-    private static String getMimeType(byte[] imageBytes) throws IOException, TikaException, SAXException {
-        File file = File.createTempFile("is2f", ".tmp");
-        file.deleteOnExit();
-        FileOutputStream outStream = new FileOutputStream(file);
-        IOUtils.copy(new BufferedInputStream(new ByteArrayInputStream(imageBytes)), outStream);
-
-        AutoDetectParser parser = new AutoDetectParser();
-        parser.setParsers(new HashMap<>());
-        Metadata metadata = new Metadata();
-        metadata.add(TikaMetadataKeys.RESOURCE_NAME_KEY, file.getName());
-
-        InputStream stream = new FileInputStream(file);
-        parser.parse(stream, new DefaultHandler(), metadata, new ParseContext());
-        stream.close();
-
-        return metadata.get(HttpHeaders.CONTENT_TYPE);
+    private static boolean startsWith(final byte[] bytes, final byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
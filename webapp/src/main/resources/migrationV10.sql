@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS blacklistExpiryIndex ON Blacklist(expiry);
+
+DELETE FROM Blacklist WHERE expiry < now();
+
+ANALYZE Blacklist;
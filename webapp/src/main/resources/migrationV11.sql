@@ -0,0 +1,43 @@
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+
+CREATE TABLE IF NOT EXISTS images (
+  hash      VARCHAR(64) PRIMARY KEY,
+  content   BYTEA NOT NULL
+);
+
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS imageHash VARCHAR(64);
+ALTER TABLE sports ADD COLUMN IF NOT EXISTS imageHash VARCHAR(64);
+ALTER TABLE teams ADD COLUMN IF NOT EXISTS imageHash VARCHAR(64);
+
+INSERT INTO images (hash, content)
+SELECT DISTINCT encode(digest(image, 'sha256'), 'hex'), image FROM accounts WHERE image IS NOT NULL
+ON CONFLICT DO NOTHING;
+INSERT INTO images (hash, content)
+SELECT DISTINCT encode(digest(imageSport, 'sha256'), 'hex'), imageSport FROM sports WHERE imageSport IS NOT NULL
+ON CONFLICT DO NOTHING;
+INSERT INTO images (hash, content)
+SELECT DISTINCT encode(digest(image, 'sha256'), 'hex'), image FROM teams WHERE image IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+UPDATE accounts SET imageHash = encode(digest(image, 'sha256'), 'hex') WHERE image IS NOT NULL;
+UPDATE sports SET imageHash = encode(digest(imageSport, 'sha256'), 'hex') WHERE imageSport IS NOT NULL;
+UPDATE teams SET imageHash = encode(digest(image, 'sha256'), 'hex') WHERE image IS NOT NULL;
+
+ALTER TABLE accounts DROP COLUMN IF EXISTS image;
+ALTER TABLE sports DROP COLUMN IF EXISTS imageSport;
+ALTER TABLE teams DROP COLUMN IF EXISTS image;
+
+ALTER TABLE accounts DROP CONSTRAINT IF EXISTS accountsImageHashFk;
+ALTER TABLE accounts ADD CONSTRAINT accountsImageHashFk FOREIGN KEY (imageHash) REFERENCES images(hash);
+ALTER TABLE sports DROP CONSTRAINT IF EXISTS sportsImageHashFk;
+ALTER TABLE sports ADD CONSTRAINT sportsImageHashFk FOREIGN KEY (imageHash) REFERENCES images(hash);
+ALTER TABLE teams DROP CONSTRAINT IF EXISTS teamsImageHashFk;
+ALTER TABLE teams ADD CONSTRAINT teamsImageHashFk FOREIGN KEY (imageHash) REFERENCES images(hash);
+
+CREATE INDEX IF NOT EXISTS accountsImageHashIndex ON accounts(imageHash);
+CREATE INDEX IF NOT EXISTS sportsImageHashIndex ON sports(imageHash);
+CREATE INDEX IF NOT EXISTS teamsImageHashIndex ON teams(imageHash);
+
+ANALYZE accounts;
+ANALYZE sports;
+ANALYZE teams;
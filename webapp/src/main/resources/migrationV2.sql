@@ -0,0 +1,13 @@
+ALTER TABLE games ADD COLUMN IF NOT EXISTS occupiedPlaces INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE games ADD COLUMN IF NOT EXISTS freePlaces INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE games SET
+  occupiedPlaces = (SELECT count(*) FROM isPartOf p
+                    WHERE p.teamName = games.teamName1 OR p.teamName = games.teamName2),
+  freePlaces     = 2 * (SELECT s.playerQuantity FROM teams t JOIN sports s ON t.sportName = s.sportName
+                        WHERE t.teamName = games.teamName1) -
+                   (SELECT count(*) FROM isPartOf p
+                    WHERE p.teamName = games.teamName1 OR p.teamName = games.teamName2);
+
+CREATE INDEX IF NOT EXISTS gamesFreePlacesIndex ON games(freePlaces);
+CREATE INDEX IF NOT EXISTS gamesOpenStartTimeIndex ON games(startTime) WHERE freePlaces > 0;
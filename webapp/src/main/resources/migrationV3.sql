@@ -0,0 +1,20 @@
+CREATE TABLE IF NOT EXISTS game_participants (
+  userId        INTEGER NOT NULL,
+  teamName1     VARCHAR(100) NOT NULL,
+  startTime     TIMESTAMP NOT NULL,
+  finishTime    TIMESTAMP NOT NULL,
+  side          INTEGER NOT NULL,
+  FOREIGN KEY (userId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (teamName1, startTime, finishTime) REFERENCES games(teamName1, startTime, finishTime) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userId, teamName1, startTime, finishTime, side)
+);
+
+CREATE INDEX IF NOT EXISTS gameParticipantsGameIndex ON game_participants(teamName1, startTime, finishTime);
+
+INSERT INTO game_participants (userId, teamName1, startTime, finishTime, side)
+SELECT p.userId, g.teamName1, g.startTime, g.finishTime, 1
+FROM games g JOIN isPartOf p ON p.teamName = g.teamName1
+UNION
+SELECT p.userId, g.teamName1, g.startTime, g.finishTime, 2
+FROM games g JOIN isPartOf p ON p.teamName = g.teamName2
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS liked_users_games (
+  userName      VARCHAR(100) NOT NULL,
+  likedUserId   INTEGER NOT NULL,
+  teamName1     VARCHAR(100) NOT NULL,
+  startTime     TIMESTAMP NOT NULL,
+  finishTime    TIMESTAMP NOT NULL,
+  FOREIGN KEY (userName) REFERENCES accounts(userName) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (likedUserId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (teamName1, startTime, finishTime) REFERENCES games(teamName1, startTime, finishTime) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userName, teamName1, startTime, finishTime, likedUserId)
+);
+
+CREATE INDEX IF NOT EXISTS likedUsersGamesLikedIndex ON liked_users_games(likedUserId);
+
+INSERT INTO liked_users_games (userName, likedUserId, teamName1, startTime, finishTime)
+SELECT DISTINCT f.userName, a.userId, gp.teamName1, gp.startTime, gp.finishTime
+FROM game_participants gp JOIN accounts a ON a.userId = gp.userId
+JOIN friendOf f ON f.friendsUserName = a.userName
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,28 @@
+-- Indexes for the filters of GameHibernateDao.findGames. The test database can't tell whether postgres uses
+-- them, FilterIndexesPostgresTest checks it against a migrated postgres database when given its url.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- minStartTime/maxStartTime and minFinishTime/maxFinishTime, also the default startTime sort
+CREATE INDEX IF NOT EXISTS gamesStartTimeIndex ON games(startTime, finishTime);
+CREATE INDEX IF NOT EXISTS gamesFinishTimeIndex ON games(finishTime);
+-- type IN (:type) with a start time range
+CREATE INDEX IF NOT EXISTS gamesTypeStartTimeIndex ON games(type, startTime);
+-- onlyWithResults = false, upcoming games still without a result
+CREATE INDEX IF NOT EXISTS gamesPendingStartTimeIndex ON games(startTime) WHERE result IS NULL;
+-- games of a team as its rival, teamName1 is already the start of the primary key
+CREATE INDEX IF NOT EXISTS gamesTeamName2Index ON games(teamName2);
+-- lower(city) LIKE lower(:city) without wildcards, equality on the lowered city
+CREATE INDEX IF NOT EXISTS gamesCityLowerIndex ON games(lower(city));
+-- lower(x) LIKE lower('%value%') of the country, state and city lists
+CREATE INDEX IF NOT EXISTS gamesCountryTrgmIndex ON games USING gin (lower(country) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS gamesStateTrgmIndex ON games USING gin (lower(state) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS gamesCityTrgmIndex ON games USING gin (lower(city) gin_trgm_ops);
+
+-- sportName lists, joined through the teams of the game
+CREATE INDEX IF NOT EXISTS teamsSportNameIndex ON teams(sportName);
+-- usernamesPlayersInclude/NotInclude and the teams of a user
+CREATE INDEX IF NOT EXISTS isPartOfTeamNameIndex ON isPartOf(teamName);
+
+ANALYZE games;
+ANALYZE teams;
+ANALYZE isPartOf;
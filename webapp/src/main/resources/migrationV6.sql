@@ -0,0 +1,59 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE IF NOT EXISTS team_schedule (
+  teamName      VARCHAR(100) NOT NULL,
+  gameTeamName1 VARCHAR(100) NOT NULL,
+  startTime     TIMESTAMP NOT NULL,
+  finishTime    TIMESTAMP NOT NULL,
+  period        TSRANGE NOT NULL,
+  FOREIGN KEY (teamName) REFERENCES teams(teamName) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (gameTeamName1, startTime, finishTime) REFERENCES games(teamName1, startTime, finishTime) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (teamName, gameTeamName1, startTime, finishTime),
+  CONSTRAINT teamScheduleOverlap EXCLUDE USING gist (teamName WITH =, period WITH &&)
+);
+
+INSERT INTO team_schedule (teamName, gameTeamName1, startTime, finishTime, period)
+SELECT teamName1, teamName1, startTime, finishTime, tsrange(startTime, finishTime, '[]') FROM games
+ON CONFLICT DO NOTHING;
+
+INSERT INTO team_schedule (teamName, gameTeamName1, startTime, finishTime, period)
+SELECT teamName2, teamName1, startTime, finishTime, tsrange(startTime, finishTime, '[]') FROM games
+WHERE teamName2 IS NOT NULL AND teamName2 <> teamName1
+ON CONFLICT DO NOTHING;
+
+DROP TRIGGER IF EXISTS checkTeamInterval ON games;
+DROP FUNCTION IF EXISTS checkTeam() CASCADE;
+DROP TRIGGER IF EXISTS scheduleTeamsOfGame ON games;
+DROP FUNCTION IF EXISTS scheduleTeams() CASCADE;
+
+CREATE OR REPLACE FUNCTION scheduleTeams() RETURNS Trigger AS $$
+BEGIN
+IF (TG_OP = 'UPDATE') THEN
+    DELETE FROM team_schedule
+    WHERE (gameTeamName1 = old.teamName1 AND startTime = old.startTime AND finishTime = old.finishTime) OR
+          (gameTeamName1 = new.teamName1 AND startTime = new.startTime AND finishTime = new.finishTime);
+END IF;
+
+BEGIN
+    INSERT INTO team_schedule (teamName, gameTeamName1, startTime, finishTime, period)
+    VALUES (new.teamName1, new.teamName1, new.startTime, new.finishTime, tsrange(new.startTime, new.finishTime, '[]'));
+EXCEPTION WHEN exclusion_violation THEN
+    Raise exception 'team 1 already play in at that time' USING ERRCODE = 'PP111';
+END;
+
+IF (new.teamName2 IS NOT NULL AND new.teamName2 <> new.teamName1) THEN
+    BEGIN
+        INSERT INTO team_schedule (teamName, gameTeamName1, startTime, finishTime, period)
+        VALUES (new.teamName2, new.teamName1, new.startTime, new.finishTime, tsrange(new.startTime, new.finishTime, '[]'));
+    EXCEPTION WHEN exclusion_violation THEN
+        Raise exception 'team 2 already play in at that time' USING ERRCODE = 'PP111';
+    END;
+END IF;
+
+RETURN new;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER scheduleTeamsOfGame AFTER INSERT OR UPDATE OF teamName1, teamName2, startTime, finishTime ON games
+FOR EACH ROW
+EXECUTE PROCEDURE scheduleTeams();
@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS user_stats (
+  userId        INTEGER NOT NULL,
+  sportName     VARCHAR(100) NOT NULL,
+  played        INTEGER DEFAULT 0 NOT NULL,
+  wins          INTEGER DEFAULT 0 NOT NULL,
+  draws         INTEGER DEFAULT 0 NOT NULL,
+  losses        INTEGER DEFAULT 0 NOT NULL,
+  FOREIGN KEY (userId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (sportName) REFERENCES sports(sportName) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userId, sportName)
+);
+
+CREATE INDEX IF NOT EXISTS userStatsSportIndex ON user_stats(sportName);
+
+-- Stats of the results played so far, the same query the rebuild runs for every sport. Skipped when the table
+-- already has stats, so running the migration again does not clash with them
+INSERT INTO user_stats (userId, sportName, played, wins, draws, losses)
+SELECT r.userId, r.sportName, COUNT(*),
+    SUM(CASE WHEN r.ownScore > r.rivalScore THEN 1 ELSE 0 END),
+    SUM(CASE WHEN r.ownScore = r.rivalScore THEN 1 ELSE 0 END),
+    SUM(CASE WHEN r.ownScore < r.rivalScore THEN 1 ELSE 0 END)
+FROM (SELECT gp.userId AS userId, t.sportName AS sportName,
+        CASE WHEN gp.side = 1 THEN CAST(SUBSTRING(g.result FROM 1 FOR POSITION('-' IN g.result) - 1) AS INTEGER)
+            ELSE CAST(SUBSTRING(g.result FROM POSITION('-' IN g.result) + 1) AS INTEGER) END AS ownScore,
+        CASE WHEN gp.side = 1 THEN CAST(SUBSTRING(g.result FROM POSITION('-' IN g.result) + 1) AS INTEGER)
+            ELSE CAST(SUBSTRING(g.result FROM 1 FOR POSITION('-' IN g.result) - 1) AS INTEGER) END AS rivalScore
+    FROM game_participants gp JOIN games g ON g.teamName1 = gp.teamName1
+        AND g.startTime = gp.startTime AND g.finishTime = gp.finishTime
+    JOIN teams t ON t.teamName = g.teamName1
+    WHERE g.result IS NOT NULL AND g.type LIKE '%-Competitive'
+        AND NOT EXISTS (SELECT 1 FROM user_stats)) r
+GROUP BY r.userId, r.sportName;
@@ -0,0 +1,13 @@
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS winRate DOUBLE PRECISION DEFAULT 0 NOT NULL;
+ALTER TABLE user_stats ADD COLUMN IF NOT EXISTS winRate DOUBLE PRECISION DEFAULT 0 NOT NULL;
+
+UPDATE user_stats SET winRate = CASE WHEN wins + losses = 0 THEN 0
+    ELSE CAST(wins AS DOUBLE PRECISION) / (wins + losses) * 100 END;
+
+UPDATE accounts SET winRate = COALESCE((SELECT CASE WHEN SUM(us.wins + us.losses) = 0 THEN 0
+    ELSE CAST(SUM(us.wins) AS DOUBLE PRECISION) / SUM(us.wins + us.losses) * 100 END
+    FROM user_stats us WHERE us.userId = accounts.userId), 0);
+
+DROP INDEX IF EXISTS userStatsSportIndex;
+CREATE INDEX IF NOT EXISTS userStatsSportWinRateIndex ON user_stats(sportName, winRate);
+CREATE INDEX IF NOT EXISTS accountsWinRateIndex ON accounts(winRate);
@@ -0,0 +1,13 @@
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+
+ALTER TABLE Blacklist ADD COLUMN IF NOT EXISTS tokenHash VARCHAR(64);
+
+UPDATE Blacklist SET tokenHash = encode(digest(token, 'sha256'), 'hex') WHERE tokenHash IS NULL;
+
+DELETE FROM Blacklist b WHERE EXISTS (SELECT 1 FROM Blacklist other
+    WHERE other.tokenHash = b.tokenHash AND other.id < b.id);
+
+ALTER TABLE Blacklist ALTER COLUMN tokenHash SET NOT NULL;
+ALTER TABLE Blacklist DROP COLUMN IF EXISTS token;
+
+CREATE UNIQUE INDEX IF NOT EXISTS blacklistTokenHashIndex ON Blacklist(tokenHash);
@@ -1,10 +1,15 @@
 BEGIN;
 
+CREATE TABLE IF NOT EXISTS images(
+  hash      VARCHAR(64) PRIMARY KEY,
+  content   BYTEA NOT NULL
+)/;
+
 CREATE TABLE IF NOT EXISTS sports(
   sportName       VARCHAR(100) PRIMARY KEY,
   playerQuantity  INTEGER,
   displayName     VARCHAR(100),
-  imageSport      BYTEA
+  imageHash       VARCHAR(64) REFERENCES images(hash)
 )/;
 
 CREATE TABLE IF NOT EXISTS users(
@@ -24,13 +29,14 @@ CREATE TABLE IF NOT EXISTS accounts(
   city        VARCHAR(100),
   street      VARCHAR(100),
   reputation  INTEGER,
+  winRate     DOUBLE PRECISION DEFAULT 0 NOT NULL,
   cellphone   VARCHAR(100),
   birthday    DATE,
   email       VARCHAR (100) NOT NULL,
   role        VARCHAR (100),
   enabled     BOOLEAN,
   code        VARCHAR(100) NOT NULL,
-  image       BYTEA,
+  imageHash   VARCHAR(64) REFERENCES images(hash),
   UNIQUE(email)
 )/;
 
@@ -65,7 +71,7 @@ CREATE TABLE IF NOT EXISTS teams(
   leaderName  VARCHAR(100) REFERENCES accounts(userName) ON DELETE CASCADE ON UPDATE CASCADE,
   isTemp      INTEGER NOT NULL,
   sportName   VARCHAR (100) NOT NULL,
-  image       BYTEA,
+  imageHash   VARCHAR(64) REFERENCES images(hash),
   FOREIGN KEY (sportName) REFERENCES sports(sportName)
   --Filters--
 )/;
@@ -110,57 +116,124 @@ CREATE TABLE IF NOT EXISTS games (
   tornamentName VARCHAR(100),
   description   VARCHAR(140),
   title         VARCHAR(100),
+  occupiedPlaces INTEGER DEFAULT 0 NOT NULL,
+  freePlaces    INTEGER DEFAULT 0 NOT NULL,
   FOREIGN KEY (teamName1) REFERENCES teams(teamName),
   FOREIGN KEY (teamName2) REFERENCES teams(teamName),
   FOREIGN KEY (tornamentName) REFERENCES tornaments(tornamentName) ON DELETE CASCADE ON UPDATE CASCADE,
   PRIMARY KEY (teamName1, startTime, finishTime)
 )/;
 
-DROP TRIGGER IF EXISTS checkTeamInterval ON teams/;
-DROP FUNCTION IF EXISTS checkTeam() CASCADE /;
+CREATE INDEX IF NOT EXISTS gamesFreePlacesIndex ON games(freePlaces)/;
+CREATE INDEX IF NOT EXISTS gamesOpenStartTimeIndex ON games(startTime) WHERE freePlaces > 0/;
+CREATE EXTENSION IF NOT EXISTS pg_trgm/;
+CREATE INDEX IF NOT EXISTS gamesStartTimeIndex ON games(startTime, finishTime)/;
+CREATE INDEX IF NOT EXISTS gamesFinishTimeIndex ON games(finishTime)/;
+CREATE INDEX IF NOT EXISTS gamesTypeStartTimeIndex ON games(type, startTime)/;
+CREATE INDEX IF NOT EXISTS gamesPendingStartTimeIndex ON games(startTime) WHERE result IS NULL/;
+CREATE INDEX IF NOT EXISTS gamesTeamName2Index ON games(teamName2)/;
+CREATE INDEX IF NOT EXISTS gamesCityLowerIndex ON games(lower(city))/;
+CREATE INDEX IF NOT EXISTS gamesCountryTrgmIndex ON games USING gin (lower(country) gin_trgm_ops)/;
+CREATE INDEX IF NOT EXISTS gamesStateTrgmIndex ON games USING gin (lower(state) gin_trgm_ops)/;
+CREATE INDEX IF NOT EXISTS gamesCityTrgmIndex ON games USING gin (lower(city) gin_trgm_ops)/;
+CREATE INDEX IF NOT EXISTS teamsSportNameIndex ON teams(sportName)/;
+CREATE INDEX IF NOT EXISTS isPartOfTeamNameIndex ON isPartOf(teamName)/;
+CREATE INDEX IF NOT EXISTS accountsImageHashIndex ON accounts(imageHash)/;
+CREATE INDEX IF NOT EXISTS sportsImageHashIndex ON sports(imageHash)/;
+CREATE INDEX IF NOT EXISTS teamsImageHashIndex ON teams(imageHash)/;
+
+CREATE TABLE IF NOT EXISTS game_participants (
+  userId        INTEGER NOT NULL,
+  teamName1     VARCHAR(100) NOT NULL,
+  startTime     TIMESTAMP NOT NULL,
+  finishTime    TIMESTAMP NOT NULL,
+  side          INTEGER NOT NULL,
+  FOREIGN KEY (userId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (teamName1, startTime, finishTime) REFERENCES games(teamName1, startTime, finishTime) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userId, teamName1, startTime, finishTime, side)
+)/;
+
+CREATE INDEX IF NOT EXISTS gameParticipantsGameIndex ON game_participants(teamName1, startTime, finishTime)/;
+
+CREATE TABLE IF NOT EXISTS liked_users_games (
+  userName      VARCHAR(100) NOT NULL,
+  likedUserId   INTEGER NOT NULL,
+  teamName1     VARCHAR(100) NOT NULL,
+  startTime     TIMESTAMP NOT NULL,
+  finishTime    TIMESTAMP NOT NULL,
+  FOREIGN KEY (userName) REFERENCES accounts(userName) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (likedUserId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (teamName1, startTime, finishTime) REFERENCES games(teamName1, startTime, finishTime) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userName, teamName1, startTime, finishTime, likedUserId)
+)/;
 
-CREATE OR REPLACE FUNCTION checkTeam() RETURNS Trigger AS $$
-DECLARE
-startTimeAux    TIMESTAMP;
-finishTimeAux   TIMESTAMP;
-teamName1Aux    VARCHAR(100);
-teamName2Aux    VARCHAR(100);
+CREATE INDEX IF NOT EXISTS likedUsersGamesLikedIndex ON liked_users_games(likedUserId)/;
 
-cursorTeam CURSOR FOR
-SELECT teamName1, teamName2, startTime, finishTime
-FROM games
-WHERE teamName1 = new.teamName1 OR teamName2 = new.teamName1;
+CREATE TABLE IF NOT EXISTS user_stats (
+  userId        INTEGER NOT NULL,
+  sportName     VARCHAR(100) NOT NULL,
+  played        INTEGER DEFAULT 0 NOT NULL,
+  wins          INTEGER DEFAULT 0 NOT NULL,
+  draws         INTEGER DEFAULT 0 NOT NULL,
+  losses        INTEGER DEFAULT 0 NOT NULL,
+  winRate       DOUBLE PRECISION DEFAULT 0 NOT NULL,
+  FOREIGN KEY (userId) REFERENCES users(userId) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (sportName) REFERENCES sports(sportName) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (userId, sportName)
+)/;
+
+CREATE INDEX IF NOT EXISTS userStatsSportWinRateIndex ON user_stats(sportName, winRate)/;
+CREATE INDEX IF NOT EXISTS accountsWinRateIndex ON accounts(winRate)/;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist/;
+
+CREATE TABLE IF NOT EXISTS team_schedule (
+  teamName      VARCHAR(100) NOT NULL,
+  gameTeamName1 VARCHAR(100) NOT NULL,
+  startTime     TIMESTAMP NOT NULL,
+  finishTime    TIMESTAMP NOT NULL,
+  period        TSRANGE NOT NULL,
+  FOREIGN KEY (teamName) REFERENCES teams(teamName) ON DELETE CASCADE ON UPDATE CASCADE,
+  FOREIGN KEY (gameTeamName1, startTime, finishTime) REFERENCES games(teamName1, startTime, finishTime) ON DELETE CASCADE ON UPDATE CASCADE,
+  PRIMARY KEY (teamName, gameTeamName1, startTime, finishTime),
+  CONSTRAINT teamScheduleOverlap EXCLUDE USING gist (teamName WITH =, period WITH &&)
+)/;
+
+DROP TRIGGER IF EXISTS checkTeamInterval ON games/;
+DROP FUNCTION IF EXISTS checkTeam() CASCADE /;
+DROP TRIGGER IF EXISTS scheduleTeamsOfGame ON games/;
+DROP FUNCTION IF EXISTS scheduleTeams() CASCADE /;
+
+CREATE OR REPLACE FUNCTION scheduleTeams() RETURNS Trigger AS $$
+BEGIN
+IF (TG_OP = 'UPDATE') THEN
+    DELETE FROM team_schedule
+    WHERE (gameTeamName1 = old.teamName1 AND startTime = old.startTime AND finishTime = old.finishTime) OR
+          (gameTeamName1 = new.teamName1 AND startTime = new.startTime AND finishTime = new.finishTime);
+END IF;
 
 BEGIN
-OPEN cursorTeam;
-
-LOOP
-    FETCH cursorTeam INTO startTimeAux, finishTimeAux, teamName1Aux, teamName2Aux;
-    EXIT WHEN NOT FOUND;
-    IF (new.teamName1 = teamName1Aux OR new.teamName1 = teamName2Aux) THEN
-        IF (new.startTime <= startTimeAux AND startTimeAux <= new.finishTime) OR
-           (new.startTime <= finishTimeAux AND finishTimeAux <= new.finishTime) OR
-           (new.startTime >= startTimeAux AND finishTimeAux >= new.finishTime) THEN
-            Raise exception 'team 1 already play in at that time' USING ERRCODE = 'PP111';
-        END IF;
-    ELSIF (new.teamName1 IS NOT NULL AND
-           (new.teamName2 = teamName1Aux OR new.teamName2 = teamName2Aux)) THEN
-        IF (new.startTime <= startTimeAux AND startTimeAux <= new.finishTime) OR
-           (new.startTime <= finishTimeAux AND finishTimeAux <= new.finishTime) OR
-           (new.startTime >= startTimeAux AND finishTimeAux >= new.finishTime) THEN
-            Raise exception 'team 2 already play in at that time' USING ERRCODE = 'PP111';
-        END IF;
-    END IF;
-
-END LOOP;
-
-CLOSE cursorTeam;
+    INSERT INTO team_schedule (teamName, gameTeamName1, startTime, finishTime, period)
+    VALUES (new.teamName1, new.teamName1, new.startTime, new.finishTime, tsrange(new.startTime, new.finishTime, '[]'));
+EXCEPTION WHEN exclusion_violation THEN
+    Raise exception 'team 1 already play in at that time' USING ERRCODE = 'PP111';
+END;
+
+IF (new.teamName2 IS NOT NULL AND new.teamName2 <> new.teamName1) THEN
+    BEGIN
+        INSERT INTO team_schedule (teamName, gameTeamName1, startTime, finishTime, period)
+        VALUES (new.teamName2, new.teamName1, new.startTime, new.finishTime, tsrange(new.startTime, new.finishTime, '[]'));
+    EXCEPTION WHEN exclusion_violation THEN
+        Raise exception 'team 2 already play in at that time' USING ERRCODE = 'PP111';
+    END;
+END IF;
+
 RETURN new;
 END;
 $$ LANGUAGE plpgsql/;
 
-CREATE TRIGGER checkTeamInterval BEFORE INSERT OR UPDATE OF teamName1, teamName2 ON games
+CREATE TRIGGER scheduleTeamsOfGame AFTER INSERT OR UPDATE OF teamName1, teamName2, startTime, finishTime ON games
 FOR EACH ROW
-EXECUTE PROCEDURE checkTeam()/;
+EXECUTE PROCEDURE scheduleTeams()/;
 
 COMMIT;
\ No newline at end of file
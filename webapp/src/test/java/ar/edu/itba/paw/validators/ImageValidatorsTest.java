@@ -0,0 +1,135 @@
+package ar.edu.itba.paw.validators;
+
+import ar.edu.itba.paw.webapp.exceptions.ApiException;
+import ar.edu.itba.paw.webapp.utils.ImageUtils;
+import ar.edu.itba.paw.webapp.validators.ImageValidators;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.CRC32;
+
+public class ImageValidatorsTest {
+
+    private static final byte[] PNG  = encode("png");
+    private static final byte[] JPEG = encode("jpeg");
+    private static final byte[] HEADERLESS_PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13};
+    private static final byte[] GIF  = {'G', 'I', 'F', '8', '9', 'a', 1, 0};
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+
+    @Test
+    public void whenValidatingAPngImageThenReturnItsBytes() {
+        Assert.assertArrayEquals(PNG, ImageValidators.validateAndProcessImage(dataUrl("png", PNG)));
+    }
+
+    @Test
+    public void whenValidatingAJpegImageThenReturnItsBytes() {
+        Assert.assertArrayEquals(JPEG, ImageValidators.validateAndProcessImage(dataUrl("jpeg", JPEG)));
+    }
+
+    @Test
+    public void whenValidatingBase64WithLineBreaksThenIgnoreThem() {
+        String base64 = Base64.getEncoder().encodeToString(PNG);
+        String image = "data:image/png;base64," + base64.substring(0, 8) + "\r\n" + base64.substring(8);
+
+        Assert.assertArrayEquals(PNG, ImageValidators.validateAndProcessImage(image));
+    }
+
+    @Test
+    public void whenValidatingNoImageThenReturnNull() {
+        Assert.assertNull(ImageValidators.validateAndProcessImage(null));
+    }
+
+    @Test
+    public void whenValidatingAnUnsupportedImageThenThrowApiExceptionWithExpectedValues() {
+        exceptionRule.expect(ApiException.class);
+        exceptionRule.expectMessage("Media type not supported. The supported media types are: image/jpeg, " +
+                "image/jpg, image/png");
+        ImageValidators.validateAndProcessImage(dataUrl("gif", GIF));
+    }
+
+    @Test
+    public void whenValidatingAnImageOfAnotherTypeThanTheHeaderThenThrowApiExceptionWithExpectedValues() {
+        exceptionRule.expect(ApiException.class);
+        exceptionRule.expectMessage("Mismatch header mime-type with data mime-type");
+        ImageValidators.validateAndProcessImage(dataUrl("jpeg", PNG));
+    }
+
+    @Test
+    public void whenValidatingAnImageWithoutHeaderThenThrowApiExceptionWithExpectedValues() {
+        exceptionRule.expect(ApiException.class);
+        exceptionRule.expectMessage("Image must be in base64 format");
+        ImageValidators.validateAndProcessImage(Base64.getEncoder().encodeToString(PNG));
+    }
+
+    @Test
+    public void whenValidatingAnImageWithTwoDataPartsThenThrowApiExceptionWithExpectedValues() {
+        exceptionRule.expect(ApiException.class);
+        exceptionRule.expectMessage("Image must be in base64 format");
+        ImageValidators.validateAndProcessImage(dataUrl("png", PNG) + "," + Base64.getEncoder().encodeToString(PNG));
+    }
+
+    @Test
+    public void whenValidatingInvalidBase64ThenThrowApiExceptionWithExpectedValues() {
+        exceptionRule.expect(ApiException.class);
+        exceptionRule.expectMessage("Invalid image bytes");
+        ImageValidators.validateAndProcessImage("data:image/png;base64,iVBORw0KGgo=A");
+    }
+
+    @Test
+    public void whenValidatingAnImageBiggerThanAMegabyteThenThrowApiExceptionWithExpectedValues() {
+        byte[] bigPng = Arrays.copyOf(PNG, 1024 * 1024 + 1);
+        exceptionRule.expect(ApiException.class);
+        exceptionRule.expectMessage("Image is bigger than " + 1024 * 1024 + " bytes");
+        ImageValidators.validateAndProcessImage(dataUrl("png", bigPng));
+    }
+
+    @Test
+    public void whenValidatingAnImageOfTooManyPixelsThenThrowApiExceptionWithExpectedValues() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", output);
+        byte[] hugePng = output.toByteArray();
+        ByteBuffer header = ByteBuffer.wrap(hugePng);
+        // Width and height of the IHDR chunk and its checksum, the pixels are never there
+        header.putInt(16, 20000).putInt(20, 20000);
+        CRC32 crc = new CRC32();
+        crc.update(hugePng, 12, 17);
+        header.putInt(29, (int) crc.getValue());
+        exceptionRule.expect(ApiException.class);
+        exceptionRule.expectMessage("Image is bigger than " + ImageUtils.MAX_SIDE + "x" + ImageUtils.MAX_SIDE +
+                " pixels");
+        ImageValidators.validateAndProcessImage(dataUrl("png", hugePng));
+    }
+
+    @Test
+    public void whenValidatingAnImageWithoutReadableHeaderThenThrowApiExceptionWithExpectedValues() {
+        exceptionRule.expect(ApiException.class);
+        exceptionRule.expectMessage("Image can't be read");
+        ImageValidators.validateAndProcessImage(dataUrl("png", HEADERLESS_PNG));
+    }
+
+    private static byte[] encode(final String format) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), format, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private static String dataUrl(final String type, final byte[] image) {
+        return "data:image/" + type + ";base64," + Base64.getEncoder().encodeToString(image);
+    }
+}
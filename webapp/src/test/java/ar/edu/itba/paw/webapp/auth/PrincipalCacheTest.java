@@ -0,0 +1,78 @@
+package ar.edu.itba.paw.webapp.auth;
+
+import ar.edu.itba.paw.interfaces.PremiumUserService;
+import ar.edu.itba.paw.models.AuthUser;
+import ar.edu.itba.paw.models.AuthUserChangedEvent;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PrincipalCacheTest {
+
+    private static final String USERNAME = "user";
+    private static final AuthUser USER = new AuthUser(USERNAME, "password", true,
+            Collections.singleton("ROLE_USER"));
+    private static final AuthUser ADMIN = new AuthUser(USERNAME, "password", true,
+            Collections.singleton("ROLE_ADMIN"));
+
+    @Mock
+    private PremiumUserService premiumUserServiceMock;
+
+    private PrincipalCache principalCache;
+
+    @Before
+    public void setUp() {
+        principalCache = new PrincipalCache();
+    }
+
+    @Test
+    public void testCacheHitDoesNotQueryTheUser() {
+        when(premiumUserServiceMock.findAuthUser(USERNAME)).thenReturn(Optional.of(USER));
+
+        Optional<AuthUser> first = principalCache.get(USERNAME, premiumUserServiceMock::findAuthUser);
+        Optional<AuthUser> second = principalCache.get(USERNAME, premiumUserServiceMock::findAuthUser);
+
+        Assert.assertEquals(Optional.of(USER), first);
+        Assert.assertEquals(Optional.of(USER), second);
+        verify(premiumUserServiceMock, times(1)).findAuthUser(USERNAME);
+    }
+
+    @Test
+    public void testChangedUserIsQueriedAgain() {
+        when(premiumUserServiceMock.findAuthUser(USERNAME)).thenReturn(Optional.of(ADMIN), Optional.of(USER));
+        principalCache.get(USERNAME, premiumUserServiceMock::findAuthUser);
+
+        principalCache.onAuthUserChanged(new AuthUserChangedEvent(USERNAME));
+        Optional<AuthUser> authUser = principalCache.get(USERNAME, premiumUserServiceMock::findAuthUser);
+
+        Assert.assertEquals(Optional.of(USER), authUser);
+        verify(premiumUserServiceMock, times(2)).findAuthUser(USERNAME);
+    }
+
+    @Test
+    public void testUserLoadedWhileItChangesIsNotCached() {
+        when(premiumUserServiceMock.findAuthUser(USERNAME)).thenReturn(Optional.of(USER));
+
+        // The change commits after the old credentials were read but before they are cached
+        Optional<AuthUser> staleUser = principalCache.get(USERNAME, username -> {
+            principalCache.onAuthUserChanged(new AuthUserChangedEvent(username));
+            return Optional.of(ADMIN);
+        });
+        Optional<AuthUser> authUser = principalCache.get(USERNAME, premiumUserServiceMock::findAuthUser);
+
+        Assert.assertEquals(Optional.of(ADMIN), staleUser);
+        Assert.assertEquals(Optional.of(USER), authUser);
+        verify(premiumUserServiceMock, times(1)).findAuthUser(USERNAME);
+    }
+}
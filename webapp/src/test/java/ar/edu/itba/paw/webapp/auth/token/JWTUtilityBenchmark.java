@@ -0,0 +1,68 @@
+package ar.edu.itba.paw.webapp.auth.token;
+
+import ar.edu.itba.paw.models.PremiumUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating the token of a request. Run it with the test classpath:
+ * mvn -pl webapp test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ar.edu.itba.paw.webapp.auth.token.JWTUtilityBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTUtilityBenchmark {
+
+    private static final String SECRET       = "benchmarkSecret";
+    private static final long MAX_VALID_TIME = 24 * 3600 * 1000;
+
+    private JWTUtility jwtUtility;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtility = new JWTUtility(SECRET, MAX_VALID_TIME);
+        token = jwtUtility.createToken(new PremiumUser("Agustin", "Dammiano", "adammiano@itba.edu.ar",
+                "dammiano98"));
+        jwtUtility.validateTokenString(token);
+    }
+
+    /* What every request paid before: a new parser and the whole signature check */
+    @Benchmark
+    public Claims validateWithNewParser() {
+        return (Claims) Jwts.parser().setSigningKey(SECRET).parse(token).getBody();
+    }
+
+    @Benchmark
+    public Claims validateWithSharedParser() {
+        return jwtUtility.parseTokenString(token);
+    }
+
+    @Benchmark
+    public Claims validateCached() {
+        return jwtUtility.validateTokenString(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JWTUtilityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,182 @@
+package ar.edu.itba.paw.webapp.cache;
+
+import ar.edu.itba.paw.models.Image;
+import ar.edu.itba.paw.webapp.utils.ImageUtils;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class ImageStoreTest {
+
+    private static final byte[] CONTENT = "image content".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ImageStore imageStore;
+
+    @Before
+    public void setUp() {
+        imageStore = new ImageStore(folder.getRoot().toPath(), MoreExecutors.newDirectExecutorService());
+    }
+
+    @Test
+    public void testStoredImageIsFoundByItsHash() throws IOException {
+        String hash = imageStore.store(CONTENT);
+        Optional<Path> image = imageStore.find(hash);
+
+        Assert.assertEquals(Image.hashOf(CONTENT), hash);
+        Assert.assertTrue(image.isPresent());
+        Assert.assertArrayEquals(CONTENT, Files.readAllBytes(image.get()));
+    }
+
+    @Test
+    public void testImageNotStoredIsNotFound() {
+        Assert.assertFalse(imageStore.find(Image.hashOf(CONTENT)).isPresent());
+    }
+
+    @Test
+    public void testWhatIsNotAHashIsNotFound() {
+        imageStore.store(CONTENT);
+
+        Assert.assertFalse(imageStore.find("../" + Image.hashOf(CONTENT)).isPresent());
+        Assert.assertFalse(imageStore.find(null).isPresent());
+        Assert.assertFalse(ImageStore.isHash(Image.hashOf(CONTENT).toUpperCase()));
+    }
+
+    @Test
+    public void testMissingImageIsStoredFromTheLoader() throws IOException {
+        String hash = Image.hashOf(CONTENT);
+
+        Optional<Path> image = imageStore.find(hash, () -> Optional.of(CONTENT));
+
+        Assert.assertTrue(image.isPresent());
+        Assert.assertArrayEquals(CONTENT, Files.readAllBytes(image.get()));
+        Assert.assertTrue(imageStore.find(hash).isPresent());
+    }
+
+    @Test
+    public void testStoredImageIsNotLoadedAgain() {
+        String hash = imageStore.store(CONTENT);
+
+        Optional<Path> image = imageStore.find(hash, () -> {
+            throw new AssertionError("The image is on disk");
+        });
+
+        Assert.assertTrue(image.isPresent());
+    }
+
+    @Test
+    public void testLoadedContentOfAnotherHashIsNotStored() {
+        String hash = Image.hashOf(CONTENT);
+
+        Optional<Path> image = imageStore.find(hash, () -> Optional.of("other".getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertFalse(image.isPresent());
+        Assert.assertFalse(imageStore.find(Image.hashOf("other".getBytes(StandardCharsets.UTF_8))).isPresent());
+    }
+
+    @Test
+    public void testVariantsAreBuiltWhenTheImageIsStored() throws IOException {
+        String hash = imageStore.store(png(400, 200));
+
+        Optional<Path> variant = imageStore.find(hash, 40, Optional::empty);
+
+        Assert.assertTrue(variant.isPresent());
+        Assert.assertEquals(hash + "-48", variant.get().getFileName().toString());
+        BufferedImage variantImage = ImageIO.read(variant.get().toFile());
+        Assert.assertEquals(48, variantImage.getWidth());
+        Assert.assertEquals(24, variantImage.getHeight());
+    }
+
+    @Test
+    public void testOriginalIsFoundWhenNoVariantIsBigEnough() throws IOException {
+        String hash = imageStore.store(png(400, 200));
+
+        Optional<Path> image = imageStore.find(hash, 300, Optional::empty);
+        Optional<Path> unsized = imageStore.find(hash, null, Optional::empty);
+
+        Assert.assertEquals(hash, image.get().getFileName().toString());
+        Assert.assertEquals(hash, unsized.get().getFileName().toString());
+    }
+
+    @Test
+    public void testMissingVariantsAreBuiltWhenAsked() throws IOException {
+        byte[] content = png(400, 200);
+        String hash = Image.hashOf(content);
+        Path image = folder.getRoot().toPath().resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4))
+                .resolve(hash);
+        Files.createDirectories(image.getParent());
+        Files.write(image, content);
+
+        Optional<Path> firstFound  = imageStore.find(hash, ImageUtils.VARIANT_SIZES.get(0), Optional::empty);
+        Optional<Path> secondFound = imageStore.find(hash, ImageUtils.VARIANT_SIZES.get(0), Optional::empty);
+
+        Assert.assertEquals(hash, firstFound.get().getFileName().toString());
+        Assert.assertEquals(hash + "-" + ImageUtils.VARIANT_SIZES.get(0),
+                secondFound.get().getFileName().toString());
+    }
+
+    @Test
+    public void testRemovedImageTakesItsVariants() throws IOException {
+        String hash = imageStore.store(png(400, 200));
+
+        imageStore.remove(hash);
+
+        Assert.assertFalse(imageStore.find(hash).isPresent());
+        try (Stream<Path> files = Files.walk(folder.getRoot().toPath())) {
+            Assert.assertFalse(files.anyMatch(file -> file.getFileName().toString().startsWith(hash)));
+        }
+    }
+
+    @Test
+    public void testImageWithoutRowIsRemoved() {
+        String hash = imageStore.store(CONTENT);
+
+        boolean exists = imageStore.exists(hash, imageHash -> false);
+
+        Assert.assertFalse(exists);
+        Assert.assertFalse(imageStore.find(hash).isPresent());
+    }
+
+    @Test
+    public void testExistingRowIsCheckedOnce() {
+        String hash = Image.hashOf(CONTENT);
+        AtomicInteger checks = new AtomicInteger();
+
+        boolean first  = imageStore.exists(hash, imageHash -> checks.incrementAndGet() > 0);
+        boolean second = imageStore.exists(hash, imageHash -> checks.incrementAndGet() > 0);
+
+        Assert.assertTrue(first);
+        Assert.assertTrue(second);
+        Assert.assertEquals(1, checks.get());
+    }
+
+    @Test
+    public void testCommittedImageIsKnownToExist() {
+        imageStore.storeCommitted(CONTENT);
+
+        Assert.assertTrue(imageStore.find(Image.hashOf(CONTENT)).isPresent());
+        Assert.assertTrue(imageStore.exists(Image.hashOf(CONTENT), imageHash -> false));
+    }
+
+    private static byte[] png(final int width, final int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,75 @@
+package ar.edu.itba.paw.webapp.controller;
+
+import ar.edu.itba.paw.models.Image;
+import ar.edu.itba.paw.webapp.utils.CacheUtils;
+import ar.edu.itba.paw.webapp.utils.ImageUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ImageControllerTest {
+
+    private static final byte[] CONTENT = "image content".getBytes(StandardCharsets.UTF_8);
+    private static final String HASH = Image.hashOf(CONTENT);
+    private static final int VARIANT_SIZE = ImageUtils.VARIANT_SIZES.get(0);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private Request requestMock;
+
+    private CacheControl immutableCache;
+
+    @Before
+    public void setUp() {
+        immutableCache = CacheUtils.getImmutableCacheControl(3600);
+    }
+
+    @Test
+    public void testVariantIsCachedForever() throws IOException {
+        Path variant = file(HASH + "-" + VARIANT_SIZE);
+
+        Response response = ImageController.imageResponse(requestMock, variant, VARIANT_SIZE, immutableCache);
+
+        Assert.assertEquals(immutableCache, response.getHeaders().getFirst("Cache-Control"));
+    }
+
+    @Test
+    public void testOriginalIsCachedForeverWhenItWasAsked() throws IOException {
+        Path original = file(HASH);
+
+        Response response = ImageController.imageResponse(requestMock, original, null, immutableCache);
+
+        Assert.assertEquals(immutableCache, response.getHeaders().getFirst("Cache-Control"));
+    }
+
+    @Test
+    public void testOriginalInPlaceOfAVariantIsRevalidated() throws IOException {
+        Path original = file(HASH);
+
+        Response response = ImageController.imageResponse(requestMock, original, VARIANT_SIZE, immutableCache);
+
+        CacheControl cache = (CacheControl) response.getHeaders().getFirst("Cache-Control");
+        Assert.assertTrue(cache.isNoCache());
+        Assert.assertFalse(cache.getCacheExtension().containsKey("immutable"));
+    }
+
+    private Path file(final String name) throws IOException {
+        return Files.write(folder.getRoot().toPath().resolve(name), CONTENT);
+    }
+}
@@ -0,0 +1,122 @@
+package ar.edu.itba.paw.webapp.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+public class ImageUtilsTest {
+
+    @Test
+    public void testVariantSizeIsTheSmallestBigEnough() {
+        Assert.assertEquals(Optional.of(48), ImageUtils.variantSizeFor(1));
+        Assert.assertEquals(Optional.of(48), ImageUtils.variantSizeFor(48));
+        Assert.assertEquals(Optional.of(96), ImageUtils.variantSizeFor(49));
+        Assert.assertFalse(ImageUtils.variantSizeFor(1000).isPresent());
+        Assert.assertFalse(ImageUtils.variantSizeFor(null).isPresent());
+    }
+
+    @Test
+    public void testResizeKeepsTheAspectRatio() throws IOException {
+        BufferedImage resized = read(ImageUtils.resize(encode(new BufferedImage(300, 900,
+                BufferedImage.TYPE_INT_RGB), "jpeg"), 96));
+
+        Assert.assertEquals(32, resized.getWidth());
+        Assert.assertEquals(96, resized.getHeight());
+    }
+
+    @Test
+    public void testResizeDoesNotEnlarge() throws IOException {
+        BufferedImage resized = read(ImageUtils.resize(encode(new BufferedImage(20, 10,
+                BufferedImage.TYPE_INT_ARGB), "png"), 48));
+
+        Assert.assertEquals(20, resized.getWidth());
+        Assert.assertEquals(10, resized.getHeight());
+    }
+
+    @Test
+    public void testResizeDropsMetadata() throws IOException {
+        byte[] image = pngWithComment(new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB), "secret place");
+
+        byte[] resized = ImageUtils.resize(image, 48);
+
+        Assert.assertTrue(new String(image, StandardCharsets.ISO_8859_1).contains("secret place"));
+        Assert.assertFalse(new String(resized, StandardCharsets.ISO_8859_1).contains("secret place"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testResizeOfWhatIsNotAnImageFails() throws IOException {
+        ImageUtils.resize("not an image".getBytes(StandardCharsets.UTF_8), 48);
+    }
+
+    @Test
+    public void testHugeImageIsRejectedFromItsHeader() throws IOException {
+        byte[] image = pngDeclaring(20000, 20000);
+
+        Assert.assertFalse(ImageUtils.hasAllowedDimensions(image));
+        Assert.assertTrue(ImageUtils.hasAllowedDimensions(pngDeclaring(ImageUtils.MAX_SIDE, 1)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testResizeOfAHugeImageFails() throws IOException {
+        ImageUtils.resize(pngDeclaring(20000, 20000), 48);
+    }
+
+    /* A tiny png whose header declares the given size, its pixels are never there */
+    private static byte[] pngDeclaring(final int width, final int height) throws IOException {
+        byte[] image = encode(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png");
+        ByteBuffer header = ByteBuffer.wrap(image);
+        // The IHDR chunk follows the 8 bytes of signature and its own length and type
+        header.putInt(16, width).putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(image, 12, 17);
+        header.putInt(29, (int) crc.getValue());
+        return image;
+    }
+
+    private static byte[] encode(final BufferedImage image, final String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+
+    private static byte[] pngWithComment(final BufferedImage image, final String comment) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        IIOMetadata metadata = writer.getDefaultImageMetadata(
+                ImageTypeSpecifier.createFromRenderedImage(image), null);
+        IIOMetadataNode text = new IIOMetadataNode("tEXtEntry");
+        text.setAttribute("keyword", "Comment");
+        text.setAttribute("value", comment);
+        IIOMetadataNode texts = new IIOMetadataNode("tEXt");
+        texts.appendChild(text);
+        IIOMetadataNode root = new IIOMetadataNode("javax_imageio_png_1.0");
+        root.appendChild(texts);
+        metadata.mergeTree("javax_imageio_png_1.0", root);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            writer.write(new IIOImage(image, null, metadata));
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static BufferedImage read(final byte[] image) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(image));
+    }
+}